@@ -21,10 +21,13 @@ package org.codehaus.mojo.versions;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.artifact.filter.PatternExcludesArtifactFilter;
 import org.apache.maven.shared.artifact.filter.PatternIncludesArtifactFilter;
@@ -33,7 +36,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Base class for a mojo that updates dependency versions.
@@ -132,6 +138,22 @@ public abstract class AbstractVersionsDependencyUpdaterMojo
      */
     private Boolean excludeReactor;
 
+    /**
+     * Whether to look up the available versions of the dependencies of every module in the reactor in one parallel
+     * batch when the first module is processed, rather than in one batch per module as each module is processed.
+     * The remaining modules then find the versions already looked up and only have to update their poms.
+     * Only applies to goals that look up the available versions of dependencies.
+     *
+     * @parameter property="versions.reactorBatch" default-value="false"
+     * @since 2.2
+     */
+    private boolean reactorBatch;
+
+    /**
+     * The sessions in which the dependencies of the reactor have already been looked up.
+     */
+    private static final Map<Object, Boolean> BATCHED_SESSIONS = new WeakHashMap<Object, Boolean>();
+
     /**
      * Should the project/dependencies section of the pom be processed.
      *
@@ -168,6 +190,141 @@ public abstract class AbstractVersionsDependencyUpdaterMojo
         return !Boolean.FALSE.equals( excludeReactor );
     }
 
+    /**
+     * Returns <code>true</code> if this goal looks up the available versions of the dependencies it processes, in
+     * which case they can be looked up ahead of time in parallel.
+     *
+     * @return <code>true</code> if this goal looks up the available versions of dependencies.
+     * @since 2.2
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if this goal would look up the available versions of the dependency, so that they are
+     * only looked up ahead of time when they will be needed. Only consulted if
+     * {@link #isLookingUpDependencyVersions()}.
+     *
+     * @param dependency the dependency.
+     * @return <code>true</code> if this goal would look up the available versions of the dependency.
+     * @since 2.2
+     */
+    protected boolean isLookingUpVersionsOf( Dependency dependency )
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Goals that look up the available versions of dependencies have them all looked up in parallel before the pom
+     * is updated, so that {@link #update(org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader)} finds them
+     * ready.
+     *
+     * @since 2.2
+     */
+    public void execute()
+        throws MojoExecutionException, MojoFailureException
+    {
+        if ( isLookingUpDependencyVersions() )
+        {
+            if ( !reactorBatch )
+            {
+                lookupDependencyVersions( Collections.singletonList( getProject() ) );
+            }
+            else if ( isFirstInSession() )
+            {
+                lookupDependencyVersions( reactorProjects );
+                getLog().info( "Looked up the versions of the dependencies of " + reactorProjects.size()
+                                   + " reactor projects" );
+            }
+        }
+        super.execute();
+    }
+
+    private boolean isFirstInSession()
+    {
+        if ( session == null )
+        {
+            return true;
+        }
+        synchronized ( BATCHED_SESSIONS )
+        {
+            return BATCHED_SESSIONS.put( session, Boolean.TRUE ) == null;
+        }
+    }
+
+    /**
+     * Looks up, in parallel, the available versions of the dependencies of the projects that this goal would look up,
+     * so that they are ready when each project is processed.
+     *
+     * @param projects the projects.
+     * @throws MojoExecutionException if the versions could not be looked up.
+     */
+    private void lookupDependencyVersions( List projects )
+        throws MojoExecutionException
+    {
+        final Map<String, Artifact> artifacts = new LinkedHashMap<String, Artifact>();
+        for ( Object p : projects )
+        {
+            MavenProject project = (MavenProject) p;
+            if ( project.getDependencyManagement() != null && isProcessingDependencyManagement() )
+            {
+                collectArtifacts( project.getDependencyManagement().getDependencies(), artifacts );
+            }
+            if ( isProcessingDependencies() )
+            {
+                collectArtifacts( project.getDependencies(), artifacts );
+            }
+        }
+        getLog().debug( "Looking up the versions of " + artifacts.size() + " artifacts" );
+        try
+        {
+            getHelper().lookupArtifactVersions( artifacts.values(), false );
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+    }
+
+    private void collectArtifacts( List<Dependency> dependencies, Map<String, Artifact> artifacts )
+        throws MojoExecutionException
+    {
+        if ( dependencies == null )
+        {
+            return;
+        }
+        for ( Dependency dependency : dependencies )
+        {
+            if ( dependency.getVersion() == null || ( isExcludeReactor() && isProducedByReactor( dependency ) )
+                || !isLookingUpVersionsOf( dependency ) )
+            {
+                continue;
+            }
+            final String key = ArtifactUtils.versionlessKey( dependency.getGroupId(), dependency.getArtifactId() );
+            if ( artifacts.containsKey( key ) )
+            {
+                continue;
+            }
+            try
+            {
+                Artifact artifact = getHelper().createDependencyArtifact( dependency );
+                if ( isIncluded( artifact ) )
+                {
+                    artifacts.put( key, artifact );
+                }
+            }
+            catch ( InvalidVersionSpecificationException e )
+            {
+                // the project itself will report this when it is processed
+                getLog().debug( "Not looking up " + toString( dependency ) + " ahead of time: " + e.getMessage() );
+            }
+        }
+    }
+
     /**
      * Try to find the dependency artifact that matches the given dependency.
      *
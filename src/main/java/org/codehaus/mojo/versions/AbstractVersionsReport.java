@@ -38,6 +38,7 @@ import org.apache.maven.reporting.AbstractMavenReport;
 import org.apache.maven.reporting.MavenReportException;
 import org.apache.maven.settings.Settings;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
+import org.codehaus.mojo.versions.api.ArtifactVersionsCache;
 import org.codehaus.mojo.versions.api.DefaultVersionsHelper;
 import org.codehaus.mojo.versions.api.VersionsHelper;
 import org.codehaus.plexus.i18n.I18N;
@@ -193,6 +194,49 @@ public abstract class AbstractVersionsReport
      */
     protected Boolean allowSnapshots;
 
+    /**
+     * Whether to keep a persistent cache of the versions available in each remote repository under the local
+     * repository.
+     *
+     * @parameter property="versions.useMetadataCache" default-value="false"
+     * @since 2.2
+     */
+    private boolean useMetadataCache;
+
+    /**
+     * The maximum age, in minutes, of an entry in the metadata cache before the remote repository is consulted again.
+     *
+     * @parameter property="versions.metadataCacheMaxAge" default-value="1440"
+     * @since 2.2
+     */
+    private long metadataCacheMaxAge;
+
+    /**
+     * Whether to use the entries of the metadata cache whatever their age, without refreshing them. Artifacts that are
+     * not in the cache are still looked up as usual. This is implied when Maven is running offline.
+     *
+     * @parameter property="versions.metadataCacheOnly" default-value="false"
+     * @since 2.2
+     */
+    private boolean metadataCacheOnly;
+
+    /**
+     * Whether to ignore the existing entries in the metadata cache and retrieve them all again.
+     *
+     * @parameter property="versions.refreshMetadataCache" default-value="false"
+     * @since 2.2
+     */
+    private boolean refreshMetadataCache;
+
+    /**
+     * The number of threads used to look up versions in parallel. The threads are shared by all the modules of the
+     * reactor.
+     *
+     * @parameter property="versions.lookupThreads" default-value="5"
+     * @since 2.2
+     */
+    private int lookupThreads;
+
     /**
      * Our versions helper.
      */
@@ -227,10 +271,20 @@ public abstract class AbstractVersionsReport
         {
             try
             {
-                helper = new DefaultVersionsHelper( artifactFactory, artifactResolver, artifactMetadataSource,
-                                                    remoteArtifactRepositories, remotePluginRepositories,
-                                                    localRepository, wagonManager, settings, serverId, rulesUri,
-                                                    getLog(), session, pathTranslator );
+                DefaultVersionsHelper defaultHelper =
+                    new DefaultVersionsHelper( artifactFactory, artifactResolver, artifactMetadataSource,
+                                               remoteArtifactRepositories, remotePluginRepositories, localRepository,
+                                               wagonManager, settings, serverId, rulesUri, getLog(), session,
+                                               pathTranslator );
+                defaultHelper.setLookupThreads( lookupThreads );
+                if ( useMetadataCache )
+                {
+                    defaultHelper.setArtifactVersionsCache(
+                        new ArtifactVersionsCache( ArtifactVersionsCache.getDefaultCacheDirectory( localRepository ),
+                                                   metadataCacheMaxAge, metadataCacheOnly || settings.isOffline(),
+                                                   refreshMetadataCache, getLog() ) );
+                }
+                helper = defaultHelper;
             }
             catch ( MojoExecutionException e )
             {
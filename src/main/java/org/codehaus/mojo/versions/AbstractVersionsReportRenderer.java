@@ -32,6 +32,7 @@ import org.codehaus.mojo.versions.api.ArtifactAssociation;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
 import org.codehaus.mojo.versions.api.PropertyVersions;
 import org.codehaus.mojo.versions.api.UpdateScope;
+import org.codehaus.mojo.versions.api.UpdateSummary;
 import org.codehaus.plexus.i18n.I18N;
 import org.codehaus.plexus.util.StringUtils;
 
@@ -124,6 +125,7 @@ public abstract class AbstractVersionsReportRenderer
                                                     boolean includeScope, boolean includeClassifier,
                                                     boolean includeType )
     {
+        final UpdateSummary summary = details.getUpdateSummary();
         sink.tableRow();
         sink.tableCell();
         ArtifactVersion[] allUpdates = details.getAllUpdates( UpdateScope.ANY );
@@ -165,37 +167,37 @@ public abstract class AbstractVersionsReportRenderer
         }
 
         sink.tableCell();
-        if ( details.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
         {
             safeBold();
-            sink.text( details.getOldestUpdate( UpdateScope.SUBINCREMENTAL ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ).toString() );
             safeBold_();
         }
         sink.tableCell_();
 
         sink.tableCell();
-        if ( details.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
         {
             safeBold();
-            sink.text( details.getOldestUpdate( UpdateScope.INCREMENTAL ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.INCREMENTAL ).toString() );
             safeBold_();
         }
         sink.tableCell_();
 
         sink.tableCell();
-        if ( details.getOldestUpdate( UpdateScope.MINOR ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.MINOR ) != null )
         {
             safeBold();
-            sink.text( details.getOldestUpdate( UpdateScope.MINOR ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.MINOR ).toString() );
             safeBold_();
         }
         sink.tableCell_();
 
         sink.tableCell();
-        if ( details.getOldestUpdate( UpdateScope.MAJOR ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.MAJOR ) != null )
         {
             safeBold();
-            sink.text( details.getOldestUpdate( UpdateScope.MAJOR ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.MAJOR ).toString() );
             safeBold_();
         }
         sink.tableCell_();
@@ -325,25 +327,26 @@ public abstract class AbstractVersionsReportRenderer
         sink.tableHeaderCell_();
         sink.tableCell( cellAttributes );
         ArtifactVersion[] versions = details.getAllUpdates( UpdateScope.ANY );
-        if ( details.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
+        final UpdateSummary summary = details.getUpdateSummary();
+        if ( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
             sink.text( getText( "report.otherUpdatesAvailable" ) );
         }
-        else if ( details.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
+        else if ( summary.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
             sink.text( getText( "report.incrementalUpdatesAvailable" ) );
         }
-        else if ( details.getOldestUpdate( UpdateScope.MINOR ) != null )
+        else if ( summary.getOldestUpdate( UpdateScope.MINOR ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
             sink.text( getText( "report.minorUpdatesAvailable" ) );
         }
-        else if ( details.getOldestUpdate( UpdateScope.MAJOR ) != null )
+        else if ( summary.getOldestUpdate( UpdateScope.MAJOR ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
@@ -428,15 +431,15 @@ public abstract class AbstractVersionsReportRenderer
                     sink.lineBreak();
                 }
                 boolean bold =
-                    equals( versions[i], details.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) || equals( versions[i],
-                                                                                                            details.getOldestUpdate(
+                    equals( versions[i], summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) || equals( versions[i],
+                                                                                                            summary.getOldestUpdate(
                                                                                                                 UpdateScope.INCREMENTAL ) )
-                        || equals( versions[i], details.getNewestUpdate( UpdateScope.INCREMENTAL ) ) || equals(
-                        versions[i], details.getOldestUpdate( UpdateScope.MINOR ) ) || equals( versions[i],
-                                                                                               details.getNewestUpdate(
+                        || equals( versions[i], summary.getNewestUpdate( UpdateScope.INCREMENTAL ) ) || equals(
+                        versions[i], summary.getOldestUpdate( UpdateScope.MINOR ) ) || equals( versions[i],
+                                                                                               summary.getNewestUpdate(
                                                                                                    UpdateScope.MINOR ) )
-                        || equals( versions[i], details.getOldestUpdate( UpdateScope.MAJOR ) ) || equals( versions[i],
-                                                                                                          details.getNewestUpdate(
+                        || equals( versions[i], summary.getOldestUpdate( UpdateScope.MAJOR ) ) || equals( versions[i],
+                                                                                                          summary.getNewestUpdate(
                                                                                                               UpdateScope.MAJOR ) );
                 if ( bold )
                 {
@@ -448,31 +451,31 @@ public abstract class AbstractVersionsReportRenderer
                     safeBold_();
                     sink.nonBreakingSpace();
                     safeItalic();
-                    if ( equals( versions[i], details.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) )
+                    if ( equals( versions[i], summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) )
                     {
                         sink.text( getText( "report.nextVersion" ) );
                     }
-                    else if ( equals( versions[i], details.getOldestUpdate( UpdateScope.INCREMENTAL ) ) )
+                    else if ( equals( versions[i], summary.getOldestUpdate( UpdateScope.INCREMENTAL ) ) )
                     {
                         sink.text( getText( "report.nextIncremental" ) );
                     }
-                    else if ( equals( versions[i], details.getNewestUpdate( UpdateScope.INCREMENTAL ) ) )
+                    else if ( equals( versions[i], summary.getNewestUpdate( UpdateScope.INCREMENTAL ) ) )
                     {
                         sink.text( getText( "report.latestIncremental" ) );
                     }
-                    else if ( equals( versions[i], details.getOldestUpdate( UpdateScope.MINOR ) ) )
+                    else if ( equals( versions[i], summary.getOldestUpdate( UpdateScope.MINOR ) ) )
                     {
                         sink.text( getText( "report.nextMinor" ) );
                     }
-                    else if ( equals( versions[i], details.getNewestUpdate( UpdateScope.MINOR ) ) )
+                    else if ( equals( versions[i], summary.getNewestUpdate( UpdateScope.MINOR ) ) )
                     {
                         sink.text( getText( "report.latestMinor" ) );
                     }
-                    else if ( equals( versions[i], details.getOldestUpdate( UpdateScope.MAJOR ) ) )
+                    else if ( equals( versions[i], summary.getOldestUpdate( UpdateScope.MAJOR ) ) )
                     {
                         sink.text( getText( "report.nextMajor" ) );
                     }
-                    else if ( equals( versions[i], details.getNewestUpdate( UpdateScope.MAJOR ) ) )
+                    else if ( equals( versions[i], summary.getNewestUpdate( UpdateScope.MAJOR ) ) )
                     {
                         sink.text( getText( "report.latestMajor" ) );
                     }
@@ -520,6 +523,7 @@ public abstract class AbstractVersionsReportRenderer
 
     protected void renderPropertySummaryTableRow( Property property, PropertyVersions versions )
     {
+        final UpdateSummary summary = versions.getUpdateSummary();
         sink.tableRow();
         sink.tableCell();
         if ( versions.getAllUpdates( UpdateScope.ANY ).length == 0 )
@@ -539,37 +543,37 @@ public abstract class AbstractVersionsReportRenderer
         sink.tableCell_();
 
         sink.tableCell();
-        if ( versions.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
         {
             safeBold();
-            sink.text( versions.getOldestUpdate( UpdateScope.SUBINCREMENTAL ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ).toString() );
             safeBold_();
         }
         sink.tableCell_();
 
         sink.tableCell();
-        if ( versions.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
         {
             safeBold();
-            sink.text( versions.getOldestUpdate( UpdateScope.INCREMENTAL ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.INCREMENTAL ).toString() );
             safeBold_();
         }
         sink.tableCell_();
 
         sink.tableCell();
-        if ( versions.getOldestUpdate( UpdateScope.MINOR ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.MINOR ) != null )
         {
             safeBold();
-            sink.text( versions.getOldestUpdate( UpdateScope.MINOR ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.MINOR ).toString() );
             safeBold_();
         }
         sink.tableCell_();
 
         sink.tableCell();
-        if ( versions.getOldestUpdate( UpdateScope.MAJOR ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.MAJOR ) != null )
         {
             safeBold();
-            sink.text( versions.getOldestUpdate( UpdateScope.MAJOR ).toString() );
+            sink.text( summary.getOldestUpdate( UpdateScope.MAJOR ).toString() );
             safeBold_();
         }
         sink.tableCell_();
@@ -619,26 +623,27 @@ public abstract class AbstractVersionsReportRenderer
         sink.tableCell( cellAttributes );
         VersionRange range = null;
         ArtifactVersion[] artifactVersions = versions.getAllUpdates( UpdateScope.ANY );
+        final UpdateSummary summary = versions.getUpdateSummary();
         Set<String> rangeVersions = getVersionsInRange( property, versions, artifactVersions );
-        if ( versions.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
+        if ( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
             sink.text( getText( "report.otherUpdatesAvailable" ) );
         }
-        else if ( versions.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
+        else if ( summary.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
             sink.text( getText( "report.incrementalUpdatesAvailable" ) );
         }
-        else if ( versions.getOldestUpdate( UpdateScope.MINOR ) != null )
+        else if ( summary.getOldestUpdate( UpdateScope.MINOR ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
             sink.text( getText( "report.minorUpdatesAvailable" ) );
         }
-        else if ( versions.getOldestUpdate( UpdateScope.MAJOR ) != null )
+        else if ( summary.getOldestUpdate( UpdateScope.MAJOR ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
@@ -702,13 +707,13 @@ public abstract class AbstractVersionsReportRenderer
                 }
                 boolean allowed = ( rangeVersions.contains( artifactVersions[i].toString() ) );
                 boolean bold =
-                    equals( artifactVersions[i], versions.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) || equals(
-                        artifactVersions[i], versions.getOldestUpdate( UpdateScope.INCREMENTAL ) ) || equals(
-                        artifactVersions[i], versions.getNewestUpdate( UpdateScope.INCREMENTAL ) ) || equals(
-                        artifactVersions[i], versions.getOldestUpdate( UpdateScope.MINOR ) ) || equals(
-                        artifactVersions[i], versions.getNewestUpdate( UpdateScope.MINOR ) ) || equals(
-                        artifactVersions[i], versions.getOldestUpdate( UpdateScope.MAJOR ) ) || equals(
-                        artifactVersions[i], versions.getNewestUpdate( UpdateScope.MAJOR ) );
+                    equals( artifactVersions[i], summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) || equals(
+                        artifactVersions[i], summary.getOldestUpdate( UpdateScope.INCREMENTAL ) ) || equals(
+                        artifactVersions[i], summary.getNewestUpdate( UpdateScope.INCREMENTAL ) ) || equals(
+                        artifactVersions[i], summary.getOldestUpdate( UpdateScope.MINOR ) ) || equals(
+                        artifactVersions[i], summary.getNewestUpdate( UpdateScope.MINOR ) ) || equals(
+                        artifactVersions[i], summary.getOldestUpdate( UpdateScope.MAJOR ) ) || equals(
+                        artifactVersions[i], summary.getNewestUpdate( UpdateScope.MAJOR ) );
                 if ( !allowed )
                 {
                     sink.text( "* " );
@@ -727,31 +732,31 @@ public abstract class AbstractVersionsReportRenderer
                     }
                     sink.nonBreakingSpace();
                     safeItalic();
-                    if ( equals( artifactVersions[i], versions.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) )
+                    if ( equals( artifactVersions[i], summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) ) )
                     {
                         sink.text( getText( "report.nextVersion" ) );
                     }
-                    else if ( equals( artifactVersions[i], versions.getOldestUpdate( UpdateScope.INCREMENTAL ) ) )
+                    else if ( equals( artifactVersions[i], summary.getOldestUpdate( UpdateScope.INCREMENTAL ) ) )
                     {
                         sink.text( getText( "report.nextIncremental" ) );
                     }
-                    else if ( equals( artifactVersions[i], versions.getNewestUpdate( UpdateScope.INCREMENTAL ) ) )
+                    else if ( equals( artifactVersions[i], summary.getNewestUpdate( UpdateScope.INCREMENTAL ) ) )
                     {
                         sink.text( getText( "report.latestIncremental" ) );
                     }
-                    else if ( equals( artifactVersions[i], versions.getOldestUpdate( UpdateScope.MINOR ) ) )
+                    else if ( equals( artifactVersions[i], summary.getOldestUpdate( UpdateScope.MINOR ) ) )
                     {
                         sink.text( getText( "report.nextMinor" ) );
                     }
-                    else if ( equals( artifactVersions[i], versions.getNewestUpdate( UpdateScope.MINOR ) ) )
+                    else if ( equals( artifactVersions[i], summary.getNewestUpdate( UpdateScope.MINOR ) ) )
                     {
                         sink.text( getText( "report.latestMinor" ) );
                     }
-                    else if ( equals( artifactVersions[i], versions.getOldestUpdate( UpdateScope.MAJOR ) ) )
+                    else if ( equals( artifactVersions[i], summary.getOldestUpdate( UpdateScope.MAJOR ) ) )
                     {
                         sink.text( getText( "report.nextMajor" ) );
                     }
-                    else if ( equals( artifactVersions[i], versions.getNewestUpdate( UpdateScope.MAJOR ) ) )
+                    else if ( equals( artifactVersions[i], summary.getNewestUpdate( UpdateScope.MAJOR ) ) )
                     {
                         sink.text( getText( "report.latestMajor" ) );
                     }
@@ -33,19 +33,27 @@ import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectBuilder;
 import org.apache.maven.project.path.PathTranslator;
 import org.apache.maven.settings.Settings;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
+import org.codehaus.mojo.versions.api.ArtifactVersionsCache;
 import org.codehaus.mojo.versions.api.DefaultVersionsHelper;
+import org.codehaus.mojo.versions.api.LookupExecutor;
+import org.codehaus.mojo.versions.api.ModelCache;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.api.PomHelper;
 import org.codehaus.mojo.versions.api.PropertyVersions;
 import org.codehaus.mojo.versions.api.VersionsHelper;
+import org.codehaus.mojo.versions.backup.BackupStrategies;
+import org.codehaus.mojo.versions.backup.BackupStrategy;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
-import org.codehaus.plexus.util.FileUtils;
-import org.codehaus.plexus.util.IOUtil;
-import org.codehaus.plexus.util.WriterFactory;
+import org.codehaus.mojo.versions.utils.AtomicFileWriter;
+import org.codehaus.mojo.versions.utils.BufferedLog;
+import org.codehaus.mojo.versions.utils.DryRunOutput;
+import org.codehaus.mojo.versions.utils.TextDiff;
 import org.codehaus.stax2.XMLInputFactory2;
 
 import javax.xml.stream.XMLInputFactory;
@@ -53,7 +61,11 @@ import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Abstract base class for Versions Mojos.
@@ -171,6 +183,18 @@ public abstract class AbstractVersionsUpdaterMojo
      */
     private Boolean generateBackupPoms;
 
+    /**
+     * How to back up the poms: <code>copy</code> copies each pom to a <code>.versionsBackup</code> file,
+     * <code>link</code> hard links each pom as its <code>.versionsBackup</code> file, <code>journal</code> keeps all the
+     * poms of the reactor in one compressed journal in the directory the build was started from and
+     * <code>memory</code> keeps them in memory until the end of the build. The revert and commit goals must be given
+     * the same strategy.
+     *
+     * @parameter property="versions.backupStrategy" default-value="copy"
+     * @since 2.2
+     */
+    private String backupStrategy;
+
     /**
      * Whether to allow snapshots when searching for the latest version of an artifact.
      *
@@ -179,11 +203,127 @@ public abstract class AbstractVersionsUpdaterMojo
      */
     protected Boolean allowSnapshots;
 
+    /**
+     * Whether to keep a persistent cache of the versions available in each remote repository under the local
+     * repository.
+     *
+     * @parameter property="versions.useMetadataCache" default-value="false"
+     * @since 2.2
+     */
+    private boolean useMetadataCache;
+
+    /**
+     * The maximum age, in minutes, of an entry in the metadata cache before the remote repository is consulted again.
+     *
+     * @parameter property="versions.metadataCacheMaxAge" default-value="1440"
+     * @since 2.2
+     */
+    private long metadataCacheMaxAge;
+
+    /**
+     * Whether to use the entries of the metadata cache whatever their age, without refreshing them. Artifacts that are
+     * not in the cache are still looked up as usual. This is implied when Maven is running offline.
+     *
+     * @parameter property="versions.metadataCacheOnly" default-value="false"
+     * @since 2.2
+     */
+    private boolean metadataCacheOnly;
+
+    /**
+     * Whether to ignore the existing entries in the metadata cache and retrieve them all again.
+     *
+     * @parameter property="versions.refreshMetadataCache" default-value="false"
+     * @since 2.2
+     */
+    private boolean refreshMetadataCache;
+
+    /**
+     * The number of threads used to look up versions in parallel. The threads are shared by all the modules of the
+     * reactor.
+     *
+     * @parameter property="versions.lookupThreads" default-value="5"
+     * @since 2.2
+     */
+    private int lookupThreads;
+
+    /**
+     * A directory in which to keep the parsed models of the poms in the reactor from one build to the next. When not
+     * set the models are only kept for the duration of the build.
+     *
+     * @parameter property="versions.modelCacheDirectory"
+     * @since 2.2
+     */
+    private File modelCacheDirectory;
+
+    /**
+     * Whether to force each pom to disk before it replaces the original.
+     *
+     * @parameter property="versions.fsync" default-value="false"
+     * @since 2.2
+     */
+    private boolean fsync;
+
+    /**
+     * Whether the goals that update several poms at once should change either all of them or none of them. When set,
+     * every pom is written next to the original first and they are only renamed into place once all of them have been
+     * written.
+     * <p>
+     * Whether batched or not, a pom that is a symbolic link is written through the link, and the new pom keeps the
+     * POSIX permissions of the old one when running on Java 7 or later.
+     *
+     * @parameter property="versions.atomicBatch" default-value="false"
+     * @since 2.2
+     */
+    private boolean atomicBatch;
+
+    /**
+     * Whether to only show the changes that would be made to the poms. In a dry run the poms are updated in memory
+     * only, and neither the poms nor their backups are written.
+     *
+     * @parameter property="versions.dryRun" default-value="false"
+     * @since 2.2
+     */
+    private boolean dryRun;
+
+    /**
+     * How to show the changes of a dry run, either <code>diff</code> for a unified diff of each pom or
+     * <code>list</code> for one tab separated line per changed line, giving <code>-</code> or <code>+</code> for
+     * removed or added, the pom, the line number and the line.
+     *
+     * @parameter property="versions.dryRunFormat" default-value="diff"
+     * @since 2.2
+     */
+    private String dryRunFormat;
+
+    /**
+     * The file to write the changes of a dry run to, instead of the console. The file is replaced by the first pom of
+     * the build to change and appended to by the rest.
+     *
+     * @parameter property="versions.dryRunOutput"
+     * @since 2.2
+     */
+    private File dryRunOutput;
+
+    /**
+     * The batch of files being written by {@link #process(Collection)}, if any.
+     */
+    private volatile AtomicFileWriter batchWriter;
+
     /**
      * Our versions helper.
      */
     private VersionsHelper helper;
 
+    /**
+     * The log of the file being processed by the current thread, if any.
+     */
+    private final ThreadLocal<Log> fileLog = new ThreadLocal<Log>();
+
+    /**
+     * The dry run output of the file being processed by the current thread, if any.
+     */
+    private final ThreadLocal<List<String>> fileDryRun = new ThreadLocal<List<String>>();
+
     /**
      * The Maven Session.
      *
@@ -211,14 +351,36 @@ public abstract class AbstractVersionsUpdaterMojo
     {
         if ( helper == null )
         {
-            helper = new DefaultVersionsHelper( artifactFactory, artifactResolver, artifactMetadataSource,
-                                                remoteArtifactRepositories, remotePluginRepositories, localRepository,
-                                                wagonManager, settings, serverId, rulesUri, getLog(), session,
-                                                pathTranslator );
+            DefaultVersionsHelper defaultHelper =
+                new DefaultVersionsHelper( artifactFactory, artifactResolver, artifactMetadataSource,
+                                           remoteArtifactRepositories, remotePluginRepositories, localRepository,
+                                           wagonManager, settings, serverId, rulesUri, super.getLog(), session,
+                                           pathTranslator );
+            defaultHelper.setLookupThreads( lookupThreads );
+            if ( useMetadataCache )
+            {
+                defaultHelper.setArtifactVersionsCache(
+                    new ArtifactVersionsCache( ArtifactVersionsCache.getDefaultCacheDirectory( localRepository ),
+                                               metadataCacheMaxAge, metadataCacheOnly || settings.isOffline(),
+                                               refreshMetadataCache, super.getLog() ) );
+            }
+            helper = defaultHelper;
         }
         return helper;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * While a file is being processed by {@link #process(Collection)} this is the log of that file, which is only
+     * written out once all the files have been processed.
+     */
+    public Log getLog()
+    {
+        final Log log = fileLog.get();
+        return log == null ? super.getLog() : log;
+    }
+
     /**
      * Getter for property 'project'.
      *
@@ -317,30 +479,37 @@ public abstract class AbstractVersionsUpdaterMojo
         try
         {
             StringBuilder input = PomHelper.readXmlFile( outFile );
-            ModifiedPomXMLEventReader newPom = newModifiedPomXER( input );
+            ModifiedPomXMLEventReader newPom = newModifiedPomXER( input.toString() );
 
             update( newPom );
 
-            if ( newPom.isModified() )
+            if ( newPom.isModified() && dryRun )
+            {
+                final String path = getDisplayPath( outFile );
+                final TextDiff diff = new TextDiff( input.toString(), newPom.asStringBuilder().toString() );
+                dryRun( "list".equalsIgnoreCase( dryRunFormat )
+                            ? diff.toChangeList( path )
+                            : diff.toUnifiedDiff( "a/" + path, "b/" + path, 3 ) );
+            }
+            else if ( newPom.isModified() )
             {
                 if ( Boolean.FALSE.equals( generateBackupPoms ) )
                 {
                     getLog().debug( "Skipping generation of backup file" );
                 }
+                else if ( getBackupStrategy().backup( outFile ) )
+                {
+                    getLog().debug( "Backed up " + outFile );
+                }
                 else
                 {
-                    File backupFile = new File( outFile.getParentFile(), outFile.getName() + ".versionsBackup" );
-                    if ( !backupFile.exists() )
-                    {
-                        getLog().debug( "Backing up " + outFile + " to " + backupFile );
-                        FileUtils.copyFile( outFile, backupFile );
-                    }
-                    else
-                    {
-                        getLog().debug( "Leaving existing backup " + backupFile + " unmodified" );
-                    }
+                    getLog().debug( "Leaving existing backup of " + outFile + " unmodified" );
+                }
+                final String hash = writeFile( outFile, newPom );
+                if ( !Boolean.FALSE.equals( generateBackupPoms ) )
+                {
+                    getBackupStrategy().changed( outFile, hash, newPom.getChanges() );
                 }
-                writeFile( outFile, input );
             }
         }
         catch ( IOException e )
@@ -358,6 +527,279 @@ public abstract class AbstractVersionsUpdaterMojo
 
     }
 
+    /**
+     * Returns the path of a file relative to the directory the build was started in, if it is in that directory.
+     */
+    private String getDisplayPath( File file )
+    {
+        final String path = file.getAbsolutePath();
+        if ( session != null )
+        {
+            final String root = new File( session.getExecutionRootDirectory() ).getAbsolutePath() + File.separator;
+            if ( path.startsWith( root ) )
+            {
+                return path.substring( root.length() ).replace( File.separatorChar, '/' );
+            }
+        }
+        return path.replace( File.separatorChar, '/' );
+    }
+
+    /**
+     * Shows the changes of a dry run. While a file is being processed by {@link #process(Collection)} the changes are
+     * held back with the log of the file, or, when they go to a file, until all the files have been processed.
+     */
+    private void dryRun( List<String> lines )
+    {
+        final List<String> held = fileDryRun.get();
+        if ( dryRunOutput != null && held != null )
+        {
+            held.addAll( lines );
+        }
+        else if ( !lines.isEmpty() && dryRunOutput != null )
+        {
+            try
+            {
+                DryRunOutput.write( session, dryRunOutput, lines );
+            }
+            catch ( IOException e )
+            {
+                getLog().error( e );
+            }
+        }
+        else
+        {
+            for ( String line : lines )
+            {
+                getLog().info( line );
+            }
+        }
+    }
+
+    /**
+     * Returns the executor shared by the lookups and file processing of the session.
+     *
+     * @return the executor.
+     * @since 2.2
+     */
+    protected LookupExecutor getLookupExecutor()
+    {
+        return LookupExecutor.getInstance( session, lookupThreads );
+    }
+
+    /**
+     * Returns the strategy used to back up the poms before they are changed.
+     *
+     * @return the backup strategy.
+     * @since 2.2
+     */
+    protected BackupStrategy getBackupStrategy()
+    {
+        return BackupStrategies.getBackupStrategy( backupStrategy, session, session == null
+            ? null
+            : new File( session.getExecutionRootDirectory() ), getLookupExecutor() );
+    }
+
+    /**
+     * Returns the cache of the raw models of the poms, shared by all the goals of the session.
+     *
+     * @return the cache.
+     * @since 2.2
+     */
+    protected ModelCache getModelCache()
+    {
+        return ModelCache.getInstance( session, modelCacheDirectory );
+    }
+
+    /**
+     * Processes several files in parallel, each with {@link #process(File)}, using the lookup threads. The files are
+     * independent of each other, so each is read, updated and written by a single thread, and the result is the same
+     * as processing the files one after the other. The messages logged for each file are held back and then written
+     * out file by file in the order of the files.
+     *
+     * @param files The files to process.
+     * @throws MojoExecutionException If things go wrong.
+     * @throws MojoFailureException   If things go wrong.
+     * @since 2.2
+     */
+    protected void process( Collection<File> files )
+        throws MojoExecutionException, MojoFailureException
+    {
+        if ( dryRun || !atomicBatch || files.size() <= 1 )
+        {
+            processAll( files );
+            return;
+        }
+        batchWriter = new AtomicFileWriter( fsync, true );
+        try
+        {
+            processAll( files );
+            if ( batchWriter.isFailed() )
+            {
+                throw new MojoExecutionException( "Not all of the files could be written, none have been changed" );
+            }
+            invalidate( batchWriter.commit() );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+        finally
+        {
+            invalidate( batchWriter.rollback() );
+            batchWriter = null;
+        }
+    }
+
+    private void invalidate( List<File> files )
+    {
+        for ( File file : files )
+        {
+            getModelCache().invalidate( file );
+        }
+    }
+
+    private void processAll( Collection<File> files )
+        throws MojoExecutionException, MojoFailureException
+    {
+        final List<List<String>> dryRuns = new ArrayList<List<String>>( files.size() );
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>( files.size() );
+        for ( final File file : files )
+        {
+            final List<String> held = new ArrayList<String>();
+            dryRuns.add( held );
+            tasks.add( new Callable<Void>()
+            {
+                public Void call()
+                    throws Exception
+                {
+                    fileDryRun.set( held );
+                    try
+                    {
+                        process( file );
+                    }
+                    finally
+                    {
+                        fileDryRun.remove();
+                    }
+                    return null;
+                }
+            } );
+        }
+        try
+        {
+            invokeAll( tasks );
+        }
+        finally
+        {
+            for ( List<String> held : dryRuns )
+            {
+                dryRun( held );
+            }
+        }
+    }
+
+    /**
+     * Runs tasks in parallel using the lookup threads and returns their results in the order of the tasks. The
+     * messages logged by each task are held back and then written out task by task in the order of the tasks, so that
+     * the output is the same as running the tasks one after the other.
+     *
+     * @param tasks The tasks.
+     * @return the results of the tasks.
+     * @throws MojoExecutionException If a task fails.
+     * @throws MojoFailureException   If a task fails.
+     * @since 2.2
+     */
+    protected <T> List<T> invokeAll( List<? extends Callable<T>> tasks )
+        throws MojoExecutionException, MojoFailureException
+    {
+        try
+        {
+            if ( tasks.size() <= 1 || lookupThreads <= 1 )
+            {
+                final List<T> results = new ArrayList<T>( tasks.size() );
+                for ( Callable<T> task : tasks )
+                {
+                    try
+                    {
+                        results.add( task.call() );
+                    }
+                    catch ( MojoExecutionException e )
+                    {
+                        throw e;
+                    }
+                    catch ( MojoFailureException e )
+                    {
+                        throw e;
+                    }
+                    catch ( RuntimeException e )
+                    {
+                        throw e;
+                    }
+                    catch ( Exception e )
+                    {
+                        throw new MojoExecutionException( e.getMessage(), e );
+                    }
+                }
+                return results;
+            }
+            final List<BufferedLog> logs = new ArrayList<BufferedLog>( tasks.size() );
+            final List<Callable<T>> logged = new ArrayList<Callable<T>>( tasks.size() );
+            for ( final Callable<T> task : tasks )
+            {
+                final BufferedLog log = new BufferedLog( super.getLog() );
+                logs.add( log );
+                logged.add( new Callable<T>()
+                {
+                    public T call()
+                        throws Exception
+                    {
+                        fileLog.set( log );
+                        try
+                        {
+                            return task.call();
+                        }
+                        finally
+                        {
+                            fileLog.remove();
+                        }
+                    }
+                } );
+            }
+            try
+            {
+                return getLookupExecutor().invokeAll( logged );
+            }
+            finally
+            {
+                for ( BufferedLog log : logs )
+                {
+                    log.flush();
+                }
+            }
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof MojoExecutionException )
+            {
+                throw (MojoExecutionException) e.getCause();
+            }
+            if ( e.getCause() instanceof MojoFailureException )
+            {
+                throw (MojoFailureException) e.getCause();
+            }
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new MojoExecutionException( e.getCause().getMessage(), e.getCause() );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+    }
+
     /**
      * Creates a {@link org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader} from a StringBuilder.
      *
@@ -369,9 +811,7 @@ public abstract class AbstractVersionsUpdaterMojo
         ModifiedPomXMLEventReader newPom = null;
         try
         {
-            XMLInputFactory inputFactory = XMLInputFactory2.newInstance();
-            inputFactory.setProperty( XMLInputFactory2.P_PRESERVE_LOCATION, Boolean.TRUE );
-            newPom = new ModifiedPomXMLEventReader( input, inputFactory );
+            newPom = new ModifiedPomXMLEventReader( input, newXMLInputFactory() );
         }
         catch ( XMLStreamException e )
         {
@@ -380,6 +820,36 @@ public abstract class AbstractVersionsUpdaterMojo
         return newPom;
     }
 
+    /**
+     * Creates a {@link org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader} from a String. Unlike
+     * {@link #newModifiedPomXER(StringBuilder)} the changes are only made to the reader, see
+     * {@link org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader#asStringBuilder()}.
+     *
+     * @param input The XML to read and modify.
+     * @return The {@link org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader}.
+     * @since 2.2
+     */
+    protected final ModifiedPomXMLEventReader newModifiedPomXER( String input )
+    {
+        ModifiedPomXMLEventReader newPom = null;
+        try
+        {
+            newPom = new ModifiedPomXMLEventReader( input, newXMLInputFactory() );
+        }
+        catch ( XMLStreamException e )
+        {
+            getLog().error( e );
+        }
+        return newPom;
+    }
+
+    private static XMLInputFactory newXMLInputFactory()
+    {
+        XMLInputFactory inputFactory = XMLInputFactory2.newInstance();
+        inputFactory.setProperty( XMLInputFactory2.P_PRESERVE_LOCATION, Boolean.TRUE );
+        return inputFactory;
+    }
+
     /**
      * Writes a StringBuilder into a file.
      *
@@ -387,17 +857,61 @@ public abstract class AbstractVersionsUpdaterMojo
      * @param input   The contents of the file.
      * @throws IOException when things go wrong.
      */
-    protected final void writeFile( File outFile, StringBuilder input )
+    protected final void writeFile( File outFile, final StringBuilder input )
         throws IOException
     {
-        Writer writer = WriterFactory.newXmlWriter( outFile );
+        writeFile( outFile, new AtomicFileWriter.Content()
+        {
+            public void writeTo( Writer writer )
+                throws IOException
+            {
+                final char[] buf = new char[8192];
+                for ( int start = 0; start < input.length(); start += buf.length )
+                {
+                    final int end = Math.min( start + buf.length, input.length() );
+                    input.getChars( start, end, buf, 0 );
+                    writer.write( buf, 0, end - start );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Writes a modified pom into a file, straight from the buffer of the pom.
+     *
+     * @param outFile The file to write.
+     * @param pom     The modified pom.
+     * @return the SHA-1 hash of the content written.
+     * @throws IOException when things go wrong.
+     * @since 2.2
+     */
+    protected final String writeFile( File outFile, final ModifiedPomXMLEventReader pom )
+        throws IOException
+    {
+        return writeFile( outFile, new AtomicFileWriter.Content()
+        {
+            public void writeTo( Writer writer )
+                throws IOException
+            {
+                pom.writeTo( writer );
+            }
+        } );
+    }
+
+    /**
+     * Writes a file by way of a temporary file that is renamed over it, or stages it when a batch is being written.
+     */
+    private String writeFile( File outFile, AtomicFileWriter.Content content )
+        throws IOException
+    {
+        final AtomicFileWriter batch = batchWriter;
         try
         {
-            IOUtil.copy( input.toString(), writer );
+            return ( batch == null ? new AtomicFileWriter( fsync, false ) : batch ).write( outFile, content );
         }
         finally
         {
-            IOUtil.close( writer );
+            getModelCache().invalidate( outFile );
         }
     }
 
@@ -498,6 +1012,25 @@ public abstract class AbstractVersionsUpdaterMojo
     protected void updatePropertyToNewestVersion( ModifiedPomXMLEventReader pom, Property property,
                                                   PropertyVersions version, String currentVersion )
         throws MojoExecutionException, XMLStreamException
+    {
+        PomEdits edits = new PomEdits();
+        updatePropertyToNewestVersion( edits, property, version, currentVersion );
+        applyEdits( pom, edits );
+    }
+
+    /**
+     * Adds the change of a property to its newest version, if there is one, to a batch of changes.
+     *
+     * @param edits          The batch of changes to add to.
+     * @param property       The property.
+     * @param version        The versions of the property.
+     * @param currentVersion The current value of the property.
+     * @throws MojoExecutionException if the newest version cannot be determined.
+     * @since 2.2
+     */
+    protected void updatePropertyToNewestVersion( PomEdits edits, Property property, PropertyVersions version,
+                                                  String currentVersion )
+        throws MojoExecutionException
     {
         ArtifactVersion winner =
             version.getNewestVersion( currentVersion, property, this.allowSnapshots, this.reactorProjects,
@@ -507,9 +1040,36 @@ public abstract class AbstractVersionsUpdaterMojo
         {
             getLog().info( "Property ${" + property.getName() + "}: Leaving unchanged as " + currentVersion );
         }
-        else if ( PomHelper.setPropertyVersion( pom, version.getProfileId(), property.getName(), winner.toString() ) )
+        else
         {
-            getLog().info( "Updated ${" + property.getName() + "} from " + currentVersion + " to " + winner );
+            edits.setPropertyVersion( version.getProfileId(), property.getName(), winner.toString() ).describedAs(
+                "Updated ${" + property.getName() + "} from " + currentVersion + " to " + winner );
         }
     }
+
+    /**
+     * Applies a batch of changes to the pom in a single pass and logs the description of each change that was made.
+     *
+     * @param pom   The pom to modify.
+     * @param edits The changes to make.
+     * @return <code>true</code> if a replacement was made.
+     * @throws XMLStreamException if something went wrong.
+     * @since 2.2
+     */
+    protected boolean applyEdits( ModifiedPomXMLEventReader pom, PomEdits edits )
+        throws XMLStreamException
+    {
+        if ( !PomHelper.applyEdits( pom, edits ) )
+        {
+            return false;
+        }
+        for ( PomEdits.Edit edit : edits.getEdits() )
+        {
+            if ( edit.isApplied() && edit.getDescription() != null )
+            {
+                getLog().info( edit.getDescription() );
+            }
+        }
+        return true;
+    }
 }
@@ -20,11 +20,14 @@ package org.codehaus.mojo.versions;
  */
 
 
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.mojo.versions.api.LookupExecutor;
+import org.codehaus.mojo.versions.backup.BackupStrategies;
+import org.codehaus.mojo.versions.backup.BackupStrategy;
 
 import java.io.File;
 import java.io.IOException;
@@ -51,24 +54,50 @@ public class CommitMojo
      */
     private MavenProject project;
 
+    /**
+     * The Maven Session.
+     *
+     * @parameter property="session"
+     * @required
+     * @readonly
+     * @since 2.2
+     */
+    private MavenSession session;
+
+    /**
+     * How the poms were backed up, see the <code>backupStrategy</code> parameter of the goals that change the poms.
+     *
+     * @parameter property="versions.backupStrategy" default-value="copy"
+     * @since 2.2
+     */
+    private String backupStrategy;
+
+    /**
+     * The number of threads used to work through the poms of the reactor, for the backup strategies that keep all
+     * of them together.
+     *
+     * @parameter property="versions.lookupThreads" default-value="5"
+     * @since 2.2
+     */
+    private int lookupThreads;
+
 
     public void execute()
         throws MojoExecutionException, MojoFailureException
     {
-        File outFile = project.getFile();
-        File backupFile = new File( outFile.getParentFile(), outFile.getName() + ".versionsBackup" );
-
-        if ( backupFile.exists() )
+        BackupStrategy strategy =
+            BackupStrategies.getBackupStrategy( backupStrategy, session, new File( session.getExecutionRootDirectory() ),
+                                                LookupExecutor.getInstance( session, lookupThreads ) );
+        try
         {
-            getLog().info( "Accepting all changes to " + outFile );
-            try
+            for ( File file : strategy.discard( project.getFile() ) )
             {
-                FileUtils.forceDelete( backupFile );
-            }
-            catch ( IOException e )
-            {
-                throw new MojoExecutionException( e.getMessage(), e );
+                getLog().info( "Accepting all changes to " + file );
             }
         }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
     }
 }
@@ -58,7 +58,11 @@ import org.apache.maven.project.interpolation.ModelInterpolationException;
 import org.apache.maven.project.interpolation.ModelInterpolator;
 import org.apache.maven.settings.Settings;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
+import org.codehaus.mojo.versions.api.LifecycleCache;
 import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.RequiredMavenVersionIndex;
+import org.codehaus.mojo.versions.api.RequiredMavenVersionReader;
+import org.codehaus.mojo.versions.api.RequiredMavenVersionSearch;
 import org.codehaus.mojo.versions.ordering.MavenVersionComparator;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 import org.codehaus.mojo.versions.utils.PluginComparator;
@@ -69,6 +73,7 @@ import org.codehaus.plexus.util.StringUtils;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.XMLEvent;
+import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringWriter;
@@ -91,6 +96,8 @@ import java.util.SortedSet;
 import java.util.Stack;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 
 /**
@@ -129,6 +136,12 @@ public class DisplayPluginUpdatesMojo
      */
     private static final String FROM_SUPER_POM = "(from super-pom) ";
 
+    /**
+     * The plugin descriptors loaded by each session, keyed by plugin.
+     */
+    private static final Map<Object, Map<String, PluginDescriptor>> PLUGIN_DESCRIPTORS =
+        new WeakHashMap<Object, Map<String, PluginDescriptor>>();
+
     /**
      * @component
      * @since 1.0-alpha-1
@@ -155,16 +168,64 @@ public class DisplayPluginUpdatesMojo
      */
     private RuntimeInformation runtimeInformation;
 
+    /**
+     * Whether to keep the minimum version of Maven required by each plugin version in an index under the local
+     * repository, so that the pom of a plugin version only ever has to be built once to find out.
+     *
+     * @parameter property="versions.usePrerequisitesIndex" default-value="true"
+     * @since 2.2
+     */
+    private boolean usePrerequisitesIndex;
+
+    /**
+     * The index of the minimum versions of Maven required by plugin versions, if used.
+     */
+    private RequiredMavenVersionIndex prerequisitesIndex;
+
+    /**
+     * Reads the minimum versions of Maven required by plugin versions from their poms.
+     */
+    private RequiredMavenVersionReader prerequisitesReader;
+
+    /**
+     * A directory in which to keep the plugins managed by the super-pom and bound by the lifecycles of each packaging
+     * from one build to the next. When not set they are kept under the local repository.
+     *
+     * @parameter property="versions.lifecycleCacheDirectory"
+     * @since 2.2
+     */
+    private File lifecycleCacheDirectory;
+
     // --------------------- GETTER / SETTER METHODS ---------------------
 
     /**
-     * Returns the pluginManagement section of the super-pom.
+     * Returns the pluginManagement section of the super-pom, which is worked out once per version of Maven, packaging
+     * and build extensions.
      *
      * @return Returns the pluginManagement section of the super-pom.
      * @throws MojoExecutionException when things go wrong.
      */
     private Map<String, String> getSuperPomPluginManagement()
         throws MojoExecutionException
+    {
+        final String key = getLifecycleCacheKey( "super-pom", getProject() );
+        Map<String, String> result = getLifecycleCache().get( key );
+        if ( result == null )
+        {
+            result = loadSuperPomPluginManagement();
+            getLifecycleCache().put( key, result, !hasExtensions( getProject() ) );
+        }
+        return result;
+    }
+
+    /**
+     * Works out the pluginManagement section of the super-pom.
+     *
+     * @return Returns the pluginManagement section of the super-pom.
+     * @throws MojoExecutionException when things go wrong.
+     */
+    private Map<String, String> loadSuperPomPluginManagement()
+        throws MojoExecutionException
     {
         if ( new DefaultArtifactVersion( "3.0" ).compareTo( runtimeInformation.getApplicationVersion() ) <= 0 )
         {
@@ -301,6 +362,74 @@ public class DisplayPluginUpdatesMojo
         return superPomPluginManagement;
     }
 
+    /**
+     * Returns the cache of what Maven says about its lifecycles.
+     *
+     * @return the cache.
+     */
+    private LifecycleCache getLifecycleCache()
+    {
+        return new LifecycleCache( lifecycleCacheDirectory != null
+                                       ? lifecycleCacheDirectory
+                                       : LifecycleCache.getDefaultCacheDirectory( localRepository ) );
+    }
+
+    /**
+     * Returns the key of a lifecycle cache entry, which depends on the version of Maven, the packaging and the build
+     * extensions of the project, as on Maven 3 the extensions can bring in their own lifecycle mappings.
+     *
+     * @param what    What the entry holds.
+     * @param project The project.
+     * @return the key.
+     */
+    private String getLifecycleCacheKey( String what, MavenProject project )
+    {
+        StringBuilder buf = new StringBuilder( runtimeInformation.getApplicationVersion().toString() );
+        buf.append( '/' ).append( what ).append( '/' );
+        buf.append( project.getPackaging() == null ? "jar" : project.getPackaging() );
+        for ( Iterator i = project.getBuildPlugins().iterator(); i.hasNext(); )
+        {
+            Plugin plugin = (Plugin) i.next();
+            if ( plugin.isExtensions() )
+            {
+                buf.append( '/' ).append( plugin.getKey() ).append( ':' ).append( plugin.getVersion() );
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Returns the key of a lifecycle cache entry for a single lifecycle.
+     *
+     * @param what      What the entry holds.
+     * @param project   The project.
+     * @param lifecycle The lifecycle.
+     * @return the key.
+     */
+    private String getLifecycleCacheKey( String what, MavenProject project, Lifecycle lifecycle )
+    {
+        return getLifecycleCacheKey( what + "/" + lifecycle.getId(), project );
+    }
+
+    /**
+     * Returns <code>true</code> if the project has build extensions, which may change the lifecycle mappings. Entries
+     * that depend on extensions are only kept in memory, as the extension may be a snapshot.
+     *
+     * @param project The project.
+     * @return <code>true</code> if the project has build extensions.
+     */
+    private static boolean hasExtensions( MavenProject project )
+    {
+        for ( Iterator i = project.getBuildPlugins().iterator(); i.hasNext(); )
+        {
+            if ( ( (Plugin) i.next() ).isExtensions() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Gets the plugin management plugins of a specific project.
      *
@@ -372,7 +501,10 @@ public class DisplayPluginUpdatesMojo
         throws MojoExecutionException, MojoFailureException
     {
         logInit();
-        Set<String> pluginsWithVersionsSpecified;
+        prerequisitesIndex = usePrerequisitesIndex ? RequiredMavenVersionIndex.getInstance(
+            RequiredMavenVersionIndex.getDefaultIndexDirectory( localRepository ) ) : null;
+        prerequisitesReader = new RequiredMavenVersionReader( getHelper() );
+        final Set<String> pluginsWithVersionsSpecified;
         try
         {
             pluginsWithVersionsSpecified = findPluginsWithVersionsSpecified( getProject() );
@@ -386,10 +518,10 @@ public class DisplayPluginUpdatesMojo
             throw new MojoExecutionException( e.getMessage(), e );
         }
 
-        Map<String, String> superPomPluginManagement = getSuperPomPluginManagement();
+        final Map<String, String> superPomPluginManagement = getSuperPomPluginManagement();
         getLog().debug( "superPom plugins = " + superPomPluginManagement );
 
-        Map<String, String> parentPluginManagement = new HashMap<String, String>();
+        final Map<String, String> parentPluginManagement = new HashMap<String, String>();
         Map<String, String> parentBuildPlugins = new HashMap<String, String>();
         Map<String, String> parentReportPlugins = new HashMap<String, String>();
 
@@ -469,216 +601,17 @@ public class DisplayPluginUpdatesMojo
 
         Set<Plugin> plugins = getProjectPlugins( superPomPluginManagement, parentPluginManagement, parentBuildPlugins,
                                                  parentReportPlugins, pluginsWithVersionsSpecified );
-        List<String> updates = new ArrayList<String>();
-        List<String> lockdowns = new ArrayList<String>();
-        Map<ArtifactVersion, Map<String, String>> upgrades =
-            new TreeMap<ArtifactVersion, Map<String, String>>( new MavenVersionComparator() );
-        ArtifactVersion curMavenVersion = runtimeInformation.getApplicationVersion();
-        ArtifactVersion specMavenVersion = new DefaultArtifactVersion( getRequiredMavenVersion( getProject(), "2.0" ) );
-        ArtifactVersion minMavenVersion = null;
-        boolean superPomDrivingMinVersion = false;
-        Iterator<Plugin> i = plugins.iterator();
-        while ( i.hasNext() )
-        {
-            Object plugin = i.next();
-            String groupId = getPluginGroupId( plugin );
-            String artifactId = getPluginArtifactId( plugin );
-            String version = getPluginVersion( plugin );
-            String coords = ArtifactUtils.versionlessKey( groupId, artifactId );
-
-            if ( version == null )
-            {
-                version = parentPluginManagement.get( coords );
-            }
-            getLog().debug(
-                new StringBuilder().append( "Checking " ).append( coords ).append( " for updates newer than " ).append(
-                    version ).toString() );
-            String effectiveVersion = version;
-
-            VersionRange versionRange;
-            boolean unspecified = version == null;
-            try
-            {
-                versionRange = unspecified
-                    ? VersionRange.createFromVersionSpec( "[0,)" )
-                    : VersionRange.createFromVersionSpec( version );
-            }
-            catch ( InvalidVersionSpecificationException e )
-            {
-                throw new MojoExecutionException( "Invalid version range specification: " + version, e );
-            }
-
-            Artifact artifact = artifactFactory.createPluginArtifact( groupId, artifactId, versionRange );
-
-            ArtifactVersion artifactVersion = null;
-            try
-            {
-                // now we want to find the newest version that is compatible with the invoking version of Maven
-                ArtifactVersions artifactVersions = getHelper().lookupArtifactVersions( artifact, true );
-                ArtifactVersion[] newerVersions =
-                    artifactVersions.getVersions( Boolean.TRUE.equals( this.allowSnapshots ) );
-                ArtifactVersion minRequires = null;
-                for ( int j = newerVersions.length - 1; j >= 0; j-- )
-                {
-                    Artifact probe = artifactFactory.createDependencyArtifact( groupId, artifactId,
-                                                                               VersionRange.createFromVersion(
-                                                                                   newerVersions[j].toString() ), "pom",
-                                                                               null, "runtime" );
-                    try
-                    {
-                        getHelper().resolveArtifact( probe, true );
-                        MavenProject mavenProject =
-                            projectBuilder.buildFromRepository( probe, remotePluginRepositories, localRepository );
-                        ArtifactVersion requires =
-                            new DefaultArtifactVersion( getRequiredMavenVersion( mavenProject, "2.0" ) );
-                        if ( specMavenVersion.compareTo( requires ) >= 0 && artifactVersion == null )
-                        {
-                            artifactVersion = newerVersions[j];
-                        }
-                        if ( effectiveVersion == null && curMavenVersion.compareTo( requires ) >= 0 )
-                        {
-                            // version was unspecified, current version of maven thinks it should use this
-                            effectiveVersion = newerVersions[j].toString();
-                        }
-                        if ( artifactVersion != null && effectiveVersion != null )
-                        {
-                            // no need to look at any older versions.
-                            break;
-                        }
-                        if ( minRequires == null || minRequires.compareTo( requires ) > 0 )
-                        {
-                            Map<String, String> upgradePlugins = upgrades.get( requires );
-                            if ( upgradePlugins == null )
-                            {
-                                upgrades.put( requires, upgradePlugins = new LinkedHashMap<String, String>() );
-                            }
-                            String upgradePluginKey = compactKey( groupId, artifactId );
-                            if ( !upgradePlugins.containsKey( upgradePluginKey ) )
-                            {
-                                upgradePlugins.put( upgradePluginKey, newerVersions[j].toString() );
-                            }
-                            minRequires = requires;
-                        }
-                    }
-                    catch ( ArtifactResolutionException e )
-                    {
-                        // ignore bad version
-                    }
-                    catch ( ArtifactNotFoundException e )
-                    {
-                        // ignore bad version
-                    }
-                    catch ( ProjectBuildingException e )
-                    {
-                        // ignore bad version
-                    }
-                }
-                if ( effectiveVersion != null )
-                {
-                    VersionRange currentVersionRange = VersionRange.createFromVersion( effectiveVersion );
-                    Artifact probe =
-                        artifactFactory.createDependencyArtifact( groupId, artifactId, currentVersionRange, "pom", null,
-                                                                  "runtime" );
-                    try
-                    {
-                        getHelper().resolveArtifact( probe, true );
-                        MavenProject mavenProject =
-                            projectBuilder.buildFromRepository( probe, remotePluginRepositories, localRepository );
-                        ArtifactVersion requires =
-                            new DefaultArtifactVersion( getRequiredMavenVersion( mavenProject, "2.0" ) );
-                        if ( minMavenVersion == null || minMavenVersion.compareTo( requires ) < 0 )
-                        {
-                            minMavenVersion = requires;
-                        }
-                    }
-                    catch ( ArtifactResolutionException e )
-                    {
-                        // ignore bad version
-                    }
-                    catch ( ArtifactNotFoundException e )
-                    {
-                        // ignore bad version
-                    }
-                    catch ( ProjectBuildingException e )
-                    {
-                        // ignore bad version
-                    }
-                }
-            }
-            catch ( ArtifactMetadataRetrievalException e )
-            {
-                throw new MojoExecutionException( e.getMessage(), e );
-            }
-
-            String newVersion;
-
-            if ( version == null && pluginsWithVersionsSpecified.contains( coords ) )
-            {
-                // Hack ALERT!
-                //
-                // All this should be re-written in a less "pom is xml" way... but it'll
-                // work for now :-(
-                //
-                // we have removed the version information, as it was the same as from
-                // the super-pom... but it actually was specified.
-                version = artifactVersion != null ? artifactVersion.toString() : null;
-            }
-
-            getLog().debug( "[" + coords + "].version=" + version );
-            getLog().debug( "[" + coords + "].artifactVersion=" + artifactVersion );
-            getLog().debug( "[" + coords + "].effectiveVersion=" + effectiveVersion );
-            getLog().debug( "[" + coords + "].specified=" + pluginsWithVersionsSpecified.contains( coords ) );
-            if ( version == null || !pluginsWithVersionsSpecified.contains( coords ) )
-            {
-                version = (String) superPomPluginManagement.get( ArtifactUtils.versionlessKey( artifact ) );
-                getLog().debug( "[" + coords + "].superPom.version=" + version );
-
-                newVersion = artifactVersion != null
-                    ? artifactVersion.toString()
-                    : ( version != null ? version : ( effectiveVersion != null ? effectiveVersion : "(unknown)" ) );
-                StringBuilder buf = new StringBuilder( compactKey( groupId, artifactId ) );
-                buf.append( ' ' );
-                int padding =
-                    WARN_PAD_SIZE - newVersion.length() - ( version != null ? FROM_SUPER_POM.length() : 0 );
-                while ( buf.length() < padding )
-                {
-                    buf.append( '.' );
-                }
-                buf.append( ' ' );
-                if ( version != null )
-                {
-                    buf.append( FROM_SUPER_POM );
-                    superPomDrivingMinVersion = true;
-                }
-                buf.append( newVersion );
-                lockdowns.add( buf.toString() );
-            }
-            else if ( artifactVersion != null )
-            {
-                newVersion = artifactVersion.toString();
-            }
-            else
-            {
-                newVersion = null;
-            }
-            if ( version != null && artifactVersion != null && newVersion != null && effectiveVersion != null &&
-                new DefaultArtifactVersion( effectiveVersion ).compareTo( new DefaultArtifactVersion( newVersion ) )
-                    < 0 )
-            {
-                StringBuilder buf = new StringBuilder( compactKey( groupId, artifactId ) );
-                buf.append( ' ' );
-                int padding = INFO_PAD_SIZE - version.length() - newVersion.length() - 4;
-                while ( buf.length() < padding )
-                {
-                    buf.append( '.' );
-                }
-                buf.append( ' ' );
-                buf.append( effectiveVersion );
-                buf.append( " -> " );
-                buf.append( newVersion );
-                updates.add( buf.toString() );
-            }
-        }
+        final ArtifactVersion curMavenVersion = runtimeInformation.getApplicationVersion();
+        final ArtifactVersion specMavenVersion =
+            new DefaultArtifactVersion( getRequiredMavenVersion( getProject(), "2.0" ) );
+        final PluginUpdates found =
+            checkPlugins( plugins, parentPluginManagement, pluginsWithVersionsSpecified, superPomPluginManagement,
+                          curMavenVersion, specMavenVersion );
+        final List<String> updates = found.updates;
+        final List<String> lockdowns = found.lockdowns;
+        final Map<ArtifactVersion, Map<String, String>> upgrades = found.upgrades;
+        final ArtifactVersion minMavenVersion = found.minMavenVersion;
+        final boolean superPomDrivingMinVersion = found.superPomDrivingMinVersion;
         logLine( false, "" );
         if ( updates.isEmpty() )
         {
@@ -816,6 +749,277 @@ public class DisplayPluginUpdatesMojo
         logLine( false, "" );
     }
 
+    /**
+     * Checks the plugins in parallel, using the lookup threads, and gathers what was found in the order of the
+     * plugins, so that the result is the same as checking them one after the other.
+     *
+     * @param plugins                      The plugins.
+     * @param parentPluginManagement       The versions of the plugins managed by the parents.
+     * @param pluginsWithVersionsSpecified The plugins whose version the project specifies.
+     * @param superPomPluginManagement     The versions of the plugins managed by the super-pom.
+     * @param curMavenVersion              The version of Maven running the build.
+     * @param specMavenVersion             The version of Maven the project requires.
+     * @return what was found out about the plugins.
+     * @throws MojoExecutionException when things go wrong.
+     * @throws MojoFailureException   when things go wrong.
+     */
+    PluginUpdates checkPlugins( Collection<Plugin> plugins, final Map<String, String> parentPluginManagement,
+                                final Set<String> pluginsWithVersionsSpecified,
+                                final Map<String, String> superPomPluginManagement,
+                                final ArtifactVersion curMavenVersion, final ArtifactVersion specMavenVersion )
+        throws MojoExecutionException, MojoFailureException
+    {
+        final PluginUpdates found = new PluginUpdates();
+        List<Callable<PluginUpdate>> checks = new ArrayList<Callable<PluginUpdate>>( plugins.size() );
+        for ( final Plugin plugin : plugins )
+        {
+            checks.add( new Callable<PluginUpdate>()
+            {
+                public PluginUpdate call()
+                    throws MojoExecutionException
+                {
+                    return checkPlugin( plugin, parentPluginManagement, pluginsWithVersionsSpecified,
+                                        superPomPluginManagement, curMavenVersion, specMavenVersion );
+                }
+            } );
+        }
+        for ( PluginUpdate result : invokeAll( checks ) )
+        {
+            if ( result.update != null )
+            {
+                found.updates.add( result.update );
+            }
+            if ( result.lockdown != null )
+            {
+                found.lockdowns.add( result.lockdown );
+            }
+            if ( result.fromSuperPom )
+            {
+                found.superPomDrivingMinVersion = true;
+            }
+            for ( Map.Entry<ArtifactVersion, String> upgrade : result.upgrades.entrySet() )
+            {
+                Map<String, String> upgradePlugins = found.upgrades.get( upgrade.getKey() );
+                if ( upgradePlugins == null )
+                {
+                    found.upgrades.put( upgrade.getKey(), upgradePlugins = new LinkedHashMap<String, String>() );
+                }
+                if ( !upgradePlugins.containsKey( result.key ) )
+                {
+                    upgradePlugins.put( result.key, upgrade.getValue() );
+                }
+            }
+            if ( result.requires != null && ( found.minMavenVersion == null
+                || found.minMavenVersion.compareTo( result.requires ) < 0 ) )
+            {
+                found.minMavenVersion = result.requires;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks a plugin for a newer version that works with the version of Maven the project requires, and for the
+     * versions of Maven its newer versions require. This is safe to run for several plugins at once.
+     *
+     * @param plugin                       The plugin.
+     * @param parentPluginManagement       The versions of the plugins managed by the parents.
+     * @param pluginsWithVersionsSpecified The plugins whose version the project specifies.
+     * @param superPomPluginManagement     The versions of the plugins managed by the super-pom.
+     * @param curMavenVersion              The version of Maven running the build.
+     * @param specMavenVersion             The version of Maven the project requires.
+     * @return what was found out about the plugin.
+     * @throws MojoExecutionException when things go wrong.
+     */
+    private PluginUpdate checkPlugin( Object plugin, Map<String, String> parentPluginManagement,
+                                      Set<String> pluginsWithVersionsSpecified,
+                                      Map<String, String> superPomPluginManagement, ArtifactVersion curMavenVersion,
+                                      ArtifactVersion specMavenVersion )
+        throws MojoExecutionException
+    {
+        final String groupId = getPluginGroupId( plugin );
+        final String artifactId = getPluginArtifactId( plugin );
+        final PluginUpdate result = new PluginUpdate( compactKey( groupId, artifactId ) );
+        String version = getPluginVersion( plugin );
+        String coords = ArtifactUtils.versionlessKey( groupId, artifactId );
+
+        if ( version == null )
+        {
+            version = parentPluginManagement.get( coords );
+        }
+        getLog().debug(
+            new StringBuilder().append( "Checking " ).append( coords ).append( " for updates newer than " ).append(
+                version ).toString() );
+        String effectiveVersion = version;
+
+        VersionRange versionRange;
+        boolean unspecified = version == null;
+        try
+        {
+            versionRange = unspecified
+                ? VersionRange.createFromVersionSpec( "[0,)" )
+                : VersionRange.createFromVersionSpec( version );
+        }
+        catch ( InvalidVersionSpecificationException e )
+        {
+            throw new MojoExecutionException( "Invalid version range specification: " + version, e );
+        }
+
+        Artifact artifact = artifactFactory.createPluginArtifact( groupId, artifactId, versionRange );
+
+        ArtifactVersion artifactVersion = null;
+        try
+        {
+            // now we want to find the newest version that is compatible with the invoking version of Maven
+            ArtifactVersions artifactVersions = getHelper().lookupArtifactVersions( artifact, true );
+            ArtifactVersion[] newerVersions =
+                artifactVersions.getVersions( Boolean.TRUE.equals( this.allowSnapshots ) );
+            RequiredMavenVersionSearch search =
+                new RequiredMavenVersionSearch( newerVersions, new RequiredMavenVersionSearch.Probe()
+                {
+                    public ArtifactVersion getRequiredMavenVersion( ArtifactVersion version )
+                        throws MojoExecutionException
+                    {
+                        try
+                        {
+                            return DisplayPluginUpdatesMojo.this.getRequiredMavenVersion( groupId, artifactId,
+                                                                                          version.toString() );
+                        }
+                        catch ( ArtifactResolutionException e )
+                        {
+                            // ignore bad version
+                        }
+                        catch ( ArtifactNotFoundException e )
+                        {
+                            // ignore bad version
+                        }
+                        catch ( ProjectBuildingException e )
+                        {
+                            // ignore bad version
+                        }
+                        return null;
+                    }
+                } );
+            int newest = search.findNewest( specMavenVersion );
+            if ( newest >= 0 )
+            {
+                artifactVersion = newerVersions[newest];
+            }
+            if ( effectiveVersion == null )
+            {
+                int current = search.findNewest( curMavenVersion );
+                if ( current >= 0 )
+                {
+                    // version was unspecified, current version of maven thinks it should use this
+                    effectiveVersion = newerVersions[current].toString();
+                }
+            }
+            // only the versions newer than the one we can use need a newer version of maven
+            for ( Map.Entry<ArtifactVersion, ArtifactVersion> upgrade : search.getUpgrades( newest ).entrySet() )
+            {
+                result.upgrades.put( upgrade.getKey(), upgrade.getValue().toString() );
+            }
+            if ( !search.isMonotone() )
+            {
+                getLog().debug( "Could not bisect the versions of " + coords + ", checked them one by one" );
+            }
+            if ( effectiveVersion != null )
+            {
+                try
+                {
+                    ArtifactVersion requires = getRequiredMavenVersion( groupId, artifactId, effectiveVersion );
+                    result.requires = requires;
+                }
+                catch ( ArtifactResolutionException e )
+                {
+                    // ignore bad version
+                }
+                catch ( ArtifactNotFoundException e )
+                {
+                    // ignore bad version
+                }
+                catch ( ProjectBuildingException e )
+                {
+                    // ignore bad version
+                }
+            }
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+
+        String newVersion;
+
+        if ( version == null && pluginsWithVersionsSpecified.contains( coords ) )
+        {
+            // Hack ALERT!
+            //
+            // All this should be re-written in a less "pom is xml" way... but it'll
+            // work for now :-(
+            //
+            // we have removed the version information, as it was the same as from
+            // the super-pom... but it actually was specified.
+            version = artifactVersion != null ? artifactVersion.toString() : null;
+        }
+
+        getLog().debug( "[" + coords + "].version=" + version );
+        getLog().debug( "[" + coords + "].artifactVersion=" + artifactVersion );
+        getLog().debug( "[" + coords + "].effectiveVersion=" + effectiveVersion );
+        getLog().debug( "[" + coords + "].specified=" + pluginsWithVersionsSpecified.contains( coords ) );
+        if ( version == null || !pluginsWithVersionsSpecified.contains( coords ) )
+        {
+            version = (String) superPomPluginManagement.get( ArtifactUtils.versionlessKey( artifact ) );
+            getLog().debug( "[" + coords + "].superPom.version=" + version );
+
+            newVersion = artifactVersion != null
+                ? artifactVersion.toString()
+                : ( version != null ? version : ( effectiveVersion != null ? effectiveVersion : "(unknown)" ) );
+            StringBuilder buf = new StringBuilder( compactKey( groupId, artifactId ) );
+            buf.append( ' ' );
+            int padding =
+                WARN_PAD_SIZE - newVersion.length() - ( version != null ? FROM_SUPER_POM.length() : 0 );
+            while ( buf.length() < padding )
+            {
+                buf.append( '.' );
+            }
+            buf.append( ' ' );
+            if ( version != null )
+            {
+                buf.append( FROM_SUPER_POM );
+                result.fromSuperPom = true;
+            }
+            buf.append( newVersion );
+            result.lockdown = buf.toString();
+        }
+        else if ( artifactVersion != null )
+        {
+            newVersion = artifactVersion.toString();
+        }
+        else
+        {
+            newVersion = null;
+        }
+        if ( version != null && artifactVersion != null && newVersion != null && effectiveVersion != null &&
+            new DefaultArtifactVersion( effectiveVersion ).compareTo( new DefaultArtifactVersion( newVersion ) )
+                < 0 )
+        {
+            StringBuilder buf = new StringBuilder( compactKey( groupId, artifactId ) );
+            buf.append( ' ' );
+            int padding = INFO_PAD_SIZE - version.length() - newVersion.length() - 4;
+            while ( buf.length() < padding )
+            {
+                buf.append( '.' );
+            }
+            buf.append( ' ' );
+            buf.append( effectiveVersion );
+            buf.append( " -> " );
+            buf.append( newVersion );
+            result.update = buf.toString();
+        }
+        return result;
+    }
+
     private String compactKey( String groupId, String artifactId )
     {
         if ( PomHelper.APACHE_MAVEN_PLUGINS_GROUPID.equals( groupId ) )
@@ -826,6 +1030,52 @@ public class DisplayPluginUpdatesMojo
         return groupId + ":" + artifactId;
     }
 
+    /**
+     * Returns the minimum version of Maven required by a version of a plugin, as declared by the prerequisites of its
+     * pom or, when it does not declare one, those of its parents. The index is consulted first if there is one, then
+     * the poms are read on their own, and only if that is not enough is the project built.
+     *
+     * @param groupId    The groupId of the plugin.
+     * @param artifactId The artifactId of the plugin.
+     * @param version    The version of the plugin.
+     * @return the required version of Maven, 2.0 if the plugin does not declare one.
+     * @throws ArtifactResolutionException if the pom of the plugin could not be resolved.
+     * @throws ArtifactNotFoundException   if the pom of the plugin does not exist.
+     * @throws ProjectBuildingException    if the pom of the plugin could not be built.
+     * @throws MojoExecutionException      if the versions helper could not be created.
+     */
+    ArtifactVersion getRequiredMavenVersion( String groupId, String artifactId, String version )
+        throws ArtifactResolutionException, ArtifactNotFoundException, ProjectBuildingException,
+        MojoExecutionException
+    {
+        String requires = prerequisitesIndex == null ? null : prerequisitesIndex.get( groupId, artifactId, version );
+        if ( requires == null )
+        {
+            requires = prerequisitesReader.getRequiredMavenVersion( groupId, artifactId, version );
+            if ( requires == null )
+            {
+                // the poms cannot be read on their own, so build the project
+                Artifact probe = artifactFactory.createDependencyArtifact( groupId, artifactId,
+                                                                           VersionRange.createFromVersion( version ),
+                                                                           "pom", null, "runtime" );
+                getHelper().resolveArtifact( probe, true );
+                MavenProject mavenProject;
+                synchronized ( projectBuilder )
+                {
+                    // the project builder is not safe to use from several threads at once
+                    mavenProject =
+                        projectBuilder.buildFromRepository( probe, remotePluginRepositories, localRepository );
+                }
+                requires = getRequiredMavenVersion( mavenProject, RequiredMavenVersionIndex.UNSPECIFIED );
+            }
+            if ( prerequisitesIndex != null )
+            {
+                prerequisitesIndex.put( groupId, artifactId, version, requires );
+            }
+        }
+        return new DefaultArtifactVersion( requires.length() == 0 ? "2.0" : requires );
+    }
+
     private String getRequiredMavenVersion( MavenProject mavenProject, String defaultValue )
     {
         ArtifactVersion requiredMavenVersion = null;
@@ -846,6 +1096,52 @@ public class DisplayPluginUpdatesMojo
         return requiredMavenVersion == null ? defaultValue : requiredMavenVersion.toString();
     }
 
+    /**
+     * What {@link #checkPlugin} found out about a plugin.
+     */
+    private static final class PluginUpdate
+    {
+        /**
+         * The plugin as shown in the report.
+         */
+        private final String key;
+
+        private final Map<ArtifactVersion, String> upgrades = new LinkedHashMap<ArtifactVersion, String>();
+
+        private String update;
+
+        private String lockdown;
+
+        private boolean fromSuperPom;
+
+        private ArtifactVersion requires;
+
+        PluginUpdate( String key )
+        {
+            this.key = key;
+        }
+    }
+
+    /**
+     * What {@link #checkPlugins} found out about all the plugins, in the order of the plugins.
+     */
+    static final class PluginUpdates
+    {
+        final List<String> updates = new ArrayList<String>();
+
+        final List<String> lockdowns = new ArrayList<String>();
+
+        /**
+         * The newest version of each plugin that a version of Maven newer than the one the project requires can use.
+         */
+        final Map<ArtifactVersion, Map<String, String>> upgrades =
+            new TreeMap<ArtifactVersion, Map<String, String>>( new MavenVersionComparator() );
+
+        ArtifactVersion minMavenVersion;
+
+        boolean superPomDrivingMinVersion;
+    }
+
     private static final class StackState
     {
         private final String path;
@@ -1088,6 +1384,20 @@ public class DisplayPluginUpdatesMojo
         if ( new DefaultArtifactVersion( "3.0" ).compareTo( runtimeInformation.getApplicationVersion() ) <= 0 )
         {
             getLog().debug( "Using Maven 3.0+ strategy to determine lifecycle defined plugins" );
+            final String key = getLifecycleCacheKey( "bound-plugins", project );
+            final Map<String, String> cached = getLifecycleCache().get( key );
+            if ( cached != null )
+            {
+                Set<Plugin> result = new LinkedHashSet<Plugin>( cached.size() );
+                for ( String coords : cached.keySet() )
+                {
+                    Plugin plugin = new Plugin();
+                    plugin.setGroupId( coords.substring( 0, coords.indexOf( ':' ) ) );
+                    plugin.setArtifactId( coords.substring( coords.indexOf( ':' ) + 1 ) );
+                    result.add( plugin );
+                }
+                return result;
+            }
             try
             {
                 Method getPluginsBoundByDefaultToAllLifecycles =
@@ -1102,13 +1412,16 @@ public class DisplayPluginUpdatesMojo
                 // we need to provide a copy with the version blanked out so that inferring from super-pom
                 // works as for 2.x as 3.x fills in the version on us!
                 Set<Plugin> result = new LinkedHashSet<Plugin>( plugins.size() );
+                Map<String, String> entry = new LinkedHashMap<String, String>( plugins.size() );
                 for ( Plugin plugin : plugins )
                 {
                     Plugin dup = new Plugin();
                     dup.setGroupId( plugin.getGroupId() );
                     dup.setArtifactId( plugin.getArtifactId() );
                     result.add( dup );
+                    entry.put( getPluginCoords( plugin ), null );
                 }
+                getLifecycleCache().put( key, entry, !hasExtensions( project ) );
                 return result;
             }
             catch ( NoSuchMethodException e1 )
@@ -1248,6 +1561,28 @@ public class DisplayPluginUpdatesMojo
      */
     private Map findMappingsForLifecycle( MavenProject project, Lifecycle lifecycle )
         throws LifecycleExecutionException, PluginNotFoundException
+    {
+        final String key = getLifecycleCacheKey( "mappings", project, lifecycle );
+        Map<String, String> mappings = getLifecycleCache().get( key );
+        if ( mappings == null )
+        {
+            mappings = new LinkedHashMap<String, String>( loadMappingsForLifecycle( project, lifecycle ) );
+            getLifecycleCache().put( key, mappings, !hasExtensions( project ) );
+        }
+        return mappings;
+    }
+
+    /**
+     * Load mappings for lifecycle.
+     *
+     * @param project   the project
+     * @param lifecycle the lifecycle
+     * @return the map
+     * @throws LifecycleExecutionException the lifecycle execution exception
+     * @throws PluginNotFoundException     the plugin not found exception
+     */
+    private Map loadMappingsForLifecycle( MavenProject project, Lifecycle lifecycle )
+        throws LifecycleExecutionException, PluginNotFoundException
     {
         String packaging = project.getPackaging();
         Map mappings = null;
@@ -1306,6 +1641,32 @@ public class DisplayPluginUpdatesMojo
      */
     private List<String> findOptionalMojosForLifecycle( MavenProject project, Lifecycle lifecycle )
         throws LifecycleExecutionException, PluginNotFoundException
+    {
+        final String key = getLifecycleCacheKey( "optional-mojos", project, lifecycle );
+        Map<String, String> optionalMojos = getLifecycleCache().get( key );
+        if ( optionalMojos == null )
+        {
+            optionalMojos = new LinkedHashMap<String, String>();
+            for ( String optionalMojo : loadOptionalMojosForLifecycle( project, lifecycle ) )
+            {
+                optionalMojos.put( optionalMojo, null );
+            }
+            getLifecycleCache().put( key, optionalMojos, !hasExtensions( project ) );
+        }
+        return new ArrayList<String>( optionalMojos.keySet() );
+    }
+
+    /**
+     * Load optional mojos for lifecycle.
+     *
+     * @param project   the project
+     * @param lifecycle the lifecycle
+     * @return the list
+     * @throws LifecycleExecutionException the lifecycle execution exception
+     * @throws PluginNotFoundException     the plugin not found exception
+     */
+    private List<String> loadOptionalMojosForLifecycle( MavenProject project, Lifecycle lifecycle )
+        throws LifecycleExecutionException, PluginNotFoundException
     {
         String packaging = project.getPackaging();
         List<String> optionalMojos = null;
@@ -1402,6 +1763,22 @@ public class DisplayPluginUpdatesMojo
     private PluginDescriptor loadPluginDescriptor( Plugin plugin, MavenProject project, MavenSession session )
         throws LifecycleExecutionException, PluginNotFoundException
     {
+        // the plugin manager resolves the plugin every time, so only ask once per session
+        final String key = plugin.getKey() + ":" + plugin.getVersion();
+        Map<String, PluginDescriptor> loaded;
+        synchronized ( PLUGIN_DESCRIPTORS )
+        {
+            loaded = PLUGIN_DESCRIPTORS.get( session );
+            if ( loaded == null )
+            {
+                loaded = new HashMap<String, PluginDescriptor>();
+                PLUGIN_DESCRIPTORS.put( session, loaded );
+            }
+            if ( loaded.containsKey( key ) )
+            {
+                return loaded.get( key );
+            }
+        }
         PluginDescriptor pluginDescriptor;
         try
         {
@@ -1436,6 +1813,10 @@ public class DisplayPluginUpdatesMojo
         {
             throw new LifecycleExecutionException( e.getMessage(), e );
         }
+        synchronized ( PLUGIN_DESCRIPTORS )
+        {
+            loaded.put( key, pluginDescriptor );
+        }
         return pluginDescriptor;
     }
 
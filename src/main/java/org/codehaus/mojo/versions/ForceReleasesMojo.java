@@ -26,7 +26,7 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
 import javax.xml.stream.XMLStreamException;
@@ -57,6 +57,22 @@ public class ForceReleasesMojo
 
     // ------------------------------ METHODS --------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpVersionsOf( Dependency dependency )
+    {
+        return matchSnapshotRegex.matcher( dependency.getVersion() ).matches();
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException
@@ -70,16 +86,18 @@ public class ForceReleasesMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
+        PomEdits edits = new PomEdits();
         try
         {
             if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
             {
-                useReleases( pom, getProject().getDependencyManagement().getDependencies() );
+                useReleases( edits, getProject().getDependencyManagement().getDependencies() );
             }
             if ( isProcessingDependencies() )
             {
-                useReleases( pom, getProject().getDependencies() );
+                useReleases( edits, getProject().getDependencies() );
             }
+            applyEdits( pom, edits );
         }
         catch ( ArtifactMetadataRetrievalException e )
         {
@@ -87,8 +105,8 @@ public class ForceReleasesMojo
         }
     }
 
-    private void useReleases( ModifiedPomXMLEventReader pom, Collection dependencies )
-        throws XMLStreamException, MojoExecutionException, ArtifactMetadataRetrievalException
+    private void useReleases( PomEdits edits, Collection dependencies )
+        throws MojoExecutionException, ArtifactMetadataRetrievalException
     {
         Iterator i = dependencies.iterator();
 
@@ -117,19 +135,16 @@ public class ForceReleasesMojo
                 ArtifactVersions versions = getHelper().lookupArtifactVersions( artifact, false );
                 if ( versions.containsVersion( releaseVersion ) )
                 {
-                    if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version,
-                                                         releaseVersion ) )
-                    {
-                        getLog().info( "Updated " + toString( dep ) + " to version " + releaseVersion );
-                    }
+                    edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version, releaseVersion )
+                        .describedAs( "Updated " + toString( dep ) + " to version " + releaseVersion );
                 } else {
                     ArtifactVersion[] v = versions.getVersions(false);
                     if (v.length == 0) {
                         getLog().info( "No release of " + toString( dep ) + " to force.");
-                    } else if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version,
-                                                         v[v.length-1].toString() ) )
-                    {
-                        getLog().info( "Reverted " + toString( dep ) + " to version " + v[v.length-1].toString() );
+                    } else {
+                        edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version,
+                                                    v[v.length-1].toString() )
+                            .describedAs( "Reverted " + toString( dep ) + " to version " + v[v.length-1].toString() );
                     }
                 }
             }
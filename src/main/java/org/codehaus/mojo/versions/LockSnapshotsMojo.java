@@ -24,7 +24,7 @@ import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
 import javax.xml.stream.XMLStreamException;
@@ -68,18 +68,20 @@ public class LockSnapshotsMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
+        PomEdits edits = new PomEdits();
         if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
         {
-            lockSnapshots( pom, getProject().getDependencyManagement().getDependencies() );
+            lockSnapshots( edits, getProject().getDependencyManagement().getDependencies() );
         }
         if ( isProcessingDependencies() )
         {
-            lockSnapshots( pom, getProject().getDependencies() );
+            lockSnapshots( edits, getProject().getDependencies() );
         }
+        applyEdits( pom, edits );
     }
 
-    private void lockSnapshots( ModifiedPomXMLEventReader pom, Collection dependencies )
-        throws XMLStreamException, MojoExecutionException
+    private void lockSnapshots( PomEdits edits, Collection dependencies )
+        throws MojoExecutionException
     {
         Iterator iter = dependencies.iterator();
 
@@ -105,11 +107,8 @@ public class LockSnapshotsMojo
                 String lockedVersion = resolveSnapshotVersion( dep );
                 if ( !version.equals( lockedVersion ) )
                 {
-                    if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version,
-                                                         lockedVersion ) )
-                    {
-                        getLog().info( "Locked " + toString( dep ) + " to version " + lockedVersion );
-                    }
+                    edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version, lockedVersion )
+                        .describedAs( "Locked " + toString( dep ) + " to version " + lockedVersion );
                 }
             }
         }
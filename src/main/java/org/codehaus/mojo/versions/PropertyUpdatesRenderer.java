@@ -22,6 +22,7 @@ package org.codehaus.mojo.versions;
 import org.apache.maven.doxia.sink.Sink;
 import org.codehaus.mojo.versions.api.PropertyVersions;
 import org.codehaus.mojo.versions.api.UpdateScope;
+import org.codehaus.mojo.versions.api.UpdateSummary;
 import org.codehaus.mojo.versions.utils.PropertyComparator;
 import org.codehaus.plexus.i18n.I18N;
 
@@ -111,20 +112,20 @@ public class PropertyUpdatesRenderer
         int numCur = 0;
         for ( Iterator iterator = allUpdates.values().iterator(); iterator.hasNext(); )
         {
-            PropertyVersions details = (PropertyVersions) iterator.next();
-            if ( details.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
+            UpdateSummary summary = ( (PropertyVersions) iterator.next() ).getUpdateSummary();
+            if ( summary.getOldestUpdate( UpdateScope.SUBINCREMENTAL ) != null )
             {
                 numAny++;
             }
-            else if ( details.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
+            else if ( summary.getOldestUpdate( UpdateScope.INCREMENTAL ) != null )
             {
                 numInc++;
             }
-            else if ( details.getOldestUpdate( UpdateScope.MINOR ) != null )
+            else if ( summary.getOldestUpdate( UpdateScope.MINOR ) != null )
             {
                 numMin++;
             }
-            else if ( details.getOldestUpdate( UpdateScope.MAJOR ) != null )
+            else if ( summary.getOldestUpdate( UpdateScope.MAJOR ) != null )
             {
                 numMaj++;
             }
@@ -94,6 +94,22 @@ public class ResolveRangesMojo
         return !Boolean.FALSE.equals( processProperties );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpVersionsOf( Dependency dependency )
+    {
+        return matchRangeRegex.matcher( dependency.getVersion() ).find();
+    }
+
     /**
      * @param pom the pom to update.
      * @throws MojoExecutionException when things go wrong
@@ -20,11 +20,15 @@ package org.codehaus.mojo.versions;
  */
 
 
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.mojo.versions.api.LookupExecutor;
+import org.codehaus.mojo.versions.api.ModelCache;
+import org.codehaus.mojo.versions.backup.BackupStrategies;
+import org.codehaus.mojo.versions.backup.BackupStrategy;
 
 import java.io.File;
 import java.io.IOException;
@@ -51,25 +55,60 @@ public class RevertMojo
      */
     private MavenProject project;
 
+    /**
+     * The Maven Session.
+     *
+     * @parameter property="session"
+     * @required
+     * @readonly
+     * @since 2.2
+     */
+    private MavenSession session;
+
+    /**
+     * How the poms were backed up, see the <code>backupStrategy</code> parameter of the goals that change the poms.
+     *
+     * @parameter property="versions.backupStrategy" default-value="copy"
+     * @since 2.2
+     */
+    private String backupStrategy;
+
+    /**
+     * The number of threads used to work through the poms of the reactor, for the backup strategies that keep all
+     * of them together.
+     *
+     * @parameter property="versions.lookupThreads" default-value="5"
+     * @since 2.2
+     */
+    private int lookupThreads;
+
+    /**
+     * Whether to restore poms that have been changed by anything else since they were updated, for the backup
+     * strategies that can tell.
+     *
+     * @parameter property="versions.force" default-value="false"
+     * @since 2.2
+     */
+    private boolean force;
+
 
     public void execute()
         throws MojoExecutionException, MojoFailureException
     {
-        File outFile = project.getFile();
-        File backupFile = new File( outFile.getParentFile(), outFile.getName() + ".versionsBackup" );
-
-        if ( backupFile.exists() )
+        BackupStrategy strategy =
+            BackupStrategies.getBackupStrategy( backupStrategy, session, new File( session.getExecutionRootDirectory() ),
+                                                LookupExecutor.getInstance( session, lookupThreads ) );
+        try
         {
-            getLog().info( "Restoring " + outFile + " from " + backupFile );
-            try
-            {
-                FileUtils.copyFile( backupFile, outFile );
-                FileUtils.forceDelete( backupFile );
-            }
-            catch ( IOException e )
+            for ( File file : strategy.restore( project.getFile(), force ) )
             {
-                throw new MojoExecutionException( e.getMessage(), e );
+                getLog().info( "Restored " + file );
+                ModelCache.getInstance( session, null ).invalidate( file );
             }
         }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
     }
 }
@@ -209,7 +209,8 @@ public class SetMojo
                 PomHelper.getLocalRoot( projectBuilder, getProject(), localRepository, null, getLog() );
 
             getLog().info( "Local aggregation root: " + project.getBasedir() );
-            Map<String, Model> reactorModels = PomHelper.getReactorModels( project, getLog() );
+            Map<String, Model> reactorModels =
+                PomHelper.getReactorModels( project, getLog(), getLookupExecutor(), getModelCache() );
             final SortedMap<String, Model> reactor =
                 new TreeMap<String, Model>( new ReactorDepthComparator( reactorModels ) );
             reactor.putAll( reactorModels );
@@ -245,11 +246,8 @@ public class SetMojo
                 applyChange( project, reactor, files, groupId, artifactId, oldVersion );
             }
 
-            // now process all the updates
-            for ( File file : files )
-            {
-                process( file );
-            }
+            // now process all the updates, the changes are not modified from here on so the files can be done in parallel
+            process( files );
 
         }
         catch ( IOException e )
@@ -393,7 +391,7 @@ public class SetMojo
      * @throws javax.xml.stream.XMLStreamException
      *          when things go wrong.
      */
-    protected synchronized void update( ModifiedPomXMLEventReader pom )
+    protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
         ContextualLog log = new DelegatingContextualLog( getLog() );
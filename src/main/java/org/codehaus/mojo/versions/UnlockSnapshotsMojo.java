@@ -22,7 +22,7 @@ package org.codehaus.mojo.versions;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
 import javax.xml.stream.XMLStreamException;
@@ -66,19 +66,21 @@ public class UnlockSnapshotsMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
+        PomEdits edits = new PomEdits();
 
         if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
         {
-            unlockSnapshots( pom, getProject().getDependencyManagement().getDependencies() );
+            unlockSnapshots( edits, getProject().getDependencyManagement().getDependencies() );
         }
         if ( isProcessingDependencies() )
         {
-            unlockSnapshots( pom, getProject().getDependencies() );
+            unlockSnapshots( edits, getProject().getDependencies() );
         }
+        applyEdits( pom, edits );
     }
 
-    private void unlockSnapshots( ModifiedPomXMLEventReader pom, List dependencies )
-        throws XMLStreamException, MojoExecutionException
+    private void unlockSnapshots( PomEdits edits, List dependencies )
+        throws MojoExecutionException
     {
         Iterator iter = dependencies.iterator();
         while ( iter.hasNext() )
@@ -101,11 +103,8 @@ public class UnlockSnapshotsMojo
             if ( versionMatcher.find() && versionMatcher.end() == version.length() )
             {
                 String unlockedVersion = versionMatcher.replaceFirst( "-SNAPSHOT" );
-                if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), dep.getVersion(),
-                                                     unlockedVersion ) )
-                {
-                    getLog().info( "Unlocked " + toString( dep ) + " to version " + unlockedVersion );
-                }
+                edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), dep.getVersion(), unlockedVersion )
+                    .describedAs( "Unlocked " + toString( dep ) + " to version " + unlockedVersion );
             }
         }
     }
@@ -33,9 +33,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Scans the current projects child modules, updating the versions of any which use the current project to
@@ -53,19 +56,14 @@ public class UpdateChildModulesMojo
 {
 
     /**
-     * The groupId that we are updating. Guarded by this.
+     * The parent updates to make, keyed by the pom file of the module. Only modified before the files are processed.
      */
-    private transient String sourceGroupId = null;
+    private final transient Map<File, ParentUpdate> parentUpdates = new HashMap<File, ParentUpdate>();
 
     /**
-     * The artifactId that we are updating. Guarded by this.
+     * The parent update of the file being processed by the current thread.
      */
-    private transient String sourceArtifactId = null;
-
-    /**
-     * The version that we are updating to. Guarded by this.
-     */
-    private transient String sourceVersion = null;
+    private final transient ThreadLocal<ParentUpdate> currentUpdate = new ThreadLocal<ParentUpdate>();
 
     /**
      * Called when this mojo is executed.
@@ -79,9 +77,13 @@ public class UpdateChildModulesMojo
 
         boolean didSomething = false;
 
+        // set of files to update
+        final Set<File> files = new LinkedHashSet<File>();
+
         try
         {
-            final Map reactor = PomHelper.getReactorModels( getProject(), getLog() );
+            final Map reactor =
+                PomHelper.getReactorModels( getProject(), getLog(), getLookupExecutor(), getModelCache() );
             List order = new ArrayList( reactor.keySet() );
             Collections.sort( order, new Comparator()
             {
@@ -113,80 +115,75 @@ public class UpdateChildModulesMojo
                                     ? "Processing root module as parent"
                                     : "Processing " + sourcePath + " as a parent." );
 
-                synchronized ( this )
+                final String sourceGroupId = PomHelper.getGroupId( sourceModel );
+                if ( sourceGroupId == null )
+                {
+                    getLog().warn( "Module " + sourcePath + " is missing a groupId." );
+                    continue;
+                }
+                final String sourceArtifactId = PomHelper.getArtifactId( sourceModel );
+                if ( sourceArtifactId == null )
+                {
+                    getLog().warn( "Module " + sourcePath + " is missing an artifactId." );
+                    continue;
+                }
+                final String sourceVersion = PomHelper.getVersion( sourceModel );
+                if ( sourceVersion == null )
+                {
+                    getLog().warn( "Module " + sourcePath + " is missing a version." );
+                    continue;
+                }
+
+                getLog().debug( "Looking for modules which use " +
+                                    ArtifactUtils.versionlessKey( sourceGroupId, sourceArtifactId )
+                                    + " as their parent" );
+
+                Iterator j =
+                    PomHelper.getChildModels( reactor, sourceGroupId, sourceArtifactId ).entrySet().iterator();
+
+                while ( j.hasNext() )
                 {
-                    sourceGroupId = PomHelper.getGroupId( sourceModel );
-                    if ( sourceGroupId == null )
+                    Map.Entry target = (Map.Entry) j.next();
+                    String targetPath = (String) target.getKey();
+
+                    File moduleDir = new File( getProject().getBasedir(), targetPath );
+
+                    File moduleProjectFile;
+
+                    if ( moduleDir.isDirectory() )
                     {
-                        getLog().warn( "Module " + sourcePath + " is missing a groupId." );
-                        continue;
+                        moduleProjectFile = new File( moduleDir, "pom.xml" );
                     }
-                    sourceArtifactId = PomHelper.getArtifactId( sourceModel );
-                    if ( sourceArtifactId == null )
+                    else
                     {
-                        getLog().warn( "Module " + sourcePath + " is missing an artifactId." );
-                        continue;
+                        // i don't think this should ever happen... but just in case
+                        // the module references the file-name
+                        moduleProjectFile = moduleDir;
                     }
-                    sourceVersion = PomHelper.getVersion( sourceModel );
-                    if ( sourceVersion == null )
+
+                    Model targetModel = (Model) target.getValue();
+                    final Parent parent = targetModel.getParent();
+                    if ( sourceVersion.equals( parent.getVersion() ) )
                     {
-                        getLog().warn( "Module " + sourcePath + " is missing a version." );
-                        continue;
+                        getLog().debug( "Module: " + targetPath + " parent is " +
+                                            ArtifactUtils.versionlessKey( sourceGroupId, sourceArtifactId ) + ":"
+                                            + sourceVersion );
                     }
-
-                    getLog().debug( "Looking for modules which use " +
-                                        ArtifactUtils.versionlessKey( sourceGroupId, sourceArtifactId )
-                                        + " as their parent" );
-
-                    Iterator j =
-                        PomHelper.getChildModels( reactor, sourceGroupId, sourceArtifactId ).entrySet().iterator();
-
-                    while ( j.hasNext() )
+                    else
                     {
-                        Map.Entry target = (Map.Entry) j.next();
-                        String targetPath = (String) target.getKey();
-
-                        File moduleDir = new File( getProject().getBasedir(), targetPath );
-
-                        File moduleProjectFile;
-
-                        if ( moduleDir.isDirectory() )
-                        {
-                            moduleProjectFile = new File( moduleDir, "pom.xml" );
-                        }
-                        else
-                        {
-                            // i don't think this should ever happen... but just in case
-                            // the module references the file-name
-                            moduleProjectFile = moduleDir;
-                        }
-
-                        Model targetModel = (Model) target.getValue();
-                        final Parent parent = targetModel.getParent();
-                        if ( sourceVersion.equals( parent.getVersion() ) )
-                        {
-                            getLog().debug( "Module: " + targetPath + " parent is " +
-                                                ArtifactUtils.versionlessKey( sourceGroupId, sourceArtifactId ) + ":"
-                                                + sourceVersion );
-                        }
-                        else
-                        {
-                            getLog().info( "Module: " + targetPath );
-                            getLog().info(
-                                "    parent was " + ArtifactUtils.versionlessKey( sourceGroupId, sourceArtifactId ) +
-                                    ":" + parent.getVersion() );
-                            getLog().info(
-                                "    updated to " + ArtifactUtils.versionlessKey( sourceGroupId, sourceArtifactId ) +
-                                    ":" + sourceVersion );
-                            process( moduleProjectFile );
-                            // don't forget to update the cached model
-                            targetModel.setVersion( sourceVersion );
-                            didSomething = true;
-                        }
+                        parentUpdates.put( moduleProjectFile, new ParentUpdate(
+                            targetPath, ArtifactUtils.versionlessKey( sourceGroupId, sourceArtifactId ),
+                            parent.getVersion(), sourceVersion ) );
+                        files.add( moduleProjectFile );
+                        // don't forget to update the cached model
+                        targetModel.setVersion( sourceVersion );
+                        didSomething = true;
                     }
                 }
             }
 
+            // now process all the updates
+            process( files );
         }
         catch ( IOException e )
         {
@@ -198,6 +195,23 @@ public class UpdateChildModulesMojo
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    protected void process( File outFile )
+        throws MojoExecutionException, MojoFailureException
+    {
+        currentUpdate.set( parentUpdates.get( outFile ) );
+        try
+        {
+            super.process( outFile );
+        }
+        finally
+        {
+            currentUpdate.remove();
+        }
+    }
+
     /**
      * Updates the pom file.
      *
@@ -206,15 +220,47 @@ public class UpdateChildModulesMojo
      * @throws MojoFailureException   when things go wrong.
      * @throws XMLStreamException     when things go wrong.
      */
-    protected synchronized void update( ModifiedPomXMLEventReader pom )
+    protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
-        getLog().debug( "Updating parent to " + sourceVersion );
+        final ParentUpdate update = currentUpdate.get();
+        if ( update == null )
+        {
+            return;
+        }
 
-        if ( PomHelper.setProjectParentVersion( pom, sourceVersion ) )
+        getLog().info( "Module: " + update.path );
+        getLog().info( "    parent was " + update.parent + ":" + update.oldVersion );
+        getLog().info( "    updated to " + update.parent + ":" + update.newVersion );
+
+        if ( PomHelper.setProjectParentVersion( pom, update.newVersion ) )
         {
-            getLog().debug( "Made an update to " + sourceVersion );
+            getLog().debug( "Made an update to " + update.newVersion );
         }
     }
 
+    /**
+     * The update of the parent version of a module.
+     */
+    private static final class ParentUpdate
+    {
+        private final String path;
+
+        /**
+         * The versionless key of the parent.
+         */
+        private final String parent;
+
+        private final String oldVersion;
+
+        private final String newVersion;
+
+        ParentUpdate( String path, String parent, String oldVersion, String newVersion )
+        {
+            this.path = path;
+            this.parent = parent;
+            this.oldVersion = oldVersion;
+            this.newVersion = newVersion;
+        }
+    }
 }
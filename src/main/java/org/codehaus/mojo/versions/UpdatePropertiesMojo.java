@@ -22,6 +22,7 @@ package org.codehaus.mojo.versions;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactAssociation;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.api.PropertyVersions;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
@@ -93,6 +94,7 @@ public class UpdatePropertiesMojo
         Map<Property, PropertyVersions> propertyVersions =
             this.getHelper().getVersionPropertiesMap( getProject(), properties, includeProperties, excludeProperties,
                                                       !Boolean.FALSE.equals( autoLinkItems ) );
+        PomEdits edits = new PomEdits();
         for ( Map.Entry<Property, PropertyVersions> entry : propertyVersions.entrySet() )
         {
             Property property = entry.getKey();
@@ -120,10 +122,11 @@ public class UpdatePropertiesMojo
 
             if ( canUpdateProperty )
             {
-                updatePropertyToNewestVersion( pom, property, version, currentVersion );
+                updatePropertyToNewestVersion( edits, property, version, currentVersion );
             }
 
         }
+        applyEdits( pom, edits );
     }
 
 }
\ No newline at end of file
@@ -29,7 +29,7 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
 import javax.xml.stream.XMLStreamException;
@@ -86,6 +86,22 @@ public class UseLatestReleasesMojo
 
     // ------------------------------ METHODS --------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpVersionsOf( Dependency dependency )
+    {
+        return !matchSnapshotRegex.matcher( dependency.getVersion() ).matches();
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException
@@ -99,16 +115,18 @@ public class UseLatestReleasesMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
+        PomEdits edits = new PomEdits();
         try
         {
             if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
             {
-                useLatestReleases( pom, getProject().getDependencyManagement().getDependencies() );
+                useLatestReleases( edits, getProject().getDependencyManagement().getDependencies() );
             }
             if ( isProcessingDependencies() )
             {
-                useLatestReleases( pom, getProject().getDependencies() );
+                useLatestReleases( edits, getProject().getDependencies() );
             }
+            applyEdits( pom, edits );
         }
         catch ( ArtifactMetadataRetrievalException e )
         {
@@ -116,8 +134,8 @@ public class UseLatestReleasesMojo
         }
     }
 
-    private void useLatestReleases( ModifiedPomXMLEventReader pom, Collection dependencies )
-        throws XMLStreamException, MojoExecutionException, ArtifactMetadataRetrievalException
+    private void useLatestReleases( PomEdits edits, Collection dependencies )
+        throws MojoExecutionException, ArtifactMetadataRetrievalException
     {
         int segment = determineUnchangedSegment( allowMajorUpdates, allowMinorUpdates, allowIncrementalUpdates );
 
@@ -150,11 +168,8 @@ public class UseLatestReleasesMojo
                 if ( newer.length > 0 )
                 {
                     String newVersion = newer[newer.length - 1].toString();
-                    if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version,
-                                                         newVersion ) )
-                    {
-                        getLog().info( "Updated " + toString( dep ) + " to version " + newVersion );
-                    }
+                    edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version, newVersion )
+                        .describedAs( "Updated " + toString( dep ) + " to version " + newVersion );
                 }
             }
         }
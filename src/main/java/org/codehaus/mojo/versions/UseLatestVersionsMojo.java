@@ -26,7 +26,7 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
 import javax.xml.stream.XMLStreamException;
@@ -71,6 +71,14 @@ public class UseLatestVersionsMojo
 
     // ------------------------------ METHODS --------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        return true;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException
@@ -84,16 +92,18 @@ public class UseLatestVersionsMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
+        PomEdits edits = new PomEdits();
         try
         {
             if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
             {
-                useLatestVersions( pom, getProject().getDependencyManagement().getDependencies() );
+                useLatestVersions( edits, getProject().getDependencyManagement().getDependencies() );
             }
             if ( isProcessingDependencies() )
             {
-                useLatestVersions( pom, getProject().getDependencies() );
+                useLatestVersions( edits, getProject().getDependencies() );
             }
+            applyEdits( pom, edits );
         }
         catch ( ArtifactMetadataRetrievalException e )
         {
@@ -101,8 +111,8 @@ public class UseLatestVersionsMojo
         }
     }
 
-    private void useLatestVersions( ModifiedPomXMLEventReader pom, Collection dependencies )
-        throws XMLStreamException, MojoExecutionException, ArtifactMetadataRetrievalException
+    private void useLatestVersions( PomEdits edits, Collection dependencies )
+        throws MojoExecutionException, ArtifactMetadataRetrievalException
     {
         int segment = determineUnchangedSegment( allowMajorUpdates, allowMinorUpdates, allowIncrementalUpdates );
         Iterator i = dependencies.iterator();
@@ -131,10 +141,8 @@ public class UseLatestVersionsMojo
             if ( newer.length > 0 )
             {
                 String newVersion = newer[newer.length - 1].toString();
-                if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version, newVersion ) )
-                {
-                    getLog().info( "Updated " + toString( dep ) + " to version " + newVersion );
-                }
+                edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version, newVersion )
+                    .describedAs( "Updated " + toString( dep ) + " to version " + newVersion );
             }
         }
     }
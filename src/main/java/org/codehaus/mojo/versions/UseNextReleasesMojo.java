@@ -26,7 +26,7 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
 import javax.xml.stream.XMLStreamException;
@@ -57,6 +57,22 @@ public class UseNextReleasesMojo
 
     // ------------------------------ METHODS --------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpVersionsOf( Dependency dependency )
+    {
+        return !matchSnapshotRegex.matcher( dependency.getVersion() ).matches();
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException
@@ -70,18 +86,20 @@ public class UseNextReleasesMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException, ArtifactMetadataRetrievalException
     {
+        PomEdits edits = new PomEdits();
         if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
         {
-            useNextReleases( pom, getProject().getDependencyManagement().getDependencies() );
+            useNextReleases( edits, getProject().getDependencyManagement().getDependencies() );
         }
         if ( isProcessingDependencies() )
         {
-            useNextReleases( pom, getProject().getDependencies() );
+            useNextReleases( edits, getProject().getDependencies() );
         }
+        applyEdits( pom, edits );
     }
 
-    private void useNextReleases( ModifiedPomXMLEventReader pom, Collection dependencies )
-        throws XMLStreamException, MojoExecutionException, ArtifactMetadataRetrievalException
+    private void useNextReleases( PomEdits edits, Collection dependencies )
+        throws MojoExecutionException, ArtifactMetadataRetrievalException
     {
         Iterator i = dependencies.iterator();
 
@@ -111,11 +129,8 @@ public class UseNextReleasesMojo
                 if ( newer.length > 0 )
                 {
                     String newVersion = newer[0].toString();
-                    if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version,
-                                                         newVersion ) )
-                    {
-                        getLog().info( "Updated " + toString( dep ) + " to version " + newVersion );
-                    }
+                    edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version, newVersion )
+                        .describedAs( "Updated " + toString( dep ) + " to version " + newVersion );
                 }
             }
         }
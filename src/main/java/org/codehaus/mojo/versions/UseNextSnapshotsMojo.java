@@ -27,7 +27,7 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.ordering.VersionComparator;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
@@ -84,6 +84,22 @@ public class UseNextSnapshotsMojo
 
     // ------------------------------ METHODS --------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpVersionsOf( Dependency dependency )
+    {
+        return !matchSnapshotRegex.matcher( dependency.getVersion() ).matches();
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException
@@ -97,16 +113,18 @@ public class UseNextSnapshotsMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
+        PomEdits edits = new PomEdits();
         try
         {
             if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
             {
-                useNextSnapshots( pom, getProject().getDependencyManagement().getDependencies() );
+                useNextSnapshots( edits, getProject().getDependencyManagement().getDependencies() );
             }
             if ( isProcessingDependencies() )
             {
-                useNextSnapshots( pom, getProject().getDependencies() );
+                useNextSnapshots( edits, getProject().getDependencies() );
             }
+            applyEdits( pom, edits );
         }
         catch ( ArtifactMetadataRetrievalException e )
         {
@@ -114,8 +132,8 @@ public class UseNextSnapshotsMojo
         }
     }
 
-    private void useNextSnapshots( ModifiedPomXMLEventReader pom, Collection dependencies )
-        throws XMLStreamException, MojoExecutionException, ArtifactMetadataRetrievalException
+    private void useNextSnapshots( PomEdits edits, Collection dependencies )
+        throws MojoExecutionException, ArtifactMetadataRetrievalException
     {
         int segment = determineUnchangedSegment( allowMajorUpdates, allowMinorUpdates, allowIncrementalUpdates );
 
@@ -160,11 +178,8 @@ public class UseNextSnapshotsMojo
                     String newVersion = newer[j].toString();
                     if ( matchSnapshotRegex.matcher( newVersion ).matches() )
                     {
-                        if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version,
-                                                             newVersion ) )
-                        {
-                            getLog().info( "Updated " + toString( dep ) + " to version " + newVersion );
-                        }
+                        edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version, newVersion )
+                            .describedAs( "Updated " + toString( dep ) + " to version " + newVersion );
                         break;
                     }
                 }
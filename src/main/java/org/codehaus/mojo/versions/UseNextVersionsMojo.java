@@ -26,7 +26,7 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
-import org.codehaus.mojo.versions.api.PomHelper;
+import org.codehaus.mojo.versions.api.PomEdits;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 
 import javax.xml.stream.XMLStreamException;
@@ -48,6 +48,15 @@ public class UseNextVersionsMojo
 
     // ------------------------------ METHODS --------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isLookingUpDependencyVersions()
+    {
+        // the versions are looked up in the plugin repositories when snapshots are allowed
+        return !Boolean.TRUE.equals( allowSnapshots );
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException
@@ -61,16 +70,18 @@ public class UseNextVersionsMojo
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException
     {
+        PomEdits edits = new PomEdits();
         try
         {
             if ( getProject().getDependencyManagement() != null && isProcessingDependencyManagement() )
             {
-                useNextVersions( pom, getProject().getDependencyManagement().getDependencies() );
+                useNextVersions( edits, getProject().getDependencyManagement().getDependencies() );
             }
             if ( isProcessingDependencies() )
             {
-                useNextVersions( pom, getProject().getDependencies() );
+                useNextVersions( edits, getProject().getDependencies() );
             }
+            applyEdits( pom, edits );
         }
         catch ( ArtifactMetadataRetrievalException e )
         {
@@ -78,8 +89,8 @@ public class UseNextVersionsMojo
         }
     }
 
-    private void useNextVersions( ModifiedPomXMLEventReader pom, Collection dependencies )
-        throws XMLStreamException, MojoExecutionException, ArtifactMetadataRetrievalException
+    private void useNextVersions( PomEdits edits, Collection dependencies )
+        throws MojoExecutionException, ArtifactMetadataRetrievalException
     {
         Iterator i = dependencies.iterator();
 
@@ -107,10 +118,8 @@ public class UseNextVersionsMojo
             if ( newer.length > 0 )
             {
                 String newVersion = newer[0].toString();
-                if ( PomHelper.setDependencyVersion( pom, dep.getGroupId(), dep.getArtifactId(), version, newVersion ) )
-                {
-                    getLog().info( "Updated " + toString( dep ) + " to version " + newVersion );
-                }
+                edits.setDependencyVersion( dep.getGroupId(), dep.getArtifactId(), version, newVersion )
+                    .describedAs( "Updated " + toString( dep ) + " to version " + newVersion );
             }
         }
     }
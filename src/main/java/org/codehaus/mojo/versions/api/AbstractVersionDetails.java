@@ -19,16 +19,13 @@ package org.codehaus.mojo.versions.api;
 * under the License.
 */
 
-import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.codehaus.mojo.versions.ordering.VersionComparator;
 
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Base class for {@link org.codehaus.mojo.versions.api.VersionDetails}.
@@ -184,40 +181,17 @@ public abstract class AbstractVersionDetails
                                                    ArtifactVersion upperBound, boolean includeSnapshots,
                                                    boolean includeLower, boolean includeUpper )
     {
-        ArtifactVersion latest = null;
         final VersionComparator versionComparator = getVersionComparator();
-        Iterator i = Arrays.asList( getVersions( includeSnapshots ) ).iterator();
-        while ( i.hasNext() )
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        final int from = lowerIndex( versions, versionComparator, lowerBound, includeLower );
+        for ( int i = upperIndex( versions, versionComparator, upperBound, includeUpper ) - 1; i >= from; i-- )
         {
-            ArtifactVersion candidate = (ArtifactVersion) i.next();
-            if ( versionRange != null && !ArtifactVersions.isVersionInRange( candidate, versionRange ) )
+            if ( versionRange == null || ArtifactVersions.isVersionInRange( versions[i], versionRange ) )
             {
-                continue;
-            }
-            int lower = lowerBound == null ? -1 : versionComparator.compare( lowerBound, candidate );
-            int upper = upperBound == null ? +1 : versionComparator.compare( upperBound, candidate );
-            if ( lower > 0 || upper < 0 )
-            {
-                continue;
-            }
-            if ( ( !includeLower && lower == 0 ) || ( !includeUpper && upper == 0 ) )
-            {
-                continue;
-            }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
-            {
-                continue;
-            }
-            if ( latest == null )
-            {
-                latest = candidate;
-            }
-            else if ( versionComparator.compare( latest, candidate ) < 0 )
-            {
-                latest = candidate;
+                return versions[i];
             }
         }
-        return latest;
+        return null;
     }
 
     public final ArtifactVersion getNewestVersion( ArtifactVersion lowerBound, ArtifactVersion upperBound,
@@ -234,10 +208,8 @@ public abstract class AbstractVersionDetails
 
     public final boolean containsVersion( String version )
     {
-        Iterator i = Arrays.asList( getVersions( true ) ).iterator();
-        while ( i.hasNext() )
+        for ( ArtifactVersion candidate : getSortedVersions( true ) )
         {
-            ArtifactVersion candidate = (ArtifactVersion) i.next();
             if ( version.equals( candidate.toString() ) )
             {
                 return true;
@@ -283,40 +255,17 @@ public abstract class AbstractVersionDetails
                                                    ArtifactVersion upperBound, boolean includeSnapshots,
                                                    boolean includeLower, boolean includeUpper )
     {
-        ArtifactVersion oldest = null;
         final VersionComparator versionComparator = getVersionComparator();
-        Iterator i = Arrays.asList( getVersions( includeSnapshots ) ).iterator();
-        while ( i.hasNext() )
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        final int to = upperIndex( versions, versionComparator, upperBound, includeUpper );
+        for ( int i = lowerIndex( versions, versionComparator, lowerBound, includeLower ); i < to; i++ )
         {
-            ArtifactVersion candidate = (ArtifactVersion) i.next();
-            if ( versionRange != null && !ArtifactVersions.isVersionInRange( candidate, versionRange ) )
-            {
-                continue;
-            }
-            int lower = lowerBound == null ? -1 : versionComparator.compare( lowerBound, candidate );
-            int upper = upperBound == null ? +1 : versionComparator.compare( upperBound, candidate );
-            if ( lower > 0 || upper < 0 )
-            {
-                continue;
-            }
-            if ( ( !includeLower && lower == 0 ) || ( !includeUpper && upper == 0 ) )
-            {
-                continue;
-            }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
-            {
-                continue;
-            }
-            if ( oldest == null )
-            {
-                oldest = candidate;
-            }
-            else if ( versionComparator.compare( oldest, candidate ) > 0 )
+            if ( versionRange == null || ArtifactVersions.isVersionInRange( versions[i], versionRange ) )
             {
-                oldest = candidate;
+                return versions[i];
             }
         }
-        return oldest;
+        return null;
     }
 
     public final ArtifactVersion[] getVersions( ArtifactVersion lowerBound, ArtifactVersion upperBound,
@@ -329,32 +278,102 @@ public abstract class AbstractVersionDetails
                                                 ArtifactVersion upperBound, boolean includeSnapshots,
                                                 boolean includeLower, boolean includeUpper )
     {
-        Set<ArtifactVersion> result;
         final VersionComparator versionComparator = getVersionComparator();
-        result = new TreeSet<ArtifactVersion>( versionComparator );
-        for ( ArtifactVersion candidate : Arrays.asList( getVersions( includeSnapshots ) ) )
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        final int from = lowerIndex( versions, versionComparator, lowerBound, includeLower );
+        final int to = upperIndex( versions, versionComparator, upperBound, includeUpper );
+        if ( from >= to )
+        {
+            return new ArtifactVersion[0];
+        }
+        if ( versionRange == null )
+        {
+            final ArtifactVersion[] result = new ArtifactVersion[to - from];
+            System.arraycopy( versions, from, result, 0, result.length );
+            return result;
+        }
+        final List<ArtifactVersion> result = new ArrayList<ArtifactVersion>( to - from );
+        for ( int i = from; i < to; i++ )
         {
-            if ( versionRange != null && !ArtifactVersions.isVersionInRange( candidate, versionRange ) )
+            if ( ArtifactVersions.isVersionInRange( versions[i], versionRange ) )
             {
-                continue;
+                result.add( versions[i] );
             }
-            int lower = lowerBound == null ? -1 : versionComparator.compare( lowerBound, candidate );
-            int upper = upperBound == null ? +1 : versionComparator.compare( upperBound, candidate );
-            if ( lower > 0 || upper < 0 )
+        }
+        return result.toArray( new ArtifactVersion[result.size()] );
+    }
+
+    /**
+     * Returns the available versions in ascending order of the {@link #getVersionComparator()}, without duplicates.
+     * Unlike {@link #getVersions(boolean)} the array returned may be shared, so callers must not modify it. The range
+     * queries of this class binary search this array, so implementations that can hand out their internal state
+     * without copying should override this method.
+     *
+     * @param includeSnapshots Whether to include snapshot versions.
+     * @return the sorted versions, which must not be modified.
+     * @since 2.2
+     */
+    protected ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
+        return getVersions( includeSnapshots );
+    }
+
+    /**
+     * Returns the index of the first version that is above the lower bound (or equal to it when the lower bound is
+     * included).
+     */
+    private static int lowerIndex( ArtifactVersion[] versions, VersionComparator versionComparator,
+                                   ArtifactVersion lowerBound, boolean includeLower )
+    {
+        if ( lowerBound == null )
+        {
+            return 0;
+        }
+        int low = 0;
+        int high = versions.length;
+        while ( low < high )
+        {
+            final int mid = ( low + high ) >>> 1;
+            final int c = versionComparator.compare( lowerBound, versions[mid] );
+            if ( c < 0 || ( c == 0 && includeLower ) )
             {
-                continue;
+                high = mid;
             }
-            if ( ( !includeLower && lower == 0 ) || ( !includeUpper && upper == 0 ) )
+            else
+            {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index after the last version that is below the upper bound (or equal to it when the upper bound is
+     * included).
+     */
+    private static int upperIndex( ArtifactVersion[] versions, VersionComparator versionComparator,
+                                   ArtifactVersion upperBound, boolean includeUpper )
+    {
+        if ( upperBound == null )
+        {
+            return versions.length;
+        }
+        int low = 0;
+        int high = versions.length;
+        while ( low < high )
+        {
+            final int mid = ( low + high ) >>> 1;
+            final int c = versionComparator.compare( upperBound, versions[mid] );
+            if ( c > 0 || ( c == 0 && includeUpper ) )
             {
-                continue;
+                low = mid + 1;
             }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
+            else
             {
-                continue;
+                high = mid;
             }
-            result.add( candidate );
         }
-        return result.toArray( new ArtifactVersion[result.size()] );
+        return low;
     }
 
     public final ArtifactVersion getOldestUpdate( ArtifactVersion currentVersion, UpdateScope updateScope )
@@ -494,4 +513,69 @@ public abstract class AbstractVersionDetails
     {
         return getVersions( versionRange, getCurrentVersion(), null, includeSnapshots, false, true );
     }
+
+    public final UpdateSummary getUpdateSummary()
+    {
+        return getUpdateSummary( isIncludeSnapshots() );
+    }
+
+    public final UpdateSummary getUpdateSummary( boolean includeSnapshots )
+    {
+        final ArtifactVersion currentVersion = getCurrentVersion();
+        if ( currentVersion == null )
+        {
+            final int scopes = UpdateScope.values().length;
+            return new UpdateSummary( new ArtifactVersion[scopes], new ArtifactVersion[scopes] );
+        }
+        return getUpdateSummary( currentVersion, includeSnapshots );
+    }
+
+    /**
+     * Computes the same bounds as the {@link UpdateScope} constants, but increments each segment of the current
+     * version only once and locates every scope in the sorted versions by binary search.
+     */
+    public final UpdateSummary getUpdateSummary( ArtifactVersion currentVersion, boolean includeSnapshots )
+    {
+        final VersionComparator versionComparator = getVersionComparator();
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        final int segmentCount = versionComparator.getSegmentCount( currentVersion );
+        final ArtifactVersion major = segmentCount < 1 ? null : versionComparator.incrementSegment( currentVersion, 0 );
+        final ArtifactVersion minor = segmentCount < 2 ? null : versionComparator.incrementSegment( currentVersion, 1 );
+        final ArtifactVersion incremental =
+            segmentCount < 3 ? null : versionComparator.incrementSegment( currentVersion, 2 );
+
+        final int scopes = UpdateScope.values().length;
+        final ArtifactVersion[] oldest = new ArtifactVersion[scopes];
+        final ArtifactVersion[] newest = new ArtifactVersion[scopes];
+        if ( incremental != null )
+        {
+            summarize( versions, versionComparator, UpdateScope.SUBINCREMENTAL, currentVersion, false, incremental,
+                       oldest, newest );
+            summarize( versions, versionComparator, UpdateScope.INCREMENTAL, incremental, true, minor, oldest,
+                       newest );
+        }
+        if ( minor != null )
+        {
+            summarize( versions, versionComparator, UpdateScope.MINOR, minor, true, major, oldest, newest );
+        }
+        if ( major != null )
+        {
+            summarize( versions, versionComparator, UpdateScope.MAJOR, major, true, null, oldest, newest );
+        }
+        summarize( versions, versionComparator, UpdateScope.ANY, currentVersion, false, null, oldest, newest );
+        return new UpdateSummary( oldest, newest );
+    }
+
+    private static void summarize( ArtifactVersion[] versions, VersionComparator versionComparator,
+                                   UpdateScope updateScope, ArtifactVersion lowerBound, boolean includeLower,
+                                   ArtifactVersion upperBound, ArtifactVersion[] oldest, ArtifactVersion[] newest )
+    {
+        final int from = lowerIndex( versions, versionComparator, lowerBound, includeLower );
+        final int to = upperIndex( versions, versionComparator, upperBound, false );
+        if ( from < to )
+        {
+            oldest[updateScope.ordinal()] = versions[from];
+            newest[updateScope.ordinal()] = versions[to - 1];
+        }
+    }
 }
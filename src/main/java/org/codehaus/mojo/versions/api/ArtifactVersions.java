@@ -26,8 +26,9 @@ import org.apache.maven.artifact.versioning.Restriction;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.codehaus.mojo.versions.ordering.VersionComparator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -48,11 +49,18 @@ public class ArtifactVersions
     private final Artifact artifact;
 
     /**
-     * The available versions.
+     * The available versions, in ascending order.
      *
      * @since 1.0-alpha-3
      */
-    private final SortedSet<ArtifactVersion> versions;
+    private final ArtifactVersion[] versions;
+
+    /**
+     * The available versions which are not snapshots, in ascending order.
+     *
+     * @since 2.2
+     */
+    private final ArtifactVersion[] releases;
 
     /**
      * The version comparison rule that is used for this artifact.
@@ -73,8 +81,18 @@ public class ArtifactVersions
     {
         this.artifact = artifact;
         this.versionComparator = versionComparator;
-        this.versions = new TreeSet<ArtifactVersion>( versionComparator );
-        this.versions.addAll( versions );
+        final SortedSet<ArtifactVersion> sorted = new TreeSet<ArtifactVersion>( versionComparator );
+        sorted.addAll( versions );
+        this.versions = sorted.toArray( new ArtifactVersion[sorted.size()] );
+        final List<ArtifactVersion> releases = new ArrayList<ArtifactVersion>( sorted.size() );
+        for ( ArtifactVersion candidate : this.versions )
+        {
+            if ( !ArtifactUtils.isSnapshot( candidate.toString() ) )
+            {
+                releases.add( candidate );
+            }
+        }
+        this.releases = releases.toArray( new ArtifactVersion[releases.size()] );
         if ( artifact.getVersion() != null )
         {
             setCurrentVersion( artifact.getVersion() );
@@ -157,24 +175,12 @@ public class ArtifactVersions
 
     public ArtifactVersion[] getVersions( boolean includeSnapshots )
     {
-        Set<ArtifactVersion> result;
-        if ( includeSnapshots )
-        {
-            result = versions;
-        }
-        else
-        {
-            result = new TreeSet<ArtifactVersion>( versionComparator );
-            for ( ArtifactVersion candidate : versions )
-            {
-                if ( ArtifactUtils.isSnapshot( candidate.toString() ) )
-                {
-                    continue;
-                }
-                result.add( candidate );
-            }
-        }
-        return result.toArray( new ArtifactVersion[result.size()] );
+        return getSortedVersions( includeSnapshots ).clone();
+    }
+
+    protected ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
+        return includeSnapshots ? versions : releases;
     }
 
     public VersionComparator getVersionComparator()
@@ -190,7 +196,7 @@ public class ArtifactVersions
         final StringBuilder sb = new StringBuilder();
         sb.append( "ArtifactVersions" );
         sb.append( "{artifact=" ).append( artifact );
-        sb.append( ", versions=" ).append( versions );
+        sb.append( ", versions=" ).append( Arrays.asList( versions ) );
         sb.append( ", versionComparator=" ).append( versionComparator );
         sb.append( '}' );
         return sb.toString();
@@ -0,0 +1,326 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.metadata.ArtifactRepositoryMetadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.mojo.versions.utils.CacheFiles;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A persistent cache of the versions available for an artifact in each remote repository. Entries are keyed by
+ * <code>groupId:artifactId</code> and repository id and are stored as small property files under the local
+ * repository, so that repeated invocations only go to the network for entries that are older than the maximum age.
+ * Only the versions listed by the metadata of the remote repository itself are cached, the versions installed in the
+ * local repository are looked up afresh every time.
+ *
+ * @since 2.2
+ */
+public class ArtifactVersionsCache
+{
+    private static final String LAST_UPDATED = "lastUpdated";
+
+    private static final String VERSIONS = "versions";
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * The directory holding the cache entries.
+     *
+     * @since 2.2
+     */
+    private final File basedir;
+
+    /**
+     * The maximum age of a cache entry in milliseconds.
+     *
+     * @since 2.2
+     */
+    private final long maxAge;
+
+    /**
+     * When <code>true</code> entries are used whatever their age and are never written. Missing entries are still
+     * looked up through the artifact metadata source, which is expected not to go to the network in that case (as
+     * when Maven is offline).
+     *
+     * @since 2.2
+     */
+    private final boolean cacheOnly;
+
+    /**
+     * When <code>true</code> every entry is considered stale and is retrieved again.
+     *
+     * @since 2.2
+     */
+    private final boolean refresh;
+
+    /**
+     * The {@link Log} to send log messages to.
+     *
+     * @since 2.2
+     */
+    private final Log log;
+
+    /**
+     * Creates a new {@link ArtifactVersionsCache}.
+     *
+     * @param basedir   The directory to store the cache entries in.
+     * @param maxAge    The maximum age of a cache entry in minutes.
+     * @param cacheOnly <code>true</code> if the cache should be used whatever the age of its entries.
+     * @param refresh   <code>true</code> if all entries should be retrieved again.
+     * @param log       The {@link Log} to send log messages to.
+     * @since 2.2
+     */
+    public ArtifactVersionsCache( File basedir, long maxAge, boolean cacheOnly, boolean refresh, Log log )
+    {
+        this.basedir = basedir;
+        this.maxAge = maxAge * 60L * 1000L;
+        this.cacheOnly = cacheOnly;
+        this.refresh = refresh;
+        this.log = log;
+    }
+
+    /**
+     * Returns the default location of the cache for the specified local repository.
+     *
+     * @param localRepository The local repository.
+     * @return the directory that holds the cache entries.
+     * @since 2.2
+     */
+    public static File getDefaultCacheDirectory( ArtifactRepository localRepository )
+    {
+        return new File( localRepository.getBasedir(), ".cache/versions-maven-plugin/metadata" );
+    }
+
+    /**
+     * Retrieves the versions available for the artifact, consulting the remote repositories only for those
+     * repositories whose cache entry is missing or stale.
+     *
+     * @param artifactMetadataSource The artifact metadata source to use for stale entries.
+     * @param artifact               The artifact.
+     * @param localRepository        The local repository.
+     * @param remoteRepositories     The remote repositories.
+     * @return the versions available for the artifact.
+     * @throws ArtifactMetadataRetrievalException if the metadata of a stale entry could not be retrieved.
+     * @since 2.2
+     */
+    public List<ArtifactVersion> retrieveAvailableVersions( ArtifactMetadataSource artifactMetadataSource,
+                                                            Artifact artifact, ArtifactRepository localRepository,
+                                                            List remoteRepositories )
+        throws ArtifactMetadataRetrievalException
+    {
+        if ( remoteRepositories == null || remoteRepositories.isEmpty() )
+        {
+            // nothing remote to cache
+            return artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository, remoteRepositories );
+        }
+        final String key = ArtifactUtils.versionlessKey( artifact );
+        final Map<String, ArtifactVersion> result = new LinkedHashMap<String, ArtifactVersion>();
+        boolean cached = false;
+        for ( Object remoteRepository : remoteRepositories )
+        {
+            final ArtifactRepository repository = (ArtifactRepository) remoteRepository;
+            final File entry = getEntryFile( artifact, repository );
+            final List<String> versions = refresh && !cacheOnly ? null : readEntry( entry );
+            if ( versions != null )
+            {
+                log.debug( "Using cached versions of " + key + " from " + repository.getId() );
+                for ( String version : versions )
+                {
+                    add( result, new DefaultArtifactVersion( version ) );
+                }
+                cached = true;
+                continue;
+            }
+            log.debug( "Retrieving versions of " + key + " from " + repository.getId() );
+            // this also returns the versions in the local repository, which is why the entry is taken from the
+            // metadata of the remote repository instead
+            addAll( result, artifactMetadataSource.retrieveAvailableVersions(
+                artifact, localRepository, Collections.singletonList( repository ) ) );
+            if ( !cacheOnly )
+            {
+                final List<String> remoteVersions = readRemoteVersions( artifact, localRepository, repository );
+                if ( remoteVersions != null )
+                {
+                    writeEntry( entry, remoteVersions );
+                }
+            }
+        }
+        if ( cached )
+        {
+            addAll( result, artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository,
+                                                                              Collections.emptyList() ) );
+        }
+        return new ArrayList<ArtifactVersion>( result.values() );
+    }
+
+    private static void addAll( Map<String, ArtifactVersion> result, List<ArtifactVersion> versions )
+    {
+        for ( ArtifactVersion version : versions )
+        {
+            add( result, version );
+        }
+    }
+
+    private static void add( Map<String, ArtifactVersion> result, ArtifactVersion version )
+    {
+        if ( !result.containsKey( version.toString() ) )
+        {
+            result.put( version.toString(), version );
+        }
+    }
+
+    /**
+     * Reads the versions listed by the metadata of a remote repository, as last downloaded into the local repository.
+     *
+     * @return the versions, or <code>null</code> if the metadata could not be read.
+     */
+    private List<String> readRemoteVersions( Artifact artifact, ArtifactRepository localRepository,
+                                             ArtifactRepository repository )
+    {
+        if ( localRepository == null )
+        {
+            return null;
+        }
+        final File file = new File( localRepository.getBasedir(), localRepository.pathOfLocalRepositoryMetadata(
+            new ArtifactRepositoryMetadata( artifact ), repository ) );
+        if ( !file.isFile() )
+        {
+            // the repository has no metadata for the artifact
+            return Collections.emptyList();
+        }
+        Reader reader = null;
+        try
+        {
+            reader = ReaderFactory.newXmlReader( file );
+            final Versioning versioning = new MetadataXpp3Reader().read( reader, false ).getVersioning();
+            return versioning == null ? Collections.<String>emptyList() : versioning.getVersions();
+        }
+        catch ( IOException e )
+        {
+            log.debug( "Could not read " + file + ": " + e.getMessage() );
+            return null;
+        }
+        catch ( XmlPullParserException e )
+        {
+            log.debug( "Could not parse " + file + ": " + e.getMessage() );
+            return null;
+        }
+        finally
+        {
+            IOUtil.close( reader );
+        }
+    }
+
+    private File getEntryFile( Artifact artifact, ArtifactRepository repository )
+    {
+        return new File( new File( new File( basedir, artifact.getGroupId() ), artifact.getArtifactId() ),
+                         sanitize( repository.getId() ) + ".properties" );
+    }
+
+    private static String sanitize( String id )
+    {
+        final StringBuilder buf = new StringBuilder( id.length() );
+        for ( int i = 0; i < id.length(); i++ )
+        {
+            char c = id.charAt( i );
+            buf.append( Character.isLetterOrDigit( c ) || c == '.' || c == '-' || c == '_' ? c : '_' );
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Reads a cache entry.
+     *
+     * @param entry The entry file.
+     * @return the cached versions or <code>null</code> if the entry is missing, stale or unreadable.
+     */
+    private List<String> readEntry( File entry )
+    {
+        if ( !entry.isFile() )
+        {
+            return null;
+        }
+        final Properties properties = CacheFiles.readProperties( entry );
+        if ( properties == null )
+        {
+            log.debug( "Could not read cache entry " + entry );
+            return null;
+        }
+        final long lastUpdated;
+        try
+        {
+            lastUpdated = Long.parseLong( properties.getProperty( LAST_UPDATED, "0" ) );
+        }
+        catch ( NumberFormatException e )
+        {
+            return null;
+        }
+        if ( !cacheOnly && System.currentTimeMillis() - lastUpdated > maxAge )
+        {
+            return null;
+        }
+        final List<String> versions = new ArrayList<String>();
+        for ( String version : StringUtils.split( properties.getProperty( VERSIONS, "" ), SEPARATOR ) )
+        {
+            versions.add( version.trim() );
+        }
+        return versions;
+    }
+
+    /**
+     * Writes a cache entry.
+     *
+     * @param entry    The entry file.
+     * @param versions The versions to store.
+     */
+    private void writeEntry( File entry, List<String> versions )
+    {
+        final Properties properties = new Properties();
+        properties.setProperty( LAST_UPDATED, Long.toString( System.currentTimeMillis() ) );
+        properties.setProperty( VERSIONS, StringUtils.join( versions.iterator(), SEPARATOR ) );
+        if ( !CacheFiles.storeProperties( entry, properties ) )
+        {
+            log.debug( "Could not write cache entry " + entry );
+        }
+    }
+}
@@ -59,6 +59,7 @@ import org.codehaus.mojo.versions.ordering.VersionComparators;
 import org.codehaus.mojo.versions.utils.DependencyComparator;
 import org.codehaus.mojo.versions.utils.PluginComparator;
 import org.codehaus.mojo.versions.utils.RegexUtils;
+import org.codehaus.mojo.versions.utils.SingleFlight;
 import org.codehaus.mojo.versions.utils.VersionsExpressionEvaluator;
 import org.codehaus.mojo.versions.utils.WagonUtils;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
@@ -81,11 +82,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 /**
@@ -97,11 +96,20 @@ import java.util.regex.Pattern;
 public class DefaultVersionsHelper
     implements VersionsHelper
 {
-    private static final String TYPE_EXACT = "exact";
-
-    private static final String TYPE_REGEX = "regex";
+    /**
+     * The default number of threads used to look up versions in parallel.
+     *
+     * @since 2.2
+     */
+    public static final int LOOKUP_PARALLEL_THREADS = 5;
 
-    private static final int LOOKUP_PARALLEL_THREADS = 5;
+    /**
+     * The versions available for each artifact and set of repositories, shared by every helper in the same session.
+     *
+     * @since 2.2
+     */
+    private static final Map<Object, SingleFlight<List<ArtifactVersion>>> AVAILABLE_VERSIONS =
+        new WeakHashMap<Object, SingleFlight<List<ArtifactVersion>>>();
 
     /**
      * The artifact comparison rules to use.
@@ -110,6 +118,13 @@ public class DefaultVersionsHelper
      */
     private final RuleSet ruleSet;
 
+    /**
+     * The index used to find the best fitting rule for an artifact.
+     *
+     * @since 2.2
+     */
+    private final RuleIndex ruleIndex;
+
     /**
      * The artifact metadata source to use.
      *
@@ -173,6 +188,34 @@ public class DefaultVersionsHelper
      */
     private final ArtifactResolver artifactResolver;
 
+    /**
+     * The persistent cache of available versions, or <code>null</code> to always consult the remote repositories.
+     *
+     * @since 2.2
+     */
+    private ArtifactVersionsCache artifactVersionsCache;
+
+    /**
+     * The number of threads used to look up versions in parallel.
+     *
+     * @since 2.2
+     */
+    private int lookupThreads = LOOKUP_PARALLEL_THREADS;
+
+    /**
+     * The session scoped executor used to look up versions in parallel, created on first use.
+     *
+     * @since 2.2
+     */
+    private LookupExecutor lookupExecutor;
+
+    /**
+     * Coalesces lookups of the versions available for the same artifact from the same repositories.
+     *
+     * @since 2.2
+     */
+    private final SingleFlight<List<ArtifactVersion>> availableVersions;
+
     /**
      * Constructs a new {@link DefaultVersionsHelper}.
      *
@@ -204,11 +247,31 @@ public class DefaultVersionsHelper
         this.mavenSession = mavenSession;
         this.pathTranslator = pathTranslator;
         this.ruleSet = loadRuleSet( serverId, settings, wagonManager, rulesUri, log );
+        this.ruleIndex = new RuleIndex( ruleSet, log );
         this.artifactMetadataSource = artifactMetadataSource;
         this.localRepository = localRepository;
         this.remoteArtifactRepositories = remoteArtifactRepositories;
         this.remotePluginRepositories = remotePluginRepositories;
         this.log = log;
+        this.availableVersions = getAvailableVersions( mavenSession );
+    }
+
+    private static SingleFlight<List<ArtifactVersion>> getAvailableVersions( MavenSession mavenSession )
+    {
+        if ( mavenSession == null )
+        {
+            return new SingleFlight<List<ArtifactVersion>>();
+        }
+        synchronized ( AVAILABLE_VERSIONS )
+        {
+            SingleFlight<List<ArtifactVersion>> result = AVAILABLE_VERSIONS.get( mavenSession );
+            if ( result == null )
+            {
+                result = new SingleFlight<List<ArtifactVersion>>();
+                AVAILABLE_VERSIONS.put( mavenSession, result );
+            }
+            return result;
+        }
     }
 
     private static RuleSet getRuleSet( Wagon wagon, String remoteURI )
@@ -379,58 +442,76 @@ public class DefaultVersionsHelper
         return log;
     }
 
+    /**
+     * Sets the persistent cache of available versions to use when looking up artifact versions.
+     *
+     * @param artifactVersionsCache the cache or <code>null</code> to always consult the remote repositories.
+     * @since 2.2
+     */
+    public void setArtifactVersionsCache( ArtifactVersionsCache artifactVersionsCache )
+    {
+        this.artifactVersionsCache = artifactVersionsCache;
+    }
+
+    /**
+     * Sets the number of threads used to look up versions in parallel.
+     *
+     * @param lookupThreads the number of threads.
+     * @since 2.2
+     */
+    public void setLookupThreads( int lookupThreads )
+    {
+        this.lookupThreads = lookupThreads;
+    }
+
+    /**
+     * Returns the executor used to look up versions in parallel. The executor is shared with every other helper
+     * created for the same session.
+     *
+     * @return the lookup executor.
+     * @since 2.2
+     */
+    public synchronized LookupExecutor getLookupExecutor()
+    {
+        if ( lookupExecutor == null )
+        {
+            lookupExecutor = LookupExecutor.getInstance( mavenSession, lookupThreads );
+        }
+        return lookupExecutor;
+    }
+
     /**
      * {@inheritDoc}
      */
     public ArtifactVersions lookupArtifactVersions( Artifact artifact, boolean usePluginRepositories )
         throws ArtifactMetadataRetrievalException
     {
-        List remoteRepositories = usePluginRepositories ? remotePluginRepositories : remoteArtifactRepositories;
+        final List remoteRepositories = usePluginRepositories ? remotePluginRepositories : remoteArtifactRepositories;
         final List<ArtifactVersion> versions =
-            artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository, remoteRepositories );
-        final List<IgnoreVersion> ignoredVersions = getIgnoredVersions( artifact );
+            new ArrayList<ArtifactVersion>( retrieveAvailableVersions( artifact, remoteRepositories ) );
+        final IgnoreVersionsMatcher ignoredVersions =
+            ruleIndex.getIgnoreVersionsMatcher( getBestFitRule( artifact.getGroupId(), artifact.getArtifactId() ) );
         if ( !ignoredVersions.isEmpty() )
         {
             if ( getLog().isDebugEnabled() )
             {
-                getLog().debug( "Found ignored versions: " + showIgnoredVersions( ignoredVersions ) );
+                getLog().debug(
+                    "Found ignored versions: " + showIgnoredVersions( ignoredVersions.getIgnoreVersions() ) );
             }
 
             final Iterator<ArtifactVersion> i = versions.iterator();
             while ( i.hasNext() )
             {
                 final String version = i.next().toString();
-                for ( final IgnoreVersion ignoreVersion : ignoredVersions )
+                if ( ignoredVersions.matches( version ) )
                 {
-                    if ( TYPE_REGEX.equals( ignoreVersion.getType() ) )
+                    if ( getLog().isDebugEnabled() )
                     {
-                        Pattern p = Pattern.compile( ignoreVersion.getVersion() );
-                        if ( p.matcher( version ).matches() )
-                        {
-                            if ( getLog().isDebugEnabled() )
-                            {
-                                getLog().debug(
-                                    "Version " + version + " for artifact " + ArtifactUtils.versionlessKey( artifact )
-                                        + " found on ignore list: " + ignoreVersion );
-                            }
-                            i.remove();
-                            break;
-                        }
-                    }
-                    else if ( TYPE_EXACT.equals( ignoreVersion.getType() ) )
-                    {
-                        if ( version.equals( ignoreVersion.getVersion() ) )
-                        {
-                            if ( getLog().isDebugEnabled() )
-                            {
-                                getLog().debug(
-                                    "Version " + version + " for artifact " + ArtifactUtils.versionlessKey( artifact )
-                                        + " found on ignore list: " + ignoreVersion );
-                            }
-                            i.remove();
-                            break;
-                        }
+                        getLog().debug(
+                            "Version " + version + " for artifact " + ArtifactUtils.versionlessKey( artifact )
+                                + " found on ignore list: " + ignoredVersions.findMatch( version ) );
                     }
+                    i.remove();
                 }
             }
         }
@@ -438,49 +519,98 @@ public class DefaultVersionsHelper
     }
 
     /**
-     * Returns a list of versions which should not be considered when looking
-     * for updates.
-     *
-     * @param artifact The artifact
-     * @return List of ignored version
+     * {@inheritDoc}
      */
-    private List<IgnoreVersion> getIgnoredVersions( Artifact artifact )
+    public Map<Artifact, ArtifactVersions> lookupArtifactVersions( Collection<Artifact> artifacts,
+                                                                   boolean usePluginRepositories )
+        throws ArtifactMetadataRetrievalException
     {
-        final List<IgnoreVersion> ret = new ArrayList<IgnoreVersion>();
+        final List<Callable<ArtifactVersions>> requestsForDetails =
+            new ArrayList<Callable<ArtifactVersions>>( artifacts.size() );
+        for ( final Artifact artifact : artifacts )
+        {
+            requestsForDetails.add( new ArtifactLookup( artifact, usePluginRepositories ) );
+        }
 
-        for ( final IgnoreVersion ignoreVersion : ruleSet.getIgnoreVersions() )
+        final Map<Artifact, ArtifactVersions> artifactVersions = new LinkedHashMap<Artifact, ArtifactVersions>();
+        try
         {
-            if ( !TYPE_EXACT.equals( ignoreVersion.getType() ) && !TYPE_REGEX.equals( ignoreVersion.getType() ) )
+            final List<ArtifactVersions> responseForDetails = getLookupExecutor().invokeAll( requestsForDetails );
+            for ( final ArtifactVersions details : responseForDetails )
             {
-                getLog().warn(
-                    "The type attribute '" + ignoreVersion.getType() + "' for global ignoreVersion[" + ignoreVersion
-                        + "] is not valid." + " Please use either '" + TYPE_EXACT + "' or '" + TYPE_REGEX + "'." );
+                artifactVersions.put( details.getArtifact(), details );
             }
-            else
+        }
+        catch ( final ExecutionException ee )
+        {
+            if ( ee.getCause() instanceof ArtifactMetadataRetrievalException )
             {
-                ret.add( ignoreVersion );
+                throw (ArtifactMetadataRetrievalException) ee.getCause();
             }
+            throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for artifacts " +
+                                                              artifacts + ": " + ee.getMessage(), ee );
         }
+        catch ( final InterruptedException ie )
+        {
+            throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for artifacts " +
+                                                              artifacts + ": " + ie.getMessage(), ie );
+        }
+        return artifactVersions;
+    }
 
-        final Rule rule = getBestFitRule( artifact.getGroupId(), artifact.getArtifactId() );
-
-        if ( rule != null )
+    /**
+     * Retrieves the versions available for the artifact from the repositories. Concurrent and repeated requests for
+     * the same artifact and repositories within a session share the same result, which must therefore not be modified.
+     *
+     * @param artifact           The artifact.
+     * @param remoteRepositories The remote repositories.
+     * @return the available versions.
+     * @throws ArtifactMetadataRetrievalException if the versions could not be retrieved.
+     */
+    private List<ArtifactVersion> retrieveAvailableVersions( final Artifact artifact, final List remoteRepositories )
+        throws ArtifactMetadataRetrievalException
+    {
+        final StringBuilder key = new StringBuilder( ArtifactUtils.versionlessKey( artifact ) );
+        if ( remoteRepositories != null )
         {
-            for ( IgnoreVersion ignoreVersion : rule.getIgnoreVersions() )
+            for ( Object remoteRepository : remoteRepositories )
             {
-                if ( !TYPE_EXACT.equals( ignoreVersion.getType() ) && !TYPE_REGEX.equals( ignoreVersion.getType() ) )
-                {
-                    getLog().warn( "The type attribute '" + ignoreVersion.getType() + "' for " + rule + " is not valid."
-                                       + " Please use either '" + TYPE_EXACT + "' or '" + TYPE_REGEX + "'." );
-                }
-                else
+                final ArtifactRepository repository = (ArtifactRepository) remoteRepository;
+                key.append( '|' ).append( repository.getId() ).append( '=' ).append( repository.getUrl() );
+            }
+        }
+        try
+        {
+            return availableVersions.get( key.toString(), new Callable<List<ArtifactVersion>>()
+            {
+                public List<ArtifactVersion> call()
+                    throws ArtifactMetadataRetrievalException
                 {
-                    ret.add( ignoreVersion );
+                    return artifactVersionsCache == null
+                        ? artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository,
+                                                                            remoteRepositories )
+                        : artifactVersionsCache.retrieveAvailableVersions( artifactMetadataSource, artifact,
+                                                                           localRepository, remoteRepositories );
                 }
+            } );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof ArtifactMetadataRetrievalException )
+            {
+                throw (ArtifactMetadataRetrievalException) e.getCause();
+            }
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
             }
+            throw new ArtifactMetadataRetrievalException( e.getMessage(), e.getCause() );
+        }
+        catch ( InterruptedException e )
+        {
+            throw new ArtifactMetadataRetrievalException( "Interrupted while retrieving versions of "
+                                                              + ArtifactUtils.versionlessKey( artifact ), e );
         }
-
-        return ret;
     }
 
     /**
@@ -539,56 +669,7 @@ public class DefaultVersionsHelper
      */
     protected Rule getBestFitRule( String groupId, String artifactId )
     {
-        Rule bestFit = null;
-        final List<Rule> rules = ruleSet.getRules();
-        int bestGroupIdScore = Integer.MAX_VALUE;
-        int bestArtifactIdScore = Integer.MAX_VALUE;
-        boolean exactGroupId = false;
-        boolean exactArtifactId = false;
-        for ( Rule rule : rules )
-        {
-            int groupIdScore = RegexUtils.getWildcardScore( rule.getGroupId() );
-            if ( groupIdScore > bestGroupIdScore )
-            {
-                continue;
-            }
-            boolean exactMatch = exactMatch( rule.getGroupId(), groupId );
-            boolean match = exactMatch || match( rule.getGroupId(), groupId );
-            if ( !match || ( exactGroupId && !exactMatch ) )
-            {
-                continue;
-            }
-            if ( bestGroupIdScore > groupIdScore )
-            {
-                bestArtifactIdScore = Integer.MAX_VALUE;
-                exactArtifactId = false;
-            }
-            bestGroupIdScore = groupIdScore;
-            if ( exactMatch && !exactGroupId )
-            {
-                exactGroupId = true;
-                bestArtifactIdScore = Integer.MAX_VALUE;
-                exactArtifactId = false;
-            }
-            int artifactIdScore = RegexUtils.getWildcardScore( rule.getArtifactId() );
-            if ( artifactIdScore > bestArtifactIdScore )
-            {
-                continue;
-            }
-            exactMatch = exactMatch( rule.getArtifactId(), artifactId );
-            match = exactMatch || match( rule.getArtifactId(), artifactId );
-            if ( !match || ( exactArtifactId && !exactMatch ) )
-            {
-                continue;
-            }
-            bestArtifactIdScore = artifactIdScore;
-            if ( exactMatch && !exactArtifactId )
-            {
-                exactArtifactId = true;
-            }
-            bestFit = rule;
-        }
-        return bestFit;
+        return ruleIndex.getBestFitRule( groupId, artifactId );
     }
 
     /**
@@ -688,16 +769,14 @@ public class DefaultVersionsHelper
             new TreeMap<Dependency, ArtifactVersions>( new DependencyComparator() );
 
         // Lookup details in parallel...
-        final ExecutorService executor = Executors.newFixedThreadPool( LOOKUP_PARALLEL_THREADS );
         try
         {
-            final List<Future<DependencyArtifactVersions>> responseForDetails =
-                executor.invokeAll( requestsForDetails );
+            final List<DependencyArtifactVersions> responseForDetails =
+                getLookupExecutor().invokeAll( requestsForDetails );
 
             // Construct the final results...
-            for ( final Future<DependencyArtifactVersions> details : responseForDetails )
+            for ( final DependencyArtifactVersions dav : responseForDetails )
             {
-                final DependencyArtifactVersions dav = details.get();
                 dependencyUpdates.put( dav.getDependency(), dav.getArtifactVersions() );
             }
         }
@@ -711,10 +790,6 @@ public class DefaultVersionsHelper
             throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for dependencies " +
                                                               dependencies + ": " + ie.getMessage(), ie );
         }
-        finally
-        {
-            executor.shutdownNow();
-        }
         return dependencyUpdates;
     }
 
@@ -753,16 +828,14 @@ public class DefaultVersionsHelper
             new TreeMap<Plugin, PluginUpdatesDetails>( new PluginComparator() );
 
         // Lookup details in parallel...
-        final ExecutorService executor = Executors.newFixedThreadPool( LOOKUP_PARALLEL_THREADS );
         try
         {
-            final List<Future<PluginPluginUpdatesDetails>> responseForDetails =
-                executor.invokeAll( requestsForDetails );
+            final List<PluginPluginUpdatesDetails> responseForDetails =
+                getLookupExecutor().invokeAll( requestsForDetails );
 
             // Construct the final results...
-            for ( final Future<PluginPluginUpdatesDetails> details : responseForDetails )
+            for ( final PluginPluginUpdatesDetails pud : responseForDetails )
             {
-                final PluginPluginUpdatesDetails pud = details.get();
                 pluginUpdates.put( pud.getPlugin(), pud.getPluginUpdatesDetails() );
             }
         }
@@ -776,10 +849,6 @@ public class DefaultVersionsHelper
             throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for plugins " +
                                                               plugins + ": " + ie.getMessage(), ie );
         }
-        finally
-        {
-            executor.shutdownNow();
-        }
         return pluginUpdates;
     }
 
@@ -989,6 +1058,27 @@ public class DefaultVersionsHelper
         }
     }
 
+    // This Callable wraps lookupArtifactVersions so that it can be run in parallel.
+    private class ArtifactLookup
+        implements Callable<ArtifactVersions>
+    {
+        private final Artifact artifact;
+
+        private final boolean usePluginRepositories;
+
+        public ArtifactLookup( final Artifact artifact, final boolean usePluginRepositories )
+        {
+            this.artifact = artifact;
+            this.usePluginRepositories = usePluginRepositories;
+        }
+
+        public ArtifactVersions call()
+            throws Exception
+        {
+            return lookupArtifactVersions( artifact, usePluginRepositories );
+        }
+    }
+
     // This Callable wraps lookupDependencyUpdates so that it can be run in parallel.
     private class DependencyLookup
         implements Callable<DependencyArtifactVersions>
@@ -0,0 +1,172 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.model.IgnoreVersion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matches versions against a list of {@link IgnoreVersion}s with everything compiled up front: exact versions are
+ * held in a hash set and the regular expressions are merged into a single pattern where that is safe. Each regular
+ * expression is compiled on its own first, and those that use constructs that would leak into the others once merged
+ * (inline flags, quoting, named groups and back references) are kept as patterns of their own.
+ *
+ * @since 2.2
+ */
+final class IgnoreVersionsMatcher
+{
+    static final String TYPE_EXACT = "exact";
+
+    static final String TYPE_REGEX = "regex";
+
+    /**
+     * Detects the constructs that change meaning once the expressions are merged: back references, which would refer
+     * to the wrong group, quoting, which may run on to the end of the merged pattern, and any group starting with
+     * <code>(?</code> other than the plain non-capturing and look-around ones, i.e. named groups, which must be unique,
+     * and inline flags, which may turn the rest of the merged pattern into a comment.
+     */
+    private static final Pattern NOT_MERGEABLE = Pattern.compile( "\\\\(?:[1-9]|k<|Q)|\\(\\?(?![:=!>]|<[=!])" );
+
+    private final List<IgnoreVersion> ignoreVersions;
+
+    private final Set<String> exact = new HashSet<String>();
+
+    private final List<Pattern> patterns = new ArrayList<Pattern>();
+
+    /**
+     * Creates a new matcher.
+     *
+     * @param ignoreVersions The ignore versions, all of which must be of a valid type.
+     */
+    IgnoreVersionsMatcher( List<IgnoreVersion> ignoreVersions )
+    {
+        this.ignoreVersions = Collections.unmodifiableList( new ArrayList<IgnoreVersion>( ignoreVersions ) );
+        final List<Pattern> mergeable = new ArrayList<Pattern>();
+        final StringBuilder combined = new StringBuilder();
+        for ( IgnoreVersion ignoreVersion : ignoreVersions )
+        {
+            if ( TYPE_EXACT.equals( ignoreVersion.getType() ) )
+            {
+                exact.add( ignoreVersion.getVersion() );
+                continue;
+            }
+            final Pattern pattern = Pattern.compile( ignoreVersion.getVersion() );
+            if ( NOT_MERGEABLE.matcher( ignoreVersion.getVersion() ).find() )
+            {
+                patterns.add( pattern );
+            }
+            else
+            {
+                mergeable.add( pattern );
+                if ( combined.length() > 0 )
+                {
+                    combined.append( '|' );
+                }
+                combined.append( "(?:" ).append( ignoreVersion.getVersion() ).append( ')' );
+            }
+        }
+        if ( mergeable.size() > 1 )
+        {
+            try
+            {
+                patterns.add( 0, Pattern.compile( combined.toString() ) );
+            }
+            catch ( PatternSyntaxException e )
+            {
+                // something we did not think of, match them one at a time
+                patterns.addAll( 0, mergeable );
+            }
+        }
+        else
+        {
+            patterns.addAll( 0, mergeable );
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if there is nothing to ignore.
+     *
+     * @return <code>true</code> if there is nothing to ignore.
+     */
+    boolean isEmpty()
+    {
+        return ignoreVersions.isEmpty();
+    }
+
+    /**
+     * Returns the ignore versions that this matcher was compiled from.
+     *
+     * @return the ignore versions.
+     */
+    List<IgnoreVersion> getIgnoreVersions()
+    {
+        return ignoreVersions;
+    }
+
+    /**
+     * Returns <code>true</code> if the version should be ignored.
+     *
+     * @param version the version.
+     * @return <code>true</code> if the version should be ignored.
+     */
+    boolean matches( String version )
+    {
+        if ( exact.contains( version ) )
+        {
+            return true;
+        }
+        for ( Pattern pattern : patterns )
+        {
+            if ( pattern.matcher( version ).matches() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the ignore version that causes the version to be ignored. This is only intended for reporting as it is
+     * not compiled.
+     *
+     * @param version the version.
+     * @return the first matching ignore version or <code>null</code>.
+     */
+    IgnoreVersion findMatch( String version )
+    {
+        for ( IgnoreVersion ignoreVersion : ignoreVersions )
+        {
+            if ( TYPE_EXACT.equals( ignoreVersion.getType() )
+                ? version.equals( ignoreVersion.getVersion() )
+                : Pattern.matches( ignoreVersion.getVersion(), version ) )
+            {
+                return ignoreVersion;
+            }
+        }
+        return null;
+    }
+}
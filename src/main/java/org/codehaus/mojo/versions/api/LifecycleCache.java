@@ -0,0 +1,185 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.codehaus.mojo.versions.utils.CacheFiles;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of what the Maven runtime says about its lifecycles, such as the plugins the super-pom manages and the
+ * plugins each packaging binds, which only depend on the version of Maven and the packaging and so are the same for
+ * every module of a build. Entries are kept for the life of the JVM and optionally also in a directory, so that they
+ * survive from one build to the next.
+ * <p/>
+ * Each entry is an ordered map of strings, where a value may be <code>null</code>.
+ *
+ * @since 2.2
+ */
+public final class LifecycleCache
+{
+    private static final Map<String, Map<String, String>> ENTRIES =
+        new ConcurrentHashMap<String, Map<String, String>>();
+
+    private final File directory;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory The directory to also keep the entries in, or <code>null</code> to only keep them in memory.
+     * @since 2.2
+     */
+    public LifecycleCache( File directory )
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the default location of the cache for the specified local repository.
+     *
+     * @param localRepository The local repository.
+     * @return the directory that holds the cache entries.
+     * @since 2.2
+     */
+    public static File getDefaultCacheDirectory( ArtifactRepository localRepository )
+    {
+        return new File( localRepository.getBasedir(), ".cache/versions-maven-plugin/lifecycles" );
+    }
+
+    /**
+     * Looks up an entry.
+     *
+     * @param key The key of the entry, a relative path made of the version of Maven and whatever else the entry
+     *            depends on.
+     * @return a copy of the entry or <code>null</code> if it is not in the cache.
+     * @since 2.2
+     */
+    public Map<String, String> get( String key )
+    {
+        Map<String, String> entry = ENTRIES.get( key );
+        if ( entry == null && directory != null )
+        {
+            entry = read( getFile( key ) );
+            if ( entry != null )
+            {
+                ENTRIES.put( key, entry );
+            }
+        }
+        return entry == null ? null : new LinkedHashMap<String, String>( entry );
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param key        The key of the entry, see {@link #get(String)}.
+     * @param entry      The entry.
+     * @param persistent <code>false</code> to only keep the entry in memory, e.g. when it depends on more than the
+     *                   key can tell.
+     * @since 2.2
+     */
+    public void put( String key, Map<String, String> entry, boolean persistent )
+    {
+        final Map<String, String> copy = Collections.unmodifiableMap( new LinkedHashMap<String, String>( entry ) );
+        ENTRIES.put( key, copy );
+        if ( persistent && directory != null )
+        {
+            write( getFile( key ), copy );
+        }
+    }
+
+    private File getFile( String key )
+    {
+        final StringBuilder buf = new StringBuilder( key.length() );
+        for ( int i = 0; i < key.length(); i++ )
+        {
+            char c = key.charAt( i );
+            buf.append( Character.isLetterOrDigit( c ) || c == '.' || c == '-' || c == '_' || c == '/' ? c : '_' );
+        }
+        return new File( directory, buf + ".txt" );
+    }
+
+    private static Map<String, String> read( File file )
+    {
+        final byte[] content = CacheFiles.read( file );
+        if ( content == null )
+        {
+            return null;
+        }
+        final Map<String, String> entry = new LinkedHashMap<String, String>();
+        final BufferedReader reader;
+        try
+        {
+            reader = new BufferedReader( new InputStreamReader( new ByteArrayInputStream( content ), "UTF-8" ) );
+            for ( String line = reader.readLine(); line != null; line = reader.readLine() )
+            {
+                int tab = line.indexOf( '\t' );
+                if ( tab < 0 )
+                {
+                    entry.put( line, null );
+                }
+                else
+                {
+                    entry.put( line.substring( 0, tab ), line.substring( tab + 1 ) );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            // not when reading from memory
+            return null;
+        }
+        return Collections.unmodifiableMap( entry );
+    }
+
+    /**
+     * Writes an entry as one line per key, with the value after a tab unless it is <code>null</code>.
+     */
+    private static void write( File file, Map<String, String> entry )
+    {
+        final StringBuilder buf = new StringBuilder();
+        for ( Map.Entry<String, String> e : entry.entrySet() )
+        {
+            buf.append( e.getKey() );
+            if ( e.getValue() != null )
+            {
+                buf.append( '\t' ).append( e.getValue() );
+            }
+            buf.append( '\n' );
+        }
+        try
+        {
+            CacheFiles.store( file, buf.toString().getBytes( "UTF-8" ) );
+        }
+        catch ( UnsupportedEncodingException e )
+        {
+            // every JVM supports UTF-8
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of threads used to run version lookups in parallel. One instance is shared by everything running
+ * within the same Maven session.
+ * <p/>
+ * The tasks of a batch are not handed to the pool one by one. Instead up to one worker per pool thread is started
+ * for the batch, and each worker keeps taking the next task that nobody has taken yet until there are none left. The
+ * thread that calls {@link #invokeAll(List)} takes tasks the same way, so it always helps to run its own batch. This
+ * means that a lookup running on a pool thread can itself fan out further lookups (as plugin lookups do for their
+ * dependencies) without creating more threads and without the risk of every pool thread waiting on work that never
+ * gets scheduled: when all the pool threads are busy, the caller simply runs the whole batch itself.
+ * <p/>
+ * Threads that have been idle for a minute end, so a pool that is no longer used (for instance the private pool of a
+ * helper outside a session) does not keep any threads alive.
+ *
+ * @since 2.2
+ */
+public final class LookupExecutor
+{
+    private static final Map<Object, LookupExecutor> INSTANCES = new WeakHashMap<Object, LookupExecutor>();
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+
+    private LookupExecutor( int threads )
+    {
+        final int poolNumber = POOL_COUNT.incrementAndGet();
+        this.executor = new ThreadPoolExecutor( 0, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                                                new ThreadFactory()
+                                                {
+                                                    private final AtomicInteger threadCount = new AtomicInteger();
+
+                                                    public Thread newThread( Runnable r )
+                                                    {
+                                                        Thread t = new Thread( r, "versions-lookup-" + poolNumber + "-"
+                                                            + threadCount.incrementAndGet() );
+                                                        t.setDaemon( true );
+                                                        return t;
+                                                    }
+                                                }, new ThreadPoolExecutor.DiscardPolicy() );
+    }
+
+    /**
+     * Returns the lookup executor for the specified session, creating it if necessary.
+     *
+     * @param session The session that the executor is scoped to, or <code>null</code> for a private executor.
+     * @param threads The number of threads to use.
+     * @return the lookup executor.
+     * @since 2.2
+     */
+    public static LookupExecutor getInstance( Object session, int threads )
+    {
+        final int poolSize = Math.max( 1, threads );
+        if ( session == null )
+        {
+            return new LookupExecutor( poolSize );
+        }
+        synchronized ( INSTANCES )
+        {
+            LookupExecutor instance = INSTANCES.get( session );
+            if ( instance == null )
+            {
+                instance = new LookupExecutor( poolSize );
+                INSTANCES.put( session, instance );
+            }
+            else
+            {
+                instance.resize( poolSize );
+            }
+            return instance;
+        }
+    }
+
+    private void resize( int threads )
+    {
+        if ( threads != executor.getMaximumPoolSize() )
+        {
+            executor.setMaximumPoolSize( threads );
+        }
+    }
+
+    /**
+     * Returns the number of threads in the pool.
+     *
+     * @return the number of threads in the pool.
+     * @since 2.2
+     */
+    public int getThreads()
+    {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Runs all the tasks, in parallel where possible, and returns their results in the same order as the tasks. If
+     * any task fails, the tasks that have not completed yet are cancelled and the first failure is thrown.
+     *
+     * @param tasks The tasks to run.
+     * @return the results of the tasks.
+     * @throws ExecutionException   if any of the tasks failed.
+     * @throws InterruptedException if the calling thread was interrupted while waiting.
+     * @since 2.2
+     */
+    public <T> List<T> invokeAll( List<? extends Callable<T>> tasks )
+        throws ExecutionException, InterruptedException
+    {
+        final boolean interrupted = Thread.currentThread().isInterrupted();
+        final Batch batch = new Batch();
+        final List<LookupTask<T>> futures = new ArrayList<LookupTask<T>>( tasks.size() );
+        for ( Callable<T> task : tasks )
+        {
+            LookupTask<T> future = new LookupTask<T>( task, batch );
+            futures.add( future );
+            batch.add( future );
+        }
+        try
+        {
+            final int workers = Math.min( futures.size() - 1, executor.getMaximumPoolSize() );
+            for ( int i = 0; i < workers; i++ )
+            {
+                // a worker that finds no free thread is dropped, the tasks it would have run are taken by the others
+                executor.execute( batch );
+            }
+            batch.setHelping( true );
+            try
+            {
+                batch.run();
+            }
+            finally
+            {
+                batch.setHelping( false );
+            }
+            if ( batch.isFailed() )
+            {
+                clearCancellationInterrupt( batch, interrupted );
+                throw batch.getFailure( null );
+            }
+            final List<T> results = new ArrayList<T>( futures.size() );
+            for ( LookupTask<T> future : futures )
+            {
+                results.add( future.get() );
+            }
+            return results;
+        }
+        catch ( CancellationException e )
+        {
+            // a sibling failed, report the failure rather than the cancellation
+            clearCancellationInterrupt( batch, interrupted );
+            throw batch.getFailure( e );
+        }
+        finally
+        {
+            batch.abort();
+        }
+    }
+
+    /**
+     * Cancelling a batch interrupts the threads running its tasks, which may include the caller while it was helping
+     * out. That interrupt is ours to clear, but an interrupt the caller already had when it started the batch is not.
+     */
+    private static void clearCancellationInterrupt( Batch batch, boolean interrupted )
+    {
+        if ( batch.isCallerInterrupted() && !interrupted )
+        {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Tracks the tasks of a single {@link #invokeAll(List)} call so that they can be cancelled together. Running the
+     * batch runs the tasks that nobody has taken yet, in order, until there are none left.
+     */
+    private static final class Batch
+        implements Runnable
+    {
+        private final List<FutureTask<?>> tasks = new ArrayList<FutureTask<?>>();
+
+        /**
+         * The index of the next task to take, guarded by this.
+         */
+        private int next;
+
+        private volatile boolean aborted;
+
+        private volatile Throwable failure;
+
+        /**
+         * Whether the caller is running tasks of the batch itself.
+         */
+        private volatile boolean helping;
+
+        private volatile boolean callerInterrupted;
+
+        synchronized void add( FutureTask<?> task )
+        {
+            tasks.add( task );
+        }
+
+        private synchronized FutureTask<?> take()
+        {
+            return aborted || next >= tasks.size() ? null : tasks.get( next++ );
+        }
+
+        public void run()
+        {
+            for ( FutureTask<?> task = take(); task != null; task = take() )
+            {
+                task.run();
+            }
+        }
+
+        void setHelping( boolean helping )
+        {
+            this.helping = helping;
+        }
+
+        boolean isCallerInterrupted()
+        {
+            return callerInterrupted;
+        }
+
+        boolean isFailed()
+        {
+            return failure != null;
+        }
+
+        void fail( Throwable t )
+        {
+            if ( failure == null )
+            {
+                failure = t;
+            }
+            abort();
+        }
+
+        ExecutionException getFailure( Exception cancellation )
+        {
+            return new ExecutionException( failure == null ? cancellation : failure );
+        }
+
+        void abort()
+        {
+            aborted = true;
+            if ( helping )
+            {
+                // the caller may be running one of the tasks that are about to be cancelled
+                callerInterrupted = true;
+            }
+            final List<FutureTask<?>> copy;
+            synchronized ( this )
+            {
+                copy = new ArrayList<FutureTask<?>>( tasks );
+            }
+            for ( FutureTask<?> task : copy )
+            {
+                if ( !task.isDone() )
+                {
+                    task.cancel( true );
+                }
+            }
+        }
+    }
+
+    /**
+     * A task that aborts the rest of its batch when it fails.
+     */
+    private static final class LookupTask<T>
+        extends FutureTask<T>
+    {
+        private final Batch batch;
+
+        LookupTask( Callable<T> callable, Batch batch )
+        {
+            super( callable );
+            this.batch = batch;
+        }
+
+        protected void setException( Throwable t )
+        {
+            super.setException( t );
+            batch.fail( t );
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.codehaus.mojo.versions.utils.CacheFiles;
+import org.codehaus.mojo.versions.utils.Digests;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.NotSerializableException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the raw models of pom files, so that goals run one after the other in the same session do not each parse
+ * the same poms. Models are keyed by the canonical path of the file and are reused for as long as the file has the
+ * same content hash, so a change made behind the back of the cache is always seen. Optionally the models are also
+ * kept in a directory, keyed by content hash and written out as pom xml, so that they survive from one build to the
+ * next.
+ * <p/>
+ * As models are mutable, every call to {@link #getModel(File)} returns a new copy of the model. The copies are made
+ * by serializing the model in memory, which is only ever read back by the same JVM.
+ *
+ * @since 2.2
+ */
+public final class ModelCache
+{
+    private static final Map<Object, ModelCache> INSTANCES = new WeakHashMap<Object, ModelCache>();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    private volatile File directory;
+
+    private ModelCache( File directory )
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the model cache for the specified session, creating it if necessary.
+     *
+     * @param session   The session that the cache is scoped to, or <code>null</code> for a private cache.
+     * @param directory The directory to also keep the models in, or <code>null</code> to only keep them in memory.
+     * @return the model cache.
+     * @since 2.2
+     */
+    public static ModelCache getInstance( Object session, File directory )
+    {
+        if ( session == null )
+        {
+            return new ModelCache( directory );
+        }
+        synchronized ( INSTANCES )
+        {
+            ModelCache instance = INSTANCES.get( session );
+            if ( instance == null )
+            {
+                instance = new ModelCache( directory );
+                INSTANCES.put( session, instance );
+            }
+            else if ( directory != null )
+            {
+                instance.directory = directory;
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Gets the raw model of a pom file before any interpolation what-so-ever, as
+     * {@link PomHelper#getRawModel(File)} does.
+     *
+     * @param file The pom file.
+     * @return A copy of the raw model.
+     * @throws IOException if the file is not found or if the file does not parse.
+     * @since 2.2
+     */
+    public Model getModel( File file )
+        throws IOException
+    {
+        final String key = file.getCanonicalPath();
+        final byte[] content = readBytes( file );
+        final String hash = Digests.sha1( content );
+        final Entry entry = entries.get( key );
+        if ( entry != null && entry.hash.equals( hash ) )
+        {
+            return entry.newModel();
+        }
+
+        Model model = readStored( hash );
+        if ( model == null )
+        {
+            model = parse( content );
+            store( hash, model );
+        }
+        try
+        {
+            entries.put( key, new Entry( hash, serialize( model ), true ) );
+        }
+        catch ( NotSerializableException e )
+        {
+            // e.g. an older plexus-utils in the maven runtime, so we can only save reading the file
+            entries.put( key, new Entry( hash, content, false ) );
+        }
+        return model;
+    }
+
+    /**
+     * Forgets the model of a pom file, which must be done whenever the file is written.
+     *
+     * @param file The pom file.
+     * @since 2.2
+     */
+    public void invalidate( File file )
+    {
+        try
+        {
+            entries.remove( file.getCanonicalPath() );
+        }
+        catch ( IOException e )
+        {
+            // the file cannot be resolved, so nothing can have been cached under its canonical path
+            entries.remove( file.getAbsolutePath() );
+        }
+    }
+
+    private static Model parse( byte[] content )
+        throws IOException
+    {
+        try
+        {
+            // read with the platform encoding, as PomHelper.getRawModel(File) does
+            return new MavenXpp3Reader().read( new InputStreamReader( new ByteArrayInputStream( content ) ) );
+        }
+        catch ( XmlPullParserException e )
+        {
+            IOException ioe = new IOException( e.getMessage() );
+            ioe.initCause( e );
+            throw ioe;
+        }
+    }
+
+    private static byte[] serialize( Model model )
+        throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream( bytes );
+        try
+        {
+            out.writeObject( model );
+        }
+        finally
+        {
+            out.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Model deserialize( byte[] model )
+        throws IOException
+    {
+        ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( model ) );
+        try
+        {
+            return (Model) in.readObject();
+        }
+        catch ( ClassNotFoundException e )
+        {
+            IOException ioe = new IOException( e.getMessage() );
+            ioe.initCause( e );
+            throw ioe;
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    private Model readStored( String hash )
+    {
+        final File dir = directory;
+        final byte[] stored = dir == null ? null : CacheFiles.read( new File( dir, hash + ".xml" ) );
+        if ( stored == null )
+        {
+            return null;
+        }
+        try
+        {
+            return new MavenXpp3Reader().read( ReaderFactory.newXmlReader( new ByteArrayInputStream( stored ) ) );
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+        catch ( XmlPullParserException e )
+        {
+            // not a pom, so not one we stored
+            return null;
+        }
+    }
+
+    private void store( String hash, Model model )
+    {
+        final File dir = directory;
+        if ( dir == null )
+        {
+            return;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try
+        {
+            // the writer declares the encoding of the model, which is what it is read back with
+            Writer writer = new OutputStreamWriter( bytes, model.getModelEncoding() );
+            new MavenXpp3Writer().write( writer, model );
+            writer.close();
+        }
+        catch ( IOException e )
+        {
+            // not when writing to memory, unless the encoding is not supported
+            return;
+        }
+        CacheFiles.store( new File( dir, hash + ".xml" ), bytes.toByteArray() );
+    }
+
+    private static byte[] readBytes( File file )
+        throws IOException
+    {
+        InputStream in = new FileInputStream( file );
+        try
+        {
+            return IOUtil.toByteArray( in );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    /**
+     * A model as of a given content of its file.
+     */
+    private static final class Entry
+    {
+        private final String hash;
+
+        /**
+         * The serialized model or the content of the file, from which a fresh copy can be made for every caller.
+         */
+        private final byte[] data;
+
+        private final boolean serialized;
+
+        Entry( String hash, byte[] data, boolean serialized )
+        {
+            this.hash = hash;
+            this.data = data;
+            this.serialized = serialized;
+        }
+
+        Model newModel()
+            throws IOException
+        {
+            return serialized ? deserialize( data ) : parse( data );
+        }
+    }
+}
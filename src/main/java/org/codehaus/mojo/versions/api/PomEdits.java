@@ -0,0 +1,206 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A batch of version changes to make to a pom, which {@link PomHelper#applyEdits} applies in a single pass.
+ * <p/>
+ * Each change matches the pom in the same way as the corresponding single change method of {@link PomHelper}. All the
+ * changes are matched against the pom as it was before any of them were made; where more than one change matches the
+ * same location, the one that was added first wins.
+ *
+ * @since 2.2
+ */
+public class PomEdits
+{
+    static final int DEPENDENCY = 0;
+
+    static final int PLUGIN = 1;
+
+    static final int PROPERTY = 2;
+
+    private final List<Edit> edits = new ArrayList<Edit>();
+
+    /**
+     * Adds a change of the version of a dependency, as made by
+     * {@link PomHelper#setDependencyVersion(org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader, String,
+     * String, String, String)}.
+     *
+     * @param groupId    The groupId of the dependency.
+     * @param artifactId The artifactId of the dependency.
+     * @param oldVersion The old version of the dependency.
+     * @param newVersion The new version of the dependency.
+     * @return the change.
+     * @since 2.2
+     */
+    public Edit setDependencyVersion( String groupId, String artifactId, String oldVersion, String newVersion )
+    {
+        return add( new Edit( DEPENDENCY, null, groupId, artifactId, oldVersion, newVersion ) );
+    }
+
+    /**
+     * Adds a change of the version of a plugin, as made by
+     * {@link PomHelper#setPluginVersion(org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader, String,
+     * String, String, String)}.
+     *
+     * @param groupId    The groupId of the plugin.
+     * @param artifactId The artifactId of the plugin.
+     * @param oldVersion The old version of the plugin.
+     * @param newVersion The new version of the plugin.
+     * @return the change.
+     * @since 2.2
+     */
+    public Edit setPluginVersion( String groupId, String artifactId, String oldVersion, String newVersion )
+    {
+        return add( new Edit( PLUGIN, null, groupId, artifactId, oldVersion, newVersion ) );
+    }
+
+    /**
+     * Adds a change of the value of a property, as made by
+     * {@link PomHelper#setPropertyVersion(org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader, String,
+     * String, String)}.
+     *
+     * @param profileId The profile in which to modify the property.
+     * @param property  The property to modify.
+     * @param value     The new value of the property.
+     * @return the change.
+     * @since 2.2
+     */
+    public Edit setPropertyVersion( String profileId, String property, String value )
+    {
+        return add( new Edit( PROPERTY, profileId, null, property, null, value ) );
+    }
+
+    private Edit add( Edit edit )
+    {
+        edits.add( edit );
+        return edit;
+    }
+
+    /**
+     * Returns the changes in the order they were added.
+     *
+     * @return the changes.
+     * @since 2.2
+     */
+    public List<Edit> getEdits()
+    {
+        return Collections.unmodifiableList( edits );
+    }
+
+    /**
+     * Returns <code>true</code> if there are no changes.
+     *
+     * @return <code>true</code> if there are no changes.
+     * @since 2.2
+     */
+    public boolean isEmpty()
+    {
+        return edits.isEmpty();
+    }
+
+    /**
+     * A single change.
+     *
+     * @since 2.2
+     */
+    public static final class Edit
+    {
+        final int type;
+
+        final String profileId;
+
+        final String groupId;
+
+        final String artifactId;
+
+        final String oldVersion;
+
+        final String newVersion;
+
+        private String description;
+
+        private boolean applied;
+
+        private Edit( int type, String profileId, String groupId, String artifactId, String oldVersion,
+                      String newVersion )
+        {
+            this.type = type;
+            this.profileId = profileId;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.oldVersion = oldVersion;
+            this.newVersion = newVersion;
+        }
+
+        /**
+         * Sets the message to report once the change has been made.
+         *
+         * @param description the message.
+         * @return this change.
+         * @since 2.2
+         */
+        public Edit describedAs( String description )
+        {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * Returns the message to report once the change has been made.
+         *
+         * @return the message or <code>null</code>.
+         * @since 2.2
+         */
+        public String getDescription()
+        {
+            return description;
+        }
+
+        /**
+         * Returns <code>true</code> if the change matched the pom when the edits were applied.
+         *
+         * @return <code>true</code> if a replacement was made.
+         * @since 2.2
+         */
+        public boolean isApplied()
+        {
+            return applied;
+        }
+
+        void setApplied( boolean applied )
+        {
+            this.applied = applied;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public String toString()
+        {
+            return ( type == PROPERTY ? "${" + artifactId + "}" : groupId + ":" + artifactId + ":" + oldVersion )
+                + " -> " + newVersion;
+        }
+    }
+}
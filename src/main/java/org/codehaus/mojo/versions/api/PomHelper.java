@@ -36,6 +36,8 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
+import org.codehaus.mojo.versions.rewriting.PomIndex;
+import org.codehaus.mojo.versions.utils.BufferedLog;
 import org.codehaus.mojo.versions.utils.RegexUtils;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
@@ -52,8 +54,11 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -66,6 +71,8 @@ import java.util.Set;
 import java.util.Stack;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -79,6 +86,23 @@ public class PomHelper
 {
     public static final String APACHE_MAVEN_PLUGINS_GROUPID = "org.apache.maven.plugins";
 
+    private static final Pattern DEPENDENCY_SCOPE = Pattern.compile(
+        "/project" + "(/profiles/profile)?" + "((/dependencyManagement)|(/build(/pluginManagement)?/plugins/plugin))?"
+            + "/dependencies/dependency" );
+
+    private static final Pattern DEPENDENCY_TARGET =
+        Pattern.compile( DEPENDENCY_SCOPE.pattern() + "((/groupId)|(/artifactId)|(/version))" );
+
+    private static final Pattern PLUGIN_SCOPE = Pattern.compile(
+        "/project" + "(/profiles/profile)?" + "((/build(/pluginManagement)?)|(/reporting))/plugins/plugin" );
+
+    private static final Pattern PLUGIN_TARGET =
+        Pattern.compile( PLUGIN_SCOPE.pattern() + "((/groupId)|(/artifactId)|(/version))" );
+
+    private static final Set<String> IMPLICIT_PATHS = Collections.unmodifiableSet( new HashSet<String>(
+        Arrays.<String>asList( "/project/parent/groupId", "/project/parent/artifactId", "/project/parent/version",
+                               "/project/groupId", "/project/artifactId", "/project/version" ) ) );
+
     /**
      * Gets the raw model before any interpolation what-so-ever.
      *
@@ -130,6 +154,21 @@ public class PomHelper
         }
     }
 
+    /**
+     * Gets the raw model before any interpolation what-so-ever, from a cache if there is one.
+     *
+     * @param moduleProjectFile The project file to get the raw model for.
+     * @param cache             The cache of models or <code>null</code> to always read the file.
+     * @return The raw model.
+     * @throws IOException if the file is not found or if the file does not parse.
+     * @since 2.2
+     */
+    public static Model getRawModel( File moduleProjectFile, ModelCache cache )
+        throws IOException
+    {
+        return cache == null ? getRawModel( moduleProjectFile ) : cache.getModel( moduleProjectFile );
+    }
+
     /**
      * Gets the current raw model before any interpolation what-so-ever.
      *
@@ -176,77 +215,40 @@ public class PomHelper
                                               final String property, final String value )
         throws XMLStreamException
     {
-        Stack<String> stack = new Stack<String>();
-        String path = "";
-        final Pattern propertyRegex;
-        final Pattern matchScopeRegex;
-        final Pattern projectProfileId;
-        boolean inMatchScope = false;
-        boolean madeReplacement = false;
+        final String path;
         if ( profileId == null )
         {
-            propertyRegex = Pattern.compile( "/project/properties/" + RegexUtils.quote( property ) );
-            matchScopeRegex = Pattern.compile( "/project/properties" );
-            projectProfileId = null;
+            path = "/project/properties/" + property;
         }
         else
         {
-            propertyRegex = Pattern.compile( "/project/profiles/profile/properties/" + RegexUtils.quote( property ) );
-            matchScopeRegex = Pattern.compile( "/project/profiles/profile" );
-            projectProfileId = Pattern.compile( "/project/profiles/profile/id" );
+            path = "/project/profiles/profile[" + profileId.trim() + "]/properties/" + property;
         }
+        // as with any repeated element, the last definition of the property is the one which takes effect
+        PomIndex.Range range = pom.getIndex().getRange( path );
+        return range != null && replaceRanges( pom, Collections.singletonList( range ), value );
+    }
 
-        pom.rewind();
-
-        while ( pom.hasNext() )
+    /**
+     * Replaces the text content of the indexed elements, from the end of the pom backwards.
+     *
+     * @param pom    The pom to modify.
+     * @param ranges The ranges of the text content of the elements.
+     * @param value  The new text content.
+     * @return <code>true</code> if there was an element to replace.
+     * @throws XMLStreamException if something went wrong.
+     */
+    private static boolean replaceRanges( final ModifiedPomXMLEventReader pom, final List<PomIndex.Range> ranges,
+                                          final String value )
+        throws XMLStreamException
+    {
+        for ( int i = ranges.size() - 1; i >= 0; i-- )
         {
-            XMLEvent event = pom.nextEvent();
-            if ( event.isStartElement() )
-            {
-                stack.push( path );
-                path = path + "/" + event.asStartElement().getName().getLocalPart();
-
-                if ( propertyRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 0 );
-                }
-                else if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    // we're in a new match scope
-                    // reset any previous partial matches
-                    inMatchScope = profileId == null;
-                    pom.clearMark( 0 );
-                    pom.clearMark( 1 );
-                }
-                else if ( profileId != null && projectProfileId.matcher( path ).matches() )
-                {
-                    String candidateId = pom.getElementText();
-                    path = stack.pop(); // since getElementText will be after the end element
-
-                    inMatchScope = profileId.trim().equals( candidateId.trim() );
-                }
-            }
-            if ( event.isEndElement() )
-            {
-                if ( propertyRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 1 );
-                }
-                else if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    if ( inMatchScope && pom.hasMark( 0 ) && pom.hasMark( 1 ) )
-                    {
-                        pom.replaceBetween( 0, 1, value );
-                        madeReplacement = true;
-                    }
-                    pom.clearMark( 0 );
-                    pom.clearMark( 1 );
-                    inMatchScope = false;
-                }
-                path = stack.pop();
-            }
+            PomIndex.Range range = ranges.get( i );
+            pom.replace( range.getStart(), range.getEnd(), value );
         }
-        return madeReplacement;
+        pom.rewind();
+        return !ranges.isEmpty();
     }
 
     /**
@@ -260,44 +262,7 @@ public class PomHelper
     public static boolean setProjectVersion( final ModifiedPomXMLEventReader pom, final String value )
         throws XMLStreamException
     {
-        Stack<String> stack = new Stack<String>();
-        String path = "";
-        final Pattern matchScopeRegex;
-        boolean madeReplacement = false;
-        matchScopeRegex = Pattern.compile( "/project/version" );
-
-        pom.rewind();
-
-        while ( pom.hasNext() )
-        {
-            XMLEvent event = pom.nextEvent();
-            if ( event.isStartElement() )
-            {
-                stack.push( path );
-                path = path + "/" + event.asStartElement().getName().getLocalPart();
-
-                if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 0 );
-                }
-            }
-            if ( event.isEndElement() )
-            {
-                if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 1 );
-                    if ( pom.hasMark( 0 ) && pom.hasMark( 1 ) )
-                    {
-                        pom.replaceBetween( 0, 1, value );
-                        madeReplacement = true;
-                    }
-                    pom.clearMark( 0 );
-                    pom.clearMark( 1 );
-                }
-                path = stack.pop();
-            }
-        }
-        return madeReplacement;
+        return replaceRanges( pom, pom.getIndex().getRanges( "/project/version" ), value );
     }
 
     /**
@@ -310,41 +275,12 @@ public class PomHelper
     public static String getProjectVersion( final ModifiedPomXMLEventReader pom )
         throws XMLStreamException
     {
-        Stack<String> stack = new Stack<String>();
-        String path = "";
-        final Pattern matchScopeRegex = Pattern.compile( "/project/version" );
-
-        pom.rewind();
-
-        while ( pom.hasNext() )
+        List<PomIndex.Range> ranges = pom.getIndex().getRanges( "/project/version" );
+        if ( ranges.isEmpty() )
         {
-            XMLEvent event = pom.nextEvent();
-            if ( event.isStartElement() )
-            {
-                stack.push( path );
-                path = path + "/" + event.asStartElement().getName().getLocalPart();
-
-                if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 0 );
-                }
-            }
-            if ( event.isEndElement() )
-            {
-                if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 1 );
-                    if ( pom.hasMark( 0 ) && pom.hasMark( 1 ) )
-                    {
-                        return pom.getBetween( 0, 1 ).trim();
-                    }
-                    pom.clearMark( 0 );
-                    pom.clearMark( 1 );
-                }
-                path = stack.pop();
-            }
+            return null;
         }
-        return null;
+        return pom.getText( ranges.get( 0 ).getStart(), ranges.get( 0 ).getEnd() ).trim();
     }
 
     /**
@@ -358,44 +294,7 @@ public class PomHelper
     public static boolean setProjectParentVersion( final ModifiedPomXMLEventReader pom, final String value )
         throws XMLStreamException
     {
-        Stack<String> stack = new Stack<String>();
-        String path = "";
-        final Pattern matchScopeRegex;
-        boolean madeReplacement = false;
-        matchScopeRegex = Pattern.compile( "/project/parent/version" );
-
-        pom.rewind();
-
-        while ( pom.hasNext() )
-        {
-            XMLEvent event = pom.nextEvent();
-            if ( event.isStartElement() )
-            {
-                stack.push( path );
-                path = path + "/" + event.asStartElement().getName().getLocalPart();
-
-                if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 0 );
-                }
-            }
-            if ( event.isEndElement() )
-            {
-                if ( matchScopeRegex.matcher( path ).matches() )
-                {
-                    pom.mark( 1 );
-                    if ( pom.hasMark( 0 ) && pom.hasMark( 1 ) )
-                    {
-                        pom.replaceBetween( 0, 1, value );
-                        madeReplacement = true;
-                    }
-                    pom.clearMark( 0 );
-                    pom.clearMark( 1 );
-                }
-                path = stack.pop();
-            }
-        }
-        return madeReplacement;
+        return replaceRanges( pom, pom.getIndex().getRanges( "/project/parent/version" ), value );
     }
 
     /**
@@ -478,9 +377,6 @@ public class PomHelper
         Stack<String> stack = new Stack<String>();
         String path = "";
 
-        Set<String> implicitPaths = new HashSet<String>(
-            Arrays.<String>asList( "/project/parent/groupId", "/project/parent/artifactId", "/project/parent/version",
-                                   "/project/groupId", "/project/artifactId", "/project/version" ) );
         Map<String, String> implicitProperties = new HashMap<String, String>();
 
         pom.rewind();
@@ -496,7 +392,7 @@ public class PomHelper
                     final String elementName = event.asStartElement().getName().getLocalPart();
                     path = path + "/" + elementName;
 
-                    if ( implicitPaths.contains( path ) )
+                    if ( IMPLICIT_PATHS.contains( path ) )
                     {
                         final String elementText = pom.getElementText().trim();
                         implicitProperties.put( path.substring( 1 ).replace( '/', '.' ), elementText );
@@ -510,24 +406,7 @@ public class PomHelper
             }
         }
 
-        boolean modified = true;
-        while ( modified )
-        {
-            modified = false;
-            for ( Map.Entry<String, String> entry : implicitProperties.entrySet() )
-            {
-                if ( entry.getKey().contains( ".parent" ) )
-                {
-                    String child = entry.getKey().replace( ".parent", "" );
-                    if ( !implicitProperties.containsKey( child ) )
-                    {
-                        implicitProperties.put( child, entry.getValue() );
-                        modified = true;
-                        break;
-                    }
-                }
-            }
-        }
+        inheritImplicitProperties( implicitProperties );
 
         stack = new Stack<String>();
         path = "";
@@ -537,14 +416,9 @@ public class PomHelper
         boolean haveArtifactId = false;
         boolean haveOldVersion = false;
 
-        final Pattern matchScopeRegex = Pattern.compile( "/project" + "(/profiles/profile)?" +
-                                                             "((/dependencyManagement)|(/build(/pluginManagement)?/plugins/plugin))?"
-                                                             + "/dependencies/dependency" );
+        final Pattern matchScopeRegex = DEPENDENCY_SCOPE;
 
-        final Pattern matchTargetRegex = Pattern.compile( "/project" + "(/profiles/profile)?" +
-                                                              "((/dependencyManagement)|(/build(/pluginManagement)?/plugins/plugin))?"
-                                                              + "/dependencies/dependency" +
-                                                              "((/groupId)|(/artifactId)|(/version))" );
+        final Pattern matchTargetRegex = DEPENDENCY_TARGET;
 
         pom.rewind();
 
@@ -628,6 +502,34 @@ public class PomHelper
         return madeReplacement;
     }
 
+    /**
+     * Fills in the implicit properties of the project from those of its parent where the project does not define
+     * them itself, e.g. <code>project.groupId</code> from <code>project.parent.groupId</code>.
+     *
+     * @param implicitProperties The implicit properties read from the pom.
+     */
+    private static void inheritImplicitProperties( Map<String, String> implicitProperties )
+    {
+        boolean modified = true;
+        while ( modified )
+        {
+            modified = false;
+            for ( Map.Entry<String, String> entry : implicitProperties.entrySet() )
+            {
+                if ( entry.getKey().contains( ".parent" ) )
+                {
+                    String child = entry.getKey().replace( ".parent", "" );
+                    if ( !implicitProperties.containsKey( child ) )
+                    {
+                        implicitProperties.put( child, entry.getValue() );
+                        modified = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * A lightweight expression evaluation function.
      *
@@ -787,12 +689,9 @@ public class PomHelper
         boolean haveArtifactId = false;
         boolean haveOldVersion = false;
 
-        matchScopeRegex = Pattern.compile(
-            "/project" + "(/profiles/profile)?" + "((/build(/pluginManagement)?)|(/reporting))/plugins/plugin" );
+        matchScopeRegex = PLUGIN_SCOPE;
 
-        matchTargetRegex = Pattern.compile(
-            "/project" + "(/profiles/profile)?" + "((/build(/pluginManagement)?)|(/reporting))/plugins/plugin" +
-                "((/groupId)|(/artifactId)|(/version))" );
+        matchTargetRegex = PLUGIN_TARGET;
 
         pom.rewind();
 
@@ -873,6 +772,304 @@ public class PomHelper
         return madeReplacement;
     }
 
+    /**
+     * Applies a batch of changes to the pom in a single pass. The pom is read once to find the location of every
+     * dependency version, plugin version and property that one of the changes could apply to; the changes are then
+     * matched against these locations, in the same way as {@link #setDependencyVersion}, {@link #setPluginVersion}
+     * and {@link #setPropertyVersion} would match them, and all the replacements are made from the end of the pom
+     * backwards. Each change that matched at least one location is marked as {@link PomEdits.Edit#isApplied()}.
+     *
+     * @param pom   The pom to modify.
+     * @param edits The changes to make.
+     * @return <code>true</code> if a replacement was made.
+     * @throws XMLStreamException if something went wrong.
+     * @since 2.2
+     */
+    public static boolean applyEdits( final ModifiedPomXMLEventReader pom, final PomEdits edits )
+        throws XMLStreamException
+    {
+        if ( edits.isEmpty() )
+        {
+            return false;
+        }
+        final Set<String> properties = new HashSet<String>();
+        for ( PomEdits.Edit edit : edits.getEdits() )
+        {
+            if ( edit.type == PomEdits.PROPERTY )
+            {
+                properties.add( edit.artifactId );
+            }
+        }
+
+        Stack<String> stack = new Stack<String>();
+        String path = "";
+        final Map<String, String> implicitProperties = new HashMap<String, String>();
+        final List<EditLocation> locations = new ArrayList<EditLocation>();
+        EditLocation dependency = null;
+        EditLocation plugin = null;
+        EditLocation property = null;
+        Map<String, EditLocation> scopeProperties = null;
+        boolean inProfile = false;
+        String profileId = null;
+
+        pom.rewind();
+
+        while ( pom.hasNext() )
+        {
+            XMLEvent event = pom.nextEvent();
+            if ( event.isStartElement() )
+            {
+                stack.push( path );
+                final String elementName = event.asStartElement().getName().getLocalPart();
+                path = path + "/" + elementName;
+
+                if ( IMPLICIT_PATHS.contains( path ) )
+                {
+                    final String elementText = pom.getElementText().trim();
+                    implicitProperties.put( path.substring( 1 ).replace( '/', '.' ), elementText );
+                    path = stack.pop();
+                }
+                else if ( DEPENDENCY_SCOPE.matcher( path ).matches() )
+                {
+                    dependency = new EditLocation( PomEdits.DEPENDENCY );
+                }
+                else if ( dependency != null && DEPENDENCY_TARGET.matcher( path ).matches() )
+                {
+                    path = readTarget( pom, dependency, elementName, stack, path );
+                }
+                else if ( PLUGIN_SCOPE.matcher( path ).matches() )
+                {
+                    plugin = new EditLocation( PomEdits.PLUGIN );
+                }
+                else if ( plugin != null && PLUGIN_TARGET.matcher( path ).matches() )
+                {
+                    path = readTarget( pom, plugin, elementName, stack, path );
+                }
+                else if ( !properties.isEmpty() )
+                {
+                    if ( "/project/properties".equals( path ) || "/project/profiles/profile".equals( path ) )
+                    {
+                        // we're in a new match scope
+                        scopeProperties = new LinkedHashMap<String, EditLocation>();
+                        inProfile = path.length() > "/project/properties".length();
+                        profileId = null;
+                    }
+                    else if ( "/project/profiles/profile/id".equals( path ) )
+                    {
+                        profileId = pom.getElementText().trim();
+                        path = stack.pop(); // since getElementText will be after the end element
+                    }
+                    else if ( scopeProperties != null && properties.contains( elementName ) && isPropertyPath(
+                        path, elementName, inProfile ) )
+                    {
+                        property = new EditLocation( PomEdits.PROPERTY );
+                        property.artifactId = elementName;
+                        property.start = pom.getEndOffset();
+                    }
+                }
+            }
+            if ( event.isEndElement() )
+            {
+                final String elementName = event.asEndElement().getName().getLocalPart();
+                if ( "version".equals( elementName ) && DEPENDENCY_TARGET.matcher( path ).matches() )
+                {
+                    if ( dependency != null )
+                    {
+                        dependency.end = pom.getStartOffset();
+                    }
+                }
+                else if ( DEPENDENCY_SCOPE.matcher( path ).matches() )
+                {
+                    if ( dependency != null && dependency.start >= 0 && dependency.end >= 0 )
+                    {
+                        locations.add( dependency );
+                    }
+                    dependency = null;
+                }
+                else if ( "version".equals( elementName ) && PLUGIN_TARGET.matcher( path ).matches() )
+                {
+                    if ( plugin != null )
+                    {
+                        plugin.end = pom.getStartOffset();
+                    }
+                }
+                else if ( PLUGIN_SCOPE.matcher( path ).matches() )
+                {
+                    if ( plugin != null && plugin.start >= 0 && plugin.end >= 0 )
+                    {
+                        locations.add( plugin );
+                    }
+                    plugin = null;
+                }
+                else if ( property != null && scopeProperties != null && elementName.equals( property.artifactId )
+                    && isPropertyPath( path, elementName, inProfile ) )
+                {
+                    property.end = pom.getStartOffset();
+                    // as with setPropertyVersion, the last definition in the scope is the one that is changed
+                    scopeProperties.put( elementName, property );
+                    property = null;
+                }
+                else if ( scopeProperties != null && ( "/project/properties".equals( path )
+                    || "/project/profiles/profile".equals( path ) ) )
+                {
+                    for ( EditLocation location : scopeProperties.values() )
+                    {
+                        location.inProfile = inProfile;
+                        location.profileId = profileId;
+                        locations.add( location );
+                    }
+                    scopeProperties = null;
+                }
+                path = stack.pop();
+            }
+        }
+
+        inheritImplicitProperties( implicitProperties );
+
+        final List<EditLocation> matched = new ArrayList<EditLocation>();
+        for ( EditLocation location : locations )
+        {
+            if ( location.type == PomEdits.DEPENDENCY )
+            {
+                location.groupId = evaluate( location.groupId, implicitProperties );
+                location.artifactId = evaluate( location.artifactId, implicitProperties );
+            }
+            final String pomVersion = pom.getText( location.start, location.end ).trim();
+            for ( PomEdits.Edit edit : edits.getEdits() )
+            {
+                if ( location.matches( edit, pomVersion ) )
+                {
+                    location.replacement = edit.newVersion;
+                    edit.setApplied( true );
+                    matched.add( location );
+                    break;
+                }
+            }
+        }
+
+        Collections.sort( matched, EditLocation.BY_START );
+        for ( int i = matched.size() - 1; i >= 0; i-- )
+        {
+            EditLocation location = matched.get( i );
+            pom.replace( location.start, location.end, location.replacement );
+        }
+        pom.rewind();
+        return !matched.isEmpty();
+    }
+
+    /**
+     * Reads the groupId, artifactId or start of the version of a dependency or plugin for {@link #applyEdits}.
+     */
+    private static String readTarget( ModifiedPomXMLEventReader pom, EditLocation location, String elementName,
+                                      Stack<String> stack, String path )
+        throws XMLStreamException
+    {
+        if ( "groupId".equals( elementName ) )
+        {
+            location.groupId = pom.getElementText().trim();
+            return stack.pop();
+        }
+        if ( "artifactId".equals( elementName ) )
+        {
+            location.artifactId = pom.getElementText().trim();
+            return stack.pop();
+        }
+        if ( "version".equals( elementName ) )
+        {
+            location.start = pom.getEndOffset();
+        }
+        return path;
+    }
+
+    private static boolean isPropertyPath( String path, String property, boolean inProfile )
+    {
+        final String scope = inProfile ? "/project/profiles/profile/properties/" : "/project/properties/";
+        return path.length() == scope.length() + property.length() && path.startsWith( scope ) && path.endsWith(
+            property );
+    }
+
+    /**
+     * A dependency version, plugin version or property value in the pom that one of a batch of changes could apply to.
+     */
+    private static final class EditLocation
+    {
+        private static final Comparator<EditLocation> BY_START = new Comparator<EditLocation>()
+        {
+            public int compare( EditLocation l1, EditLocation l2 )
+            {
+                return l1.start < l2.start ? -1 : ( l1.start == l2.start ? 0 : 1 );
+            }
+        };
+
+        private final int type;
+
+        private boolean inProfile;
+
+        private String profileId;
+
+        private String groupId;
+
+        /**
+         * The artifactId or, for a property, the name of the property.
+         */
+        private String artifactId;
+
+        private int start = -1;
+
+        private int end = -1;
+
+        private String replacement;
+
+        EditLocation( int type )
+        {
+            this.type = type;
+        }
+
+        boolean matches( PomEdits.Edit edit, String pomVersion )
+        {
+            if ( edit.type != type || !edit.artifactId.equals( artifactId ) )
+            {
+                return false;
+            }
+            if ( type == PomEdits.PROPERTY )
+            {
+                return edit.profileId == null ? !inProfile : inProfile && edit.profileId.trim().equals( profileId );
+            }
+            if ( type == PomEdits.DEPENDENCY )
+            {
+                if ( !edit.groupId.equals( groupId ) )
+                {
+                    return false;
+                }
+                String compressedPomVersion = StringUtils.deleteWhitespace( pomVersion );
+                String compressedOldVersion = StringUtils.deleteWhitespace( edit.oldVersion );
+                try
+                {
+                    return isVersionOverlap( compressedOldVersion, compressedPomVersion );
+                }
+                catch ( InvalidVersionSpecificationException e )
+                {
+                    // fall back to string comparison
+                    return compressedOldVersion.equals( compressedPomVersion );
+                }
+            }
+            boolean needGroupId = edit.groupId != null && !APACHE_MAVEN_PLUGINS_GROUPID.equals( edit.groupId );
+            if ( needGroupId && !edit.groupId.equals( groupId ) )
+            {
+                return false;
+            }
+            try
+            {
+                return isVersionOverlap( edit.oldVersion, pomVersion );
+            }
+            catch ( InvalidVersionSpecificationException e )
+            {
+                // fall back to string comparison
+                return edit.oldVersion.equals( pomVersion );
+            }
+        }
+    }
+
     /**
      * Examines the project to find any properties which are associated with versions of artifacts in the project.
      *
@@ -1444,26 +1641,66 @@ public class PomHelper
      */
     public static Map<String, Model> getReactorModels( MavenProject project, Log logger )
         throws IOException
+    {
+        return getReactorModels( project, logger, null );
+    }
+
+    /**
+     * Builds a map of raw models keyed by module path, reading and parsing the modules in parallel. The map is the
+     * same, and in the same order, as the one built by {@link #getReactorModels(MavenProject, Log)}: the modules of
+     * each project come before any of their children. Messages are logged in the same order too.
+     *
+     * @param project  The project to build from.
+     * @param logger   The logger for logging.
+     * @param executor The executor to read the modules with or <code>null</code> to read them one after the other.
+     * @return A map of raw models keyed by path relative to the project's basedir.
+     * @throws IOException if things go wrong.
+     * @since 2.2
+     */
+    public static Map<String, Model> getReactorModels( MavenProject project, Log logger, LookupExecutor executor )
+        throws IOException
+    {
+        return getReactorModels( project, logger, executor, null );
+    }
+
+    /**
+     * Builds a map of raw models keyed by module path, as {@link #getReactorModels(MavenProject, Log, LookupExecutor)}
+     * does, taking the models from a cache where the pom files have not changed.
+     *
+     * @param project  The project to build from.
+     * @param logger   The logger for logging.
+     * @param executor The executor to read the modules with or <code>null</code> to read them one after the other.
+     * @param cache    The cache of models or <code>null</code> to always read the pom files.
+     * @return A map of raw models keyed by path relative to the project's basedir.
+     * @throws IOException if things go wrong.
+     * @since 2.2
+     */
+    public static Map<String, Model> getReactorModels( MavenProject project, Log logger, LookupExecutor executor,
+                                                       ModelCache cache )
+        throws IOException
     {
         Map<String, Model> result = new LinkedHashMap<String, Model>();
-        final Model model = getRawModel( project );
+        final Model model = getRawModel( project.getFile(), cache );
         final String path = "";
         result.put( path, model );
-        result.putAll( getReactorModels( path, model, project, logger ) );
+        result.putAll( getReactorModels( path, model, project, logger, executor, cache ) );
         return result;
     }
 
     /**
      * Builds a sub-map of raw models keyed by module path.
      *
-     * @param path    The relative path to base the sub-map on.
-     * @param model   The model at the relative path.
-     * @param project The project to build from.
-     * @param logger  The logger for logging.
+     * @param path     The relative path to base the sub-map on.
+     * @param model    The model at the relative path.
+     * @param project  The project to build from.
+     * @param logger   The logger for logging.
+     * @param executor The executor to read the modules with or <code>null</code> to read them one after the other.
+     * @param cache    The cache of models or <code>null</code>.
      * @return A map of raw models keyed by path relative to the project's basedir.
      * @throws IOException if things go wrong.
      */
-    private static Map<String, Model> getReactorModels( String path, Model model, MavenProject project, Log logger )
+    private static Map<String, Model> getReactorModels( String path, Model model, MavenProject project, Log logger,
+                                                        LookupExecutor executor, ModelCache cache )
         throws IOException
     {
         if ( path.length() > 0 && !path.endsWith( "/" ) )
@@ -1479,6 +1716,7 @@ public class PomHelper
 
         removeMissingChildModules( logger, baseDir, childModules );
 
+        final List<ModuleLoader> loaders = new ArrayList<ModuleLoader>( childModules.size() );
         for ( String moduleName : childModules )
         {
             String modulePath = path + moduleName;
@@ -1498,21 +1736,137 @@ public class PomHelper
                 moduleProjectFile = moduleDir;
             }
 
+            loaders.add( new ModuleLoader( modulePath, moduleProjectFile, project,
+                                           executor == null ? logger : new BufferedLog( logger ), executor,
+                                           cache ) );
+        }
+
+        for ( Map<String, Model> moduleResult : loadModules( loaders, executor ) )
+        {
+            Iterator<Map.Entry<String, Model>> i = moduleResult.entrySet().iterator();
+            if ( i.hasNext() )
+            {
+                Map.Entry<String, Model> entry = i.next();
+                result.put( entry.getKey(), entry.getValue() );
+            }
+            while ( i.hasNext() )
+            {
+                Map.Entry<String, Model> entry = i.next();
+                childResults.put( entry.getKey(), entry.getValue() );
+            }
+        }
+        result.putAll( childResults ); // more efficient update order if all children are added after siblings
+        return result;
+    }
+
+    /**
+     * Runs the module loaders, in parallel if there is an executor, flushing the logs of the loaders in order.
+     *
+     * @param loaders  The module loaders.
+     * @param executor The executor or <code>null</code>.
+     * @return The results of the loaders in the same order as the loaders.
+     * @throws IOException if things go wrong.
+     */
+    private static List<Map<String, Model>> loadModules( List<ModuleLoader> loaders, LookupExecutor executor )
+        throws IOException
+    {
+        if ( executor == null )
+        {
+            final List<Map<String, Model>> results = new ArrayList<Map<String, Model>>( loaders.size() );
+            for ( ModuleLoader loader : loaders )
+            {
+                results.add( loader.call() );
+            }
+            return results;
+        }
+        try
+        {
+            return executor.invokeAll( loaders );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IOException )
+            {
+                throw (IOException) e.getCause();
+            }
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            if ( e.getCause() instanceof Error )
+            {
+                throw (Error) e.getCause();
+            }
+            throw (IOException) new IOException( e.getCause().getMessage() ).initCause( e.getCause() );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw (IOException) new IOException( e.getMessage() ).initCause( e );
+        }
+        finally
+        {
+            for ( ModuleLoader loader : loaders )
+            {
+                ( (BufferedLog) loader.logger ).flush();
+            }
+        }
+    }
+
+    /**
+     * Reads the raw model of a module and the raw models of all its children.
+     */
+    private static final class ModuleLoader
+        implements Callable<Map<String, Model>>
+    {
+        private final String modulePath;
+
+        private final File moduleProjectFile;
+
+        private final MavenProject project;
+
+        private final Log logger;
+
+        private final LookupExecutor executor;
+
+        private final ModelCache cache;
+
+        ModuleLoader( String modulePath, File moduleProjectFile, MavenProject project, Log logger,
+                      LookupExecutor executor, ModelCache cache )
+        {
+            this.modulePath = modulePath;
+            this.moduleProjectFile = moduleProjectFile;
+            this.project = project;
+            this.logger = logger;
+            this.executor = executor;
+            this.cache = cache;
+        }
+
+        /**
+         * Returns the model of the module followed by the models of its children, or nothing if the module could not
+         * be parsed.
+         *
+         * @return the models keyed by path.
+         * @throws IOException if things go wrong.
+         */
+        public Map<String, Model> call()
+            throws IOException
+        {
+            final Map<String, Model> result = new LinkedHashMap<String, Model>();
             try
             {
                 // the aim of this goal is to fix problems when the project cannot be parsed by Maven
                 // so we have to work with the raw model and not the interpolated parsed model from maven
-                Model moduleModel = getRawModel( moduleProjectFile );
+                Model moduleModel = getRawModel( moduleProjectFile, cache );
                 result.put( modulePath, moduleModel );
-                childResults.putAll( getReactorModels( modulePath, moduleModel, project, logger ) );
+                result.putAll( getReactorModels( modulePath, moduleModel, project, logger, executor, cache ) );
             }
             catch ( IOException e )
             {
                 logger.debug( "Could not parse " + moduleProjectFile.getPath(), e );
             }
+            return result;
         }
-        result.putAll( childResults ); // more efficient update order if all children are added after siblings
-        return result;
     }
 
     /**
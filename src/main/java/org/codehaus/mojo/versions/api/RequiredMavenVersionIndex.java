@@ -0,0 +1,170 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.codehaus.mojo.versions.utils.CacheFiles;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A persistent index of the minimum version of Maven required by each version of a plugin, as declared by the
+ * <code>prerequisites</code> of its pom and the poms of its parents. Working this out means resolving and building the
+ * pom, but as released poms never change the answer never changes either, so it is kept in a small property file per
+ * plugin under the local repository, keyed by version, and shared by every build and project that uses that local
+ * repository. Entries are only added when they are first asked for, and snapshots are never kept.
+ *
+ * @since 2.2
+ */
+public final class RequiredMavenVersionIndex
+{
+    /**
+     * The value recorded for a plugin version whose poms do not declare a minimum version of Maven.
+     *
+     * @since 2.2
+     */
+    public static final String UNSPECIFIED = "";
+
+    private static final Map<File, RequiredMavenVersionIndex> INSTANCES =
+        new HashMap<File, RequiredMavenVersionIndex>();
+
+    private final File basedir;
+
+    /**
+     * The entries of each plugin read so far, keyed by <code>groupId:artifactId</code>, guarded by itself.
+     */
+    private final Map<String, Properties> plugins = new HashMap<String, Properties>();
+
+    private RequiredMavenVersionIndex( File basedir )
+    {
+        this.basedir = basedir;
+    }
+
+    /**
+     * Returns the index kept in the specified directory, which is shared by everything in the JVM using that
+     * directory.
+     *
+     * @param basedir The directory to keep the index in.
+     * @return the index.
+     * @since 2.2
+     */
+    public static RequiredMavenVersionIndex getInstance( File basedir )
+    {
+        final File key = basedir.getAbsoluteFile();
+        synchronized ( INSTANCES )
+        {
+            RequiredMavenVersionIndex instance = INSTANCES.get( key );
+            if ( instance == null )
+            {
+                instance = new RequiredMavenVersionIndex( key );
+                INSTANCES.put( key, instance );
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Returns the default location of the index for the specified local repository.
+     *
+     * @param localRepository The local repository.
+     * @return the directory that holds the index.
+     * @since 2.2
+     */
+    public static File getDefaultIndexDirectory( ArtifactRepository localRepository )
+    {
+        return new File( localRepository.getBasedir(), ".cache/versions-maven-plugin/prerequisites" );
+    }
+
+    /**
+     * Looks up the minimum version of Maven required by a version of a plugin.
+     *
+     * @param groupId    The groupId of the plugin.
+     * @param artifactId The artifactId of the plugin.
+     * @param version    The version of the plugin.
+     * @return the required version of Maven, {@link #UNSPECIFIED} if the plugin does not declare one or
+     *         <code>null</code> if the plugin version is not in the index.
+     * @since 2.2
+     */
+    public String get( String groupId, String artifactId, String version )
+    {
+        return getEntries( groupId, artifactId ).getProperty( version );
+    }
+
+    /**
+     * Records the minimum version of Maven required by a version of a plugin.
+     *
+     * @param groupId              The groupId of the plugin.
+     * @param artifactId           The artifactId of the plugin.
+     * @param version              The version of the plugin.
+     * @param requiredMavenVersion The required version of Maven or {@link #UNSPECIFIED}.
+     * @since 2.2
+     */
+    public void put( String groupId, String artifactId, String version, String requiredMavenVersion )
+    {
+        if ( ArtifactUtils.isSnapshot( version ) )
+        {
+            // a snapshot can be replaced at any time
+            return;
+        }
+        final Properties entries = getEntries( groupId, artifactId );
+        synchronized ( entries )
+        {
+            if ( requiredMavenVersion.equals( entries.getProperty( version ) ) )
+            {
+                return;
+            }
+            final File file = getFile( groupId, artifactId );
+            // another build may have added other versions since we read the file
+            entries.putAll( read( file ) );
+            entries.setProperty( version, requiredMavenVersion );
+            CacheFiles.storeProperties( file, entries );
+        }
+    }
+
+    private Properties getEntries( String groupId, String artifactId )
+    {
+        final String key = ArtifactUtils.versionlessKey( groupId, artifactId );
+        synchronized ( plugins )
+        {
+            Properties entries = plugins.get( key );
+            if ( entries == null )
+            {
+                entries = read( getFile( groupId, artifactId ) );
+                plugins.put( key, entries );
+            }
+            return entries;
+        }
+    }
+
+    private File getFile( String groupId, String artifactId )
+    {
+        return new File( new File( basedir, groupId ), artifactId + ".properties" );
+    }
+
+    private static Properties read( File file )
+    {
+        final Properties properties = CacheFiles.readProperties( file );
+        return properties == null ? new Properties() : properties;
+    }
+}
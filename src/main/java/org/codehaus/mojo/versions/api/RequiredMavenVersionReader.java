@@ -0,0 +1,252 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
+import org.apache.maven.artifact.resolver.ArtifactResolutionException;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.stax2.XMLInputFactory2;
+import org.codehaus.stax2.XMLStreamReader2;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the minimum version of Maven required by a version of a plugin straight from the <code>prerequisites</code> of
+ * its pom in the repository, without building the project. Only the <code>parent</code> and
+ * <code>prerequisites</code> elements of a pom are looked at, everything else is skipped. As when the project is
+ * built, the highest version of Maven declared by the pom or any of its parents wins. What the parents require is
+ * remembered, as many plugins share the same parents.
+ *
+ * @since 2.2
+ */
+public class RequiredMavenVersionReader
+{
+    /**
+     * How many parents to follow before giving up, in case the parents form a cycle.
+     */
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * What each released parent requires, keyed by <code>groupId:artifactId:version</code>.
+     */
+    private static final Map<String, String> PARENTS = new ConcurrentHashMap<String, String>();
+
+    private static final XMLInputFactory2 INPUT_FACTORY = (XMLInputFactory2) XMLInputFactory2.newInstance();
+
+    private final VersionsHelper helper;
+
+    /**
+     * Creates a new reader.
+     *
+     * @param helper The helper used to resolve the poms.
+     * @since 2.2
+     */
+    public RequiredMavenVersionReader( VersionsHelper helper )
+    {
+        this.helper = helper;
+    }
+
+    /**
+     * Returns the minimum version of Maven required by a version of a plugin.
+     *
+     * @param groupId    The groupId of the plugin.
+     * @param artifactId The artifactId of the plugin.
+     * @param version    The version of the plugin.
+     * @return the required version of Maven, {@link RequiredMavenVersionIndex#UNSPECIFIED} if neither the pom nor its
+     *         parents declare one, or <code>null</code> if the project has to be built to find out, e.g. because the
+     *         version is given by a property or a pom could not be parsed.
+     * @throws ArtifactResolutionException if a pom could not be resolved.
+     * @throws ArtifactNotFoundException   if a pom does not exist.
+     * @since 2.2
+     */
+    public String getRequiredMavenVersion( String groupId, String artifactId, String version )
+        throws ArtifactResolutionException, ArtifactNotFoundException
+    {
+        return getRequiredMavenVersion( groupId, artifactId, version, 0 );
+    }
+
+    private String getRequiredMavenVersion( String groupId, String artifactId, String version, int depth )
+        throws ArtifactResolutionException, ArtifactNotFoundException
+    {
+        final Prerequisites pom;
+        try
+        {
+            pom = read( resolve( groupId, artifactId, version ) );
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+        catch ( XMLStreamException e )
+        {
+            return null;
+        }
+        if ( pom.maven != null && pom.maven.indexOf( "${" ) >= 0 )
+        {
+            return null;
+        }
+        if ( pom.parentGroupId == null || pom.parentArtifactId == null || pom.parentVersion == null )
+        {
+            return pom.maven == null ? RequiredMavenVersionIndex.UNSPECIFIED : pom.maven;
+        }
+        if ( depth >= MAX_DEPTH )
+        {
+            return null;
+        }
+        final String key =
+            ArtifactUtils.versionlessKey( pom.parentGroupId, pom.parentArtifactId ) + ":" + pom.parentVersion;
+        String requires = PARENTS.get( key );
+        if ( requires == null )
+        {
+            requires = getRequiredMavenVersion( pom.parentGroupId, pom.parentArtifactId, pom.parentVersion, depth + 1 );
+            if ( requires == null )
+            {
+                return null;
+            }
+            if ( !ArtifactUtils.isSnapshot( pom.parentVersion ) )
+            {
+                PARENTS.put( key, requires );
+            }
+        }
+        if ( pom.maven == null )
+        {
+            return requires;
+        }
+        if ( requires.length() == 0 )
+        {
+            return pom.maven;
+        }
+        return new DefaultArtifactVersion( pom.maven ).compareTo( new DefaultArtifactVersion( requires ) ) < 0
+            ? requires
+            : pom.maven;
+    }
+
+    /**
+     * Resolves a pom from the plugin repositories.
+     *
+     * @param groupId    The groupId.
+     * @param artifactId The artifactId.
+     * @param version    The version.
+     * @return the pom file.
+     * @throws ArtifactResolutionException if the pom could not be resolved.
+     * @throws ArtifactNotFoundException   if the pom does not exist.
+     * @since 2.2
+     */
+    protected File resolve( String groupId, String artifactId, String version )
+        throws ArtifactResolutionException, ArtifactNotFoundException
+    {
+        Artifact pom = helper.createDependencyArtifact( groupId, artifactId, VersionRange.createFromVersion( version ),
+                                                        "pom", null, "runtime" );
+        helper.resolveArtifact( pom, true );
+        return pom.getFile();
+    }
+
+    /**
+     * Reads the parent and prerequisites of a pom, stopping as soon as both have been read.
+     */
+    private static Prerequisites read( File file )
+        throws IOException, XMLStreamException
+    {
+        final Prerequisites result = new Prerequisites();
+        final InputStream in = new FileInputStream( file );
+        try
+        {
+            final XMLStreamReader2 reader = (XMLStreamReader2) INPUT_FACTORY.createXMLStreamReader( in );
+            try
+            {
+                String path = "";
+                while ( reader.hasNext() && !( result.maven != null && result.parentVersion != null ) )
+                {
+                    int event = reader.next();
+                    if ( event == XMLStreamConstants.START_ELEMENT )
+                    {
+                        path = path + "/" + reader.getLocalName();
+                        if ( "/project/parent/groupId".equals( path ) )
+                        {
+                            result.parentGroupId = reader.getElementText().trim();
+                        }
+                        else if ( "/project/parent/artifactId".equals( path ) )
+                        {
+                            result.parentArtifactId = reader.getElementText().trim();
+                        }
+                        else if ( "/project/parent/version".equals( path ) )
+                        {
+                            result.parentVersion = reader.getElementText().trim();
+                        }
+                        else if ( "/project/prerequisites/maven".equals( path ) )
+                        {
+                            result.maven = reader.getElementText().trim();
+                        }
+                        else if ( !"/project".equals( path ) && !"/project/parent".equals( path )
+                            && !"/project/prerequisites".equals( path ) )
+                        {
+                            // nothing else in here is of interest
+                            reader.skipElement();
+                        }
+                        else
+                        {
+                            continue;
+                        }
+                        // getElementText() and skipElement() leave us on the end element
+                        path = path.substring( 0, path.lastIndexOf( '/' ) );
+                    }
+                    else if ( event == XMLStreamConstants.END_ELEMENT )
+                    {
+                        path = path.substring( 0, path.lastIndexOf( '/' ) );
+                    }
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+        return result;
+    }
+
+    /**
+     * What a pom says about the version of Maven it requires.
+     */
+    private static final class Prerequisites
+    {
+        private String maven;
+
+        private String parentGroupId;
+
+        private String parentArtifactId;
+
+        private String parentVersion;
+    }
+}
@@ -0,0 +1,297 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.plugin.MojoExecutionException;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Searches the versions of a plugin for the newest version that works with a given version of Maven. Finding out which
+ * version of Maven a plugin version requires means fetching and reading its pom, so rather than trying every version
+ * from the newest down, the search relies on newer versions of a plugin never requiring an older version of Maven: it
+ * gallops down from the newest version and then bisects, which takes a logarithmic number of probes. As soon as a
+ * probe shows that the plugin does not follow that rule, or a version cannot be probed at all, the search falls back
+ * to trying every version from the newest down. Every version is probed at most once.
+ *
+ * @since 2.2
+ */
+public class RequiredMavenVersionSearch
+{
+    /**
+     * The versions of the plugin, oldest first.
+     */
+    private final ArtifactVersion[] versions;
+
+    private final Probe probe;
+
+    /**
+     * The results of the probes so far by index, including the versions that could not be probed.
+     */
+    private final Map<Integer, ArtifactVersion> probed = new HashMap<Integer, ArtifactVersion>();
+
+    /**
+     * The versions of Maven required by the versions probed so far by index.
+     */
+    private final SortedMap<Integer, ArtifactVersion> known = new TreeMap<Integer, ArtifactVersion>();
+
+    private boolean monotone = true;
+
+    /**
+     * Creates a new search.
+     *
+     * @param versions The versions of the plugin, oldest first.
+     * @param probe    How to find out the version of Maven a plugin version requires.
+     * @since 2.2
+     */
+    public RequiredMavenVersionSearch( ArtifactVersion[] versions, Probe probe )
+    {
+        this.versions = versions;
+        this.probe = probe;
+    }
+
+    /**
+     * Returns <code>true</code> unless the search has found that a newer version of the plugin requires an older
+     * version of Maven, or has come across a version that could not be probed.
+     *
+     * @return <code>true</code> if the search can still bisect.
+     * @since 2.2
+     */
+    public boolean isMonotone()
+    {
+        return monotone;
+    }
+
+    /**
+     * Finds the newest version of the plugin that works with the specified version of Maven.
+     *
+     * @param mavenVersion The version of Maven.
+     * @return the index of the newest version that works with the version of Maven or <code>-1</code> if none do.
+     * @throws MojoExecutionException if a probe fails.
+     * @since 2.2
+     */
+    public int findNewest( ArtifactVersion mavenVersion )
+        throws MojoExecutionException
+    {
+        if ( monotone )
+        {
+            int result = bisect( mavenVersion );
+            if ( monotone )
+            {
+                return result;
+            }
+        }
+        for ( int j = versions.length - 1; j >= 0; j-- )
+        {
+            ArtifactVersion requires = getRequiredMavenVersion( j );
+            if ( requires != null && mavenVersion.compareTo( requires ) >= 0 )
+            {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds, for every version of Maven required by the versions of the plugin newer than the specified one, the
+     * newest version of the plugin that works with it. Going from the newest version of the plugin down, a version of
+     * Maven is only included if it is older than all of those included before it.
+     *
+     * @param from The index of the version of the plugin to stop at, or <code>-1</code> to go through all of them.
+     * @return the newest version of the plugin by required version of Maven, newest first.
+     * @throws MojoExecutionException if a probe fails.
+     * @since 2.2
+     */
+    public Map<ArtifactVersion, ArtifactVersion> getUpgrades( int from )
+        throws MojoExecutionException
+    {
+        if ( monotone )
+        {
+            Map<ArtifactVersion, ArtifactVersion> result = bisectUpgrades( from );
+            if ( result != null )
+            {
+                return result;
+            }
+        }
+        final Map<ArtifactVersion, ArtifactVersion> result = new LinkedHashMap<ArtifactVersion, ArtifactVersion>();
+        ArtifactVersion minRequires = null;
+        for ( int j = versions.length - 1; j > from; j-- )
+        {
+            ArtifactVersion requires = getRequiredMavenVersion( j );
+            if ( requires != null && ( minRequires == null || minRequires.compareTo( requires ) > 0 ) )
+            {
+                result.put( requires, versions[j] );
+                minRequires = requires;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gallops down from the newest version to a version that works with the version of Maven and then bisects between
+     * that and the oldest version known not to work.
+     */
+    private int bisect( ArtifactVersion mavenVersion )
+        throws MojoExecutionException
+    {
+        // everything from hi up does not work, lo works
+        int lo = -1;
+        int hi = versions.length;
+        for ( int step = 1; hi > 0; step <<= 1 )
+        {
+            int j = Math.max( hi - step, 0 );
+            Boolean works = works( j, mavenVersion );
+            if ( works == null )
+            {
+                return -1;
+            }
+            if ( works.booleanValue() )
+            {
+                lo = j;
+                break;
+            }
+            hi = j;
+        }
+        while ( hi - lo > 1 )
+        {
+            int mid = ( lo + hi ) >>> 1;
+            Boolean works = works( mid, mavenVersion );
+            if ( works == null )
+            {
+                return -1;
+            }
+            if ( works.booleanValue() )
+            {
+                lo = mid;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Finds where each required version of Maven starts by bisecting, or returns <code>null</code> if the plugin
+     * turns out not to be monotone.
+     */
+    private Map<ArtifactVersion, ArtifactVersion> bisectUpgrades( int from )
+        throws MojoExecutionException
+    {
+        final Map<ArtifactVersion, ArtifactVersion> result = new LinkedHashMap<ArtifactVersion, ArtifactVersion>();
+        int top = versions.length - 1;
+        while ( top > from )
+        {
+            final ArtifactVersion requires = getRequiredMavenVersion( top );
+            if ( requires == null || !monotone )
+            {
+                return null;
+            }
+            // hi requires the same as top, lo requires less or is where we stop
+            int lo = from;
+            int hi = top;
+            while ( hi - lo > 1 )
+            {
+                int mid = ( lo + hi ) >>> 1;
+                ArtifactVersion midRequires = getRequiredMavenVersion( mid );
+                if ( midRequires == null || !monotone )
+                {
+                    return null;
+                }
+                if ( midRequires.compareTo( requires ) >= 0 )
+                {
+                    hi = mid;
+                }
+                else
+                {
+                    lo = mid;
+                }
+            }
+            result.put( requires, versions[top] );
+            top = hi - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether a version works with the version of Maven, or <code>null</code> if the search can no longer
+     * bisect.
+     */
+    private Boolean works( int index, ArtifactVersion mavenVersion )
+        throws MojoExecutionException
+    {
+        final ArtifactVersion requires = getRequiredMavenVersion( index );
+        if ( requires == null )
+        {
+            monotone = false;
+        }
+        return monotone ? Boolean.valueOf( mavenVersion.compareTo( requires ) >= 0 ) : null;
+    }
+
+    private ArtifactVersion getRequiredMavenVersion( int index )
+        throws MojoExecutionException
+    {
+        final Integer key = Integer.valueOf( index );
+        if ( probed.containsKey( key ) )
+        {
+            return probed.get( key );
+        }
+        final ArtifactVersion requires = probe.getRequiredMavenVersion( versions[index] );
+        probed.put( key, requires );
+        if ( requires != null )
+        {
+            // the versions known so far are in order, so comparing with the nearest ones is enough
+            final SortedMap<Integer, ArtifactVersion> older = known.headMap( key );
+            final SortedMap<Integer, ArtifactVersion> newer = known.tailMap( key );
+            if ( ( !older.isEmpty() && older.get( older.lastKey() ).compareTo( requires ) > 0 )
+                || ( !newer.isEmpty() && newer.get( newer.firstKey() ).compareTo( requires ) < 0 ) )
+            {
+                monotone = false;
+            }
+            known.put( key, requires );
+        }
+        return requires;
+    }
+
+    /**
+     * Finds out the version of Maven a version of a plugin requires.
+     *
+     * @since 2.2
+     */
+    public interface Probe
+    {
+        /**
+         * Returns the version of Maven a version of the plugin requires.
+         *
+         * @param version The version of the plugin.
+         * @return the required version of Maven or <code>null</code> if the version of the plugin cannot be used.
+         * @throws MojoExecutionException if things go wrong.
+         * @since 2.2
+         */
+        ArtifactVersion getRequiredMavenVersion( ArtifactVersion version )
+            throws MojoExecutionException;
+    }
+}
@@ -0,0 +1,342 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.mojo.versions.model.IgnoreVersion;
+import org.codehaus.mojo.versions.model.Rule;
+import org.codehaus.mojo.versions.model.RuleSet;
+import org.codehaus.mojo.versions.utils.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * An index over the rules of a rule set that finds the best fitting rule for an artifact without compiling any
+ * patterns at lookup time.
+ * <p/>
+ * The wildcards of every rule are compiled once. Rules are then filed in a trie under the literal prefix of their
+ * groupId (the whole groupId when it has no wildcards, otherwise the part before the first wildcard), so that only
+ * the rules whose prefix matches the start of the groupId being looked up are considered. The best fit for each
+ * <code>groupId:artifactId</code> is remembered, so repeated lookups are a single hash lookup. The versions to ignore
+ * for a rule (its own plus the global ones) are compiled into an {@link IgnoreVersionsMatcher} that is kept with the
+ * rule. The matcher is looked up by the rule rather than by the artifact, so that the versions ignored always follow
+ * the rule that {@link DefaultVersionsHelper#getBestFitRule(String, String)} picks, even when that is overridden.
+ *
+ * @since 2.2
+ */
+final class RuleIndex
+{
+    private final Log log;
+
+    private final List<IgnoreVersion> globalIgnoreVersions;
+
+    /**
+     * Stands for the absence of a rule, so that the global ignore versions can be kept with it.
+     */
+    private final CompiledRule noRule = new CompiledRule( -1, new Rule() );
+
+    private final Node root = new Node();
+
+    private final Map<Rule, CompiledRule> compiledRules = new IdentityHashMap<Rule, CompiledRule>();
+
+    private final ConcurrentMap<String, CompiledRule> bestFits = new ConcurrentHashMap<String, CompiledRule>();
+
+    RuleIndex( RuleSet ruleSet, Log log )
+    {
+        this.log = log;
+        this.globalIgnoreVersions = validIgnoreVersions( ruleSet.getIgnoreVersions(), "global ignoreVersion", true );
+        final List<Rule> rules = ruleSet.getRules();
+        if ( rules == null )
+        {
+            return;
+        }
+        int index = 0;
+        for ( Rule rule : rules )
+        {
+            CompiledRule compiled = new CompiledRule( index++, rule );
+            compiledRules.put( rule, compiled );
+            String groupId = compiled.groupId;
+            int end = groupId.length();
+            for ( int i = 0; i < groupId.length(); i++ )
+            {
+                char c = groupId.charAt( i );
+                if ( c == '*' || c == '?' )
+                {
+                    end = i;
+                    break;
+                }
+            }
+            Node node = root;
+            for ( int i = 0; i < end; i++ )
+            {
+                node = node.child( groupId.charAt( i ) );
+            }
+            node.rules.add( compiled );
+        }
+    }
+
+    /**
+     * Find the rule, if any, which best fits the artifact details given.
+     *
+     * @param groupId    Group id of the artifact
+     * @param artifactId Artifact id of the artifact
+     * @return Rule which best describes the given artifact
+     */
+    Rule getBestFitRule( String groupId, String artifactId )
+    {
+        final CompiledRule bestFit = getBestFit( groupId, artifactId );
+        return bestFit == noRule ? null : bestFit.rule;
+    }
+
+    /**
+     * Returns the matcher for the versions to ignore under a rule, that is the global ignore versions plus those of
+     * the rule.
+     *
+     * @param rule The rule, which need not be one of the rule set, or <code>null</code> for only the global ignore
+     *             versions.
+     * @return the matcher for the versions to ignore.
+     */
+    IgnoreVersionsMatcher getIgnoreVersionsMatcher( Rule rule )
+    {
+        final CompiledRule compiled = rule == null ? noRule : compiledRules.get( rule );
+        if ( compiled == null )
+        {
+            // a rule from outside the rule set is not kept, so its matcher is not either
+            return createIgnoreVersionsMatcher( rule );
+        }
+        IgnoreVersionsMatcher matcher = compiled.ignoreVersionsMatcher;
+        if ( matcher == null )
+        {
+            matcher = createIgnoreVersionsMatcher( rule );
+            compiled.ignoreVersionsMatcher = matcher;
+        }
+        return matcher;
+    }
+
+    private IgnoreVersionsMatcher createIgnoreVersionsMatcher( Rule rule )
+    {
+        final List<IgnoreVersion> ignoreVersions = new ArrayList<IgnoreVersion>( globalIgnoreVersions );
+        if ( rule != null )
+        {
+            ignoreVersions.addAll( validIgnoreVersions( rule.getIgnoreVersions(), rule.toString(), false ) );
+        }
+        return new IgnoreVersionsMatcher( ignoreVersions );
+    }
+
+    private CompiledRule getBestFit( String groupId, String artifactId )
+    {
+        final String key = groupId + ':' + artifactId;
+        CompiledRule bestFit = bestFits.get( key );
+        if ( bestFit == null )
+        {
+            bestFit = findBestFit( groupId, artifactId );
+            if ( bestFit == null )
+            {
+                bestFit = noRule;
+            }
+            bestFits.putIfAbsent( key, bestFit );
+        }
+        return bestFit;
+    }
+
+    private List<IgnoreVersion> validIgnoreVersions( List<IgnoreVersion> ignoreVersions, String owner,
+                                                     boolean perIgnoreVersion )
+    {
+        final List<IgnoreVersion> result = new ArrayList<IgnoreVersion>();
+        if ( ignoreVersions == null )
+        {
+            return result;
+        }
+        for ( IgnoreVersion ignoreVersion : ignoreVersions )
+        {
+            if ( !IgnoreVersionsMatcher.TYPE_EXACT.equals( ignoreVersion.getType() )
+                && !IgnoreVersionsMatcher.TYPE_REGEX.equals( ignoreVersion.getType() ) )
+            {
+                log.warn( "The type attribute '" + ignoreVersion.getType() + "' for " + owner
+                              + ( perIgnoreVersion ? "[" + ignoreVersion + "]" : "" ) + " is not valid."
+                              + " Please use either '" + IgnoreVersionsMatcher.TYPE_EXACT + "' or '"
+                              + IgnoreVersionsMatcher.TYPE_REGEX + "'." );
+            }
+            else
+            {
+                result.add( ignoreVersion );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies the same scoring as a linear walk over all the rules, but only to the candidates whose literal prefix
+     * matches. Rules that do not match the groupId never change the outcome of the walk, so skipping them gives the
+     * same result.
+     */
+    private CompiledRule findBestFit( String groupId, String artifactId )
+    {
+        final List<CompiledRule> candidates = getCandidates( groupId );
+        CompiledRule bestFit = null;
+        int bestGroupIdScore = Integer.MAX_VALUE;
+        int bestArtifactIdScore = Integer.MAX_VALUE;
+        boolean exactGroupId = false;
+        boolean exactArtifactId = false;
+        for ( CompiledRule rule : candidates )
+        {
+            int groupIdScore = rule.groupIdScore;
+            if ( groupIdScore > bestGroupIdScore )
+            {
+                continue;
+            }
+            boolean exactMatch = rule.groupIdExact.matcher( groupId ).matches();
+            boolean match = exactMatch || rule.groupIdPrefix.matcher( groupId ).matches();
+            if ( !match || ( exactGroupId && !exactMatch ) )
+            {
+                continue;
+            }
+            if ( bestGroupIdScore > groupIdScore )
+            {
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            bestGroupIdScore = groupIdScore;
+            if ( exactMatch && !exactGroupId )
+            {
+                exactGroupId = true;
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            int artifactIdScore = rule.artifactIdScore;
+            if ( artifactIdScore > bestArtifactIdScore )
+            {
+                continue;
+            }
+            exactMatch = rule.artifactIdExact.matcher( artifactId ).matches();
+            match = exactMatch || rule.artifactIdPrefix.matcher( artifactId ).matches();
+            if ( !match || ( exactArtifactId && !exactMatch ) )
+            {
+                continue;
+            }
+            bestArtifactIdScore = artifactIdScore;
+            if ( exactMatch && !exactArtifactId )
+            {
+                exactArtifactId = true;
+            }
+            bestFit = rule;
+        }
+        return bestFit;
+    }
+
+    /**
+     * Returns the rules whose literal groupId prefix is a prefix of the groupId, in rule set order.
+     */
+    private List<CompiledRule> getCandidates( String groupId )
+    {
+        final List<CompiledRule> candidates = new ArrayList<CompiledRule>();
+        Node node = root;
+        int i = 0;
+        while ( node != null )
+        {
+            candidates.addAll( node.rules );
+            node = i < groupId.length() ? node.children.get( Character.valueOf( groupId.charAt( i++ ) ) ) : null;
+        }
+        Collections.sort( candidates, RULE_ORDER );
+        return candidates;
+    }
+
+    private static final Comparator<CompiledRule> RULE_ORDER = new Comparator<CompiledRule>()
+    {
+        public int compare( CompiledRule r1, CompiledRule r2 )
+        {
+            return r1.index < r2.index ? -1 : ( r1.index == r2.index ? 0 : 1 );
+        }
+    };
+
+    /**
+     * A node of the groupId prefix trie.
+     */
+    private static final class Node
+    {
+        private final Map<Character, Node> children = new HashMap<Character, Node>();
+
+        private final List<CompiledRule> rules = new ArrayList<CompiledRule>();
+
+        Node child( char c )
+        {
+            final Character key = Character.valueOf( c );
+            Node child = children.get( key );
+            if ( child == null )
+            {
+                child = new Node();
+                children.put( key, child );
+            }
+            return child;
+        }
+    }
+
+    /**
+     * A rule with its wildcards compiled.
+     */
+    private static final class CompiledRule
+    {
+        private final int index;
+
+        private final Rule rule;
+
+        private final String groupId;
+
+        private final int groupIdScore;
+
+        private final Pattern groupIdExact;
+
+        private final Pattern groupIdPrefix;
+
+        private final int artifactIdScore;
+
+        private final Pattern artifactIdExact;
+
+        private final Pattern artifactIdPrefix;
+
+        /**
+         * The versions to ignore for this rule, compiled on first use.
+         */
+        private volatile IgnoreVersionsMatcher ignoreVersionsMatcher;
+
+        CompiledRule( int index, Rule rule )
+        {
+            this.index = index;
+            this.rule = rule;
+            this.groupId = rule.getGroupId() == null ? "*" : rule.getGroupId();
+            final String artifactId = rule.getArtifactId() == null ? "*" : rule.getArtifactId();
+            this.groupIdScore = RegexUtils.getWildcardScore( groupId );
+            this.groupIdExact = Pattern.compile( RegexUtils.convertWildcardsToRegex( groupId, true ) );
+            this.groupIdPrefix = Pattern.compile( RegexUtils.convertWildcardsToRegex( groupId, false ) );
+            this.artifactIdScore = RegexUtils.getWildcardScore( artifactId );
+            this.artifactIdExact = Pattern.compile( RegexUtils.convertWildcardsToRegex( artifactId, true ) );
+            this.artifactIdPrefix = Pattern.compile( RegexUtils.convertWildcardsToRegex( artifactId, false ) );
+        }
+    }
+}
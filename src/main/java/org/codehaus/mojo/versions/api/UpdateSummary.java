@@ -0,0 +1,85 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+
+/**
+ * The oldest and newest updates of a version in every {@link UpdateScope}, as computed in one go by
+ * {@link VersionDetails#getUpdateSummary(ArtifactVersion, boolean)}.
+ *
+ * @since 2.2
+ */
+public final class UpdateSummary
+{
+    private final ArtifactVersion[] oldest;
+
+    private final ArtifactVersion[] newest;
+
+    UpdateSummary( ArtifactVersion[] oldest, ArtifactVersion[] newest )
+    {
+        this.oldest = oldest;
+        this.newest = newest;
+    }
+
+    /**
+     * Returns the oldest update within the specified update scope.
+     *
+     * @param updateScope the update scope to include.
+     * @return the oldest update within the specified update scope or <code>null</code> if no version is available.
+     * @since 2.2
+     */
+    public ArtifactVersion getOldestUpdate( UpdateScope updateScope )
+    {
+        return oldest[updateScope.ordinal()];
+    }
+
+    /**
+     * Returns the newest update within the specified update scope.
+     *
+     * @param updateScope the update scope to include.
+     * @return the newest update within the specified update scope or <code>null</code> if no version is available.
+     * @since 2.2
+     */
+    public ArtifactVersion getNewestUpdate( UpdateScope updateScope )
+    {
+        return newest[updateScope.ordinal()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append( "UpdateSummary{" );
+        for ( UpdateScope updateScope : UpdateScope.values() )
+        {
+            if ( updateScope.ordinal() > 0 )
+            {
+                sb.append( ", " );
+            }
+            sb.append( updateScope ).append( "=[" ).append( oldest[updateScope.ordinal()] ).append( ", " );
+            sb.append( newest[updateScope.ordinal()] ).append( ']' );
+        }
+        sb.append( '}' );
+        return sb.toString();
+    }
+}
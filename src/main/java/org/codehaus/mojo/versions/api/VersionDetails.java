@@ -574,4 +574,34 @@ public interface VersionDetails
      */
     ArtifactVersion[] getAllUpdates( VersionRange versionRange, boolean includeSnapshots );
 
+    /**
+     * Returns the oldest and newest updates of the current version in every {@link UpdateScope}, computing the segment
+     * boundaries of the current version only once. Prefer this over asking for each scope in turn.
+     *
+     * @return the updates in every scope, all of which are <code>null</code> if there is no current version.
+     * @since 2.2
+     */
+    UpdateSummary getUpdateSummary();
+
+    /**
+     * Returns the oldest and newest updates of the current version in every {@link UpdateScope}, computing the segment
+     * boundaries of the current version only once. Prefer this over asking for each scope in turn.
+     *
+     * @param includeSnapshots <code>true</code> if snapshots are to be included.
+     * @return the updates in every scope, all of which are <code>null</code> if there is no current version.
+     * @since 2.2
+     */
+    UpdateSummary getUpdateSummary( boolean includeSnapshots );
+
+    /**
+     * Returns the oldest and newest updates of the specified version in every {@link UpdateScope}, computing the
+     * segment boundaries of the version only once. Prefer this over asking for each scope in turn.
+     *
+     * @param currentVersion   the current version.
+     * @param includeSnapshots <code>true</code> if snapshots are to be included.
+     * @return the updates in every scope.
+     * @since 2.2
+     */
+    UpdateSummary getUpdateSummary( ArtifactVersion currentVersion, boolean includeSnapshots );
+
 }
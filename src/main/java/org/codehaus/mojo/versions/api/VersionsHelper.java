@@ -173,6 +173,21 @@ public interface VersionsHelper
     ArtifactVersions lookupArtifactVersions( Artifact artifact, boolean usePluginRepositories )
         throws ArtifactMetadataRetrievalException;
 
+    /**
+     * Looks up the versions of each of the specified artifacts in parallel.
+     *
+     * @param artifacts             The artifacts to look for versions of.
+     * @param usePluginRepositories <code>true</code> will consult the pluginRepositories, while <code>false</code>
+     *                              will consult the repositories for normal dependencies.
+     * @return A map, keyed by artifact in the order given, with the details of the available artifact versions.
+     * @throws ArtifactMetadataRetrievalException
+     *          When things go wrong.
+     * @since 2.2
+     */
+    Map<Artifact, ArtifactVersions> lookupArtifactVersions( Collection<Artifact> artifacts,
+                                                            boolean usePluginRepositories )
+        throws ArtifactMetadataRetrievalException;
+
     /**
      * Looks up the updates of an artifact.
      *
@@ -0,0 +1,151 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.api.LookupExecutor;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Utility.
+ *
+ * @since 2.2
+ */
+public final class BackupStrategies
+{
+    /**
+     * Copies each pom to a <code>.versionsBackup</code> file next to it.
+     */
+    public static final String COPY = "copy";
+
+    /**
+     * Hard links each pom as a <code>.versionsBackup</code> file next to it.
+     */
+    public static final String LINK = "link";
+
+    /**
+     * Keeps the poms of the whole reactor in a single compressed journal in the directory the build was started from.
+     */
+    public static final String JOURNAL = "journal";
+
+    /**
+     * Keeps the poms of the whole reactor in memory for the duration of the build.
+     */
+    public static final String MEMORY = "memory";
+
+    /**
+     * The strategies which hold state, by session and then by journal file or name.
+     */
+    private static final Map<Object, Map<String, BackupStrategy>> INSTANCES =
+        new WeakHashMap<Object, Map<String, BackupStrategy>>();
+
+    private BackupStrategies()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Returns the backup strategy to use.
+     *
+     * @param name    the name of the backup strategy, which defaults to {@link #COPY}.
+     * @param session the session that the strategies holding state are scoped to, or <code>null</code>.
+     * @param root    the directory the build was started from.
+     * @return the backup strategy to use.
+     */
+    public static BackupStrategy getBackupStrategy( String name, Object session, File root )
+    {
+        return getBackupStrategy( name, session, root, null );
+    }
+
+    /**
+     * Returns the backup strategy to use.
+     *
+     * @param name     the name of the backup strategy, which defaults to {@link #COPY}.
+     * @param session  the session that the strategies holding state are scoped to, or <code>null</code>.
+     * @param root     the directory the build was started from.
+     * @param executor the executor used by the strategies that work on many files at once, or <code>null</code>.
+     * @return the backup strategy to use.
+     */
+    public static BackupStrategy getBackupStrategy( String name, Object session, File root, LookupExecutor executor )
+    {
+        if ( LINK.equalsIgnoreCase( name ) )
+        {
+            return new LinkBackupStrategy();
+        }
+        else if ( JOURNAL.equalsIgnoreCase( name ) )
+        {
+            File journal = new File( root, JournalBackupStrategy.JOURNAL_NAME );
+            JournalBackupStrategy strategy = (JournalBackupStrategy) getInstance( session, journal.getAbsolutePath() );
+            if ( strategy == null )
+            {
+                strategy = (JournalBackupStrategy) putInstance( session, journal.getAbsolutePath(),
+                                                                new JournalBackupStrategy( journal ) );
+            }
+            strategy.setExecutor( executor );
+            return strategy;
+        }
+        else if ( MEMORY.equalsIgnoreCase( name ) )
+        {
+            BackupStrategy strategy = getInstance( session, MEMORY );
+            return strategy == null ? putInstance( session, MEMORY, new MemoryBackupStrategy() ) : strategy;
+        }
+        return new CopyBackupStrategy();
+    }
+
+    private static BackupStrategy getInstance( Object session, String key )
+    {
+        if ( session == null )
+        {
+            return null;
+        }
+        synchronized ( INSTANCES )
+        {
+            Map<String, BackupStrategy> instances = INSTANCES.get( session );
+            return instances == null ? null : instances.get( key );
+        }
+    }
+
+    private static BackupStrategy putInstance( Object session, String key, BackupStrategy strategy )
+    {
+        if ( session == null )
+        {
+            return strategy;
+        }
+        synchronized ( INSTANCES )
+        {
+            Map<String, BackupStrategy> instances = INSTANCES.get( session );
+            if ( instances == null )
+            {
+                instances = new HashMap<String, BackupStrategy>();
+                INSTANCES.put( session, instances );
+            }
+            BackupStrategy existing = instances.get( key );
+            if ( existing != null )
+            {
+                return existing;
+            }
+            instances.put( key, strategy );
+            return strategy;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A way of backing up poms before they are first changed, so that the changes can later be reverted or committed.
+ *
+ * @since 2.2
+ */
+public interface BackupStrategy
+{
+    /**
+     * Backs up a file that is about to be changed, unless it has already been backed up, in which case the existing
+     * backup is left as it is. The file will only ever be changed by replacing it with a new file.
+     *
+     * @param file the file.
+     * @return <code>true</code> if a backup was made, <code>false</code> if there already was one.
+     * @throws IOException if the file could not be backed up.
+     */
+    boolean backup( File file )
+        throws IOException;
+
+    /**
+     * Records that a file which has been backed up has been changed.
+     *
+     * @param file  the file.
+     * @param hash  the SHA-1 hash of the new content of the file.
+     * @param edits descriptions of the changes made to the file.
+     * @throws IOException if the change could not be recorded.
+     */
+    void changed( File file, String hash, List<String> edits )
+        throws IOException;
+
+    /**
+     * Restores the backups covering a file. Strategies that keep one backup per file restore just that file, while
+     * strategies that keep a single backup of the whole reactor restore every file in it. Strategies that record the
+     * changes refuse to restore a file that has been changed by anything else since, unless forced to.
+     *
+     * @param file  the file.
+     * @param force <code>true</code> to restore files even if they have been changed by anything else.
+     * @return the files that were restored.
+     * @throws IOException if the files could not be restored.
+     */
+    List<File> restore( File file, boolean force )
+        throws IOException;
+
+    /**
+     * Throws away the backups covering a file, thereby accepting the changes. Strategies that keep a single backup of
+     * the whole reactor accept the changes to every file in it.
+     *
+     * @param file the file.
+     * @return the files whose changes were accepted.
+     * @throws IOException if the backups could not be thrown away.
+     */
+    List<File> discard( File file )
+        throws IOException;
+}
@@ -0,0 +1,79 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Helper methods for the backup strategies that keep the content of the backed up files themselves.
+ *
+ * @since 2.2
+ */
+final class BackupUtils
+{
+    private BackupUtils()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Reads the whole of a file.
+     *
+     * @param file the file.
+     * @return the content of the file.
+     * @throws IOException if the file could not be read.
+     */
+    static byte[] readBytes( File file )
+        throws IOException
+    {
+        InputStream in = new FileInputStream( file );
+        try
+        {
+            return IOUtil.toByteArray( in );
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    /**
+     * Returns the canonical path of a file, or failing that its absolute path.
+     *
+     * @param file the file.
+     * @return the path.
+     */
+    static String getPath( File file )
+    {
+        try
+        {
+            return file.getCanonicalPath();
+        }
+        catch ( IOException e )
+        {
+            return file.getAbsolutePath();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Backs up each pom by copying it to a <code>.versionsBackup</code> file next to it.
+ *
+ * @since 2.2
+ */
+public class CopyBackupStrategy
+    implements BackupStrategy
+{
+    /**
+     * Returns the backup file of a file.
+     *
+     * @param file the file.
+     * @return the backup file.
+     */
+    protected File getBackupFile( File file )
+    {
+        return new File( file.getParentFile(), file.getName() + ".versionsBackup" );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean backup( File file )
+        throws IOException
+    {
+        File backupFile = getBackupFile( file );
+        if ( backupFile.exists() )
+        {
+            return false;
+        }
+        FileUtils.copyFile( file, backupFile );
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void changed( File file, String hash, List<String> edits )
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<File> restore( File file, boolean force )
+        throws IOException
+    {
+        File backupFile = getBackupFile( file );
+        if ( !backupFile.exists() )
+        {
+            return Collections.emptyList();
+        }
+        FileUtils.copyFile( backupFile, file );
+        FileUtils.forceDelete( backupFile );
+        return Collections.singletonList( file );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<File> discard( File file )
+        throws IOException
+    {
+        File backupFile = getBackupFile( file );
+        if ( !backupFile.exists() )
+        {
+            return Collections.emptyList();
+        }
+        FileUtils.forceDelete( backupFile );
+        return Collections.singletonList( file );
+    }
+}
@@ -0,0 +1,530 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.api.LookupExecutor;
+import org.codehaus.mojo.versions.utils.AtomicFileWriter;
+import org.codehaus.mojo.versions.utils.Digests;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Backs up the poms of the whole reactor into a single compressed journal file, which records for each pom its
+ * original content and hash, and the hash of the pom and the edits made every time it is changed. Restoring or
+ * discarding acts on every pom in the journal at once, with the poms checked and restored in parallel.
+ * <p/>
+ * Before restoring anything the hashes are checked, so that a pom which has been changed by anything else since is
+ * not silently overwritten, and a pom that is already back to its original content, as after a revert that was
+ * interrupted, is left alone.
+ * <p/>
+ * The journal is a sequence of records, each of which is either a backup, being the path of the pom, the hash of its
+ * content, the length of its content and the deflated content, or a change, being the path of the pom, the hash of its
+ * new content and the descriptions of the edits. Each record is appended with a single write. A build killed while
+ * appending can still leave the last record cut short, and such a record is dropped when the journal is next read.
+ *
+ * @since 2.2
+ */
+public class JournalBackupStrategy
+    implements BackupStrategy
+{
+    /**
+     * The name of the journal file.
+     */
+    public static final String JOURNAL_NAME = "versionsBackup.journal";
+
+    private static final byte BACKUP = 'B';
+
+    private static final byte CHANGE = 'C';
+
+    /**
+     * The longest description of an edit that is recorded, as a record string has to fit in 64k bytes.
+     */
+    private static final int MAX_EDIT_LENGTH = 1024;
+
+    private final File journal;
+
+    private volatile LookupExecutor executor;
+
+    /**
+     * The paths of the files in the journal, or <code>null</code> if the journal has not been read yet. Guarded by
+     * this.
+     */
+    private Set<String> paths;
+
+    /**
+     * Creates a new journal backup strategy.
+     *
+     * @param journal the journal file.
+     */
+    public JournalBackupStrategy( File journal )
+    {
+        this.journal = journal;
+    }
+
+    /**
+     * Sets the executor used to check and restore the files in parallel.
+     *
+     * @param executor the executor or <code>null</code> to work through the files one after the other.
+     */
+    public void setExecutor( LookupExecutor executor )
+    {
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized boolean backup( File file )
+        throws IOException
+    {
+        final String path = BackupUtils.getPath( file );
+        if ( getPaths().contains( path ) )
+        {
+            return false;
+        }
+        final byte[] content = BackupUtils.readBytes( file );
+        final byte[] deflated = deflate( content );
+        final ByteArrayOutputStream record = new ByteArrayOutputStream( deflated.length + path.length() + 64 );
+        final DataOutputStream out = new DataOutputStream( record );
+        out.writeByte( BACKUP );
+        out.writeUTF( path );
+        out.writeUTF( Digests.sha1( content ) );
+        out.writeInt( content.length );
+        out.writeInt( deflated.length );
+        out.write( deflated );
+        append( record );
+        paths.add( path );
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void changed( File file, String hash, List<String> edits )
+        throws IOException
+    {
+        // make sure that a record cut short by an earlier build is dropped before appending to it
+        getPaths();
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream( record );
+        out.writeByte( CHANGE );
+        out.writeUTF( BackupUtils.getPath( file ) );
+        out.writeUTF( hash );
+        out.writeInt( edits.size() );
+        for ( String edit : edits )
+        {
+            out.writeUTF( edit.length() > MAX_EDIT_LENGTH ? edit.substring( 0, MAX_EDIT_LENGTH ) + "..." : edit );
+        }
+        append( record );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized List<File> restore( File file, boolean force )
+        throws IOException
+    {
+        if ( !journal.exists() )
+        {
+            return Collections.emptyList();
+        }
+        final List<Entry> entries = new ArrayList<Entry>( readJournal( true ).values() );
+        checkAll( entries );
+
+        final List<String> conflicts = new ArrayList<String>();
+        final List<Callable<File>> restores = new ArrayList<Callable<File>>();
+        for ( final Entry entry : entries )
+        {
+            if ( entry.isRestored() )
+            {
+                continue;
+            }
+            if ( entry.isConflict() && !force )
+            {
+                conflicts.add( entry.path );
+                continue;
+            }
+            restores.add( new Callable<File>()
+            {
+                public File call()
+                    throws IOException
+                {
+                    if ( !entry.originalHash.equals( Digests.sha1( entry.content ) ) )
+                    {
+                        throw new IOException( "The backup of " + entry.path + " in " + journal + " is corrupt" );
+                    }
+                    final File original = new File( entry.path );
+                    AtomicFileWriter.writeBytes( original, entry.content );
+                    return original;
+                }
+            } );
+        }
+        if ( !conflicts.isEmpty() )
+        {
+            throw new IOException( "Not restoring anything as " + conflicts + " have been changed since they were "
+                                       + "updated, restore them anyway by forcing the revert" );
+        }
+        final List<File> restored = run( restores );
+        FileUtils.forceDelete( journal );
+        paths = null;
+        return restored;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Returns only the files which still have the content of their last recorded change.
+     */
+    public synchronized List<File> discard( File file )
+        throws IOException
+    {
+        if ( !journal.exists() )
+        {
+            return Collections.emptyList();
+        }
+        final List<Entry> entries = new ArrayList<Entry>( readJournal( false ).values() );
+        checkAll( entries );
+        final List<File> files = new ArrayList<File>( entries.size() );
+        for ( Entry entry : entries )
+        {
+            if ( entry.isChanged() )
+            {
+                files.add( new File( entry.path ) );
+            }
+        }
+        FileUtils.forceDelete( journal );
+        paths = null;
+        return files;
+    }
+
+    private void append( ByteArrayOutputStream record )
+        throws IOException
+    {
+        final FileOutputStream out = new FileOutputStream( journal, true );
+        try
+        {
+            record.writeTo( out );
+            out.close();
+        }
+        finally
+        {
+            IOUtil.close( out );
+        }
+    }
+
+    private Set<String> getPaths()
+        throws IOException
+    {
+        if ( paths == null )
+        {
+            paths = new LinkedHashSet<String>( readJournal( false ).keySet() );
+        }
+        return paths;
+    }
+
+    /**
+     * Works out the current hash of every file.
+     */
+    private void checkAll( List<Entry> entries )
+        throws IOException
+    {
+        final List<Callable<File>> checks = new ArrayList<Callable<File>>( entries.size() );
+        for ( final Entry entry : entries )
+        {
+            checks.add( new Callable<File>()
+            {
+                public File call()
+                    throws IOException
+                {
+                    final File current = new File( entry.path );
+                    entry.currentHash = current.isFile() ? Digests.sha1( BackupUtils.readBytes( current ) ) : null;
+                    return current;
+                }
+            } );
+        }
+        run( checks );
+    }
+
+    private List<File> run( List<Callable<File>> tasks )
+        throws IOException
+    {
+        final LookupExecutor executor = this.executor;
+        try
+        {
+            if ( executor != null )
+            {
+                return executor.invokeAll( tasks );
+            }
+            final List<File> results = new ArrayList<File>( tasks.size() );
+            for ( Callable<File> task : tasks )
+            {
+                results.add( task.call() );
+            }
+            return results;
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IOException )
+            {
+                throw (IOException) e.getCause();
+            }
+            if ( e.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw (IOException) new IOException( e.getCause().getMessage() ).initCause( e.getCause() );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw (IOException) new IOException( e.getMessage() ).initCause( e );
+        }
+        catch ( IOException e )
+        {
+            throw e;
+        }
+        catch ( RuntimeException e )
+        {
+            throw e;
+        }
+        catch ( Exception e )
+        {
+            throw (IOException) new IOException( e.getMessage() ).initCause( e );
+        }
+    }
+
+    /**
+     * Reads the journal, which must be done while holding the lock. A last record that was cut short is cut off the
+     * journal, so that the next record appended to it can be read.
+     *
+     * @param withContent <code>true</code> to read the original content of the files too.
+     * @return the entries of the journal by path.
+     */
+    private Map<String, Entry> readJournal( boolean withContent )
+        throws IOException
+    {
+        final Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+        if ( !journal.exists() )
+        {
+            return entries;
+        }
+        final byte[] data = BackupUtils.readBytes( journal );
+        final DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ) );
+        int complete = 0;
+        try
+        {
+            while ( complete < data.length )
+            {
+                final byte type = in.readByte();
+                final String path = in.readUTF();
+                final String hash = in.readUTF();
+                if ( type == BACKUP )
+                {
+                    final int length = in.readInt();
+                    final byte[] deflated = new byte[in.readInt()];
+                    in.readFully( deflated );
+                    if ( !entries.containsKey( path ) )
+                    {
+                        entries.put( path, new Entry( path, hash, withContent ? inflate( deflated, length ) : null ) );
+                    }
+                }
+                else if ( type == CHANGE )
+                {
+                    // the edits are only an audit trail, restoring just needs the hash
+                    final int count = in.readInt();
+                    for ( int i = 0; i < count; i++ )
+                    {
+                        in.readUTF();
+                    }
+                    final Entry entry = entries.get( path );
+                    if ( entry != null )
+                    {
+                        entry.changedHash = hash;
+                    }
+                }
+                else
+                {
+                    throw new IOException( "Corrupt backup journal " + journal );
+                }
+                complete = data.length - in.available();
+            }
+        }
+        catch ( EOFException e )
+        {
+            truncate( complete );
+        }
+        return entries;
+    }
+
+    private void truncate( int length )
+        throws IOException
+    {
+        final RandomAccessFile file = new RandomAccessFile( journal, "rw" );
+        try
+        {
+            file.setLength( length );
+        }
+        finally
+        {
+            file.close();
+        }
+    }
+
+    private static byte[] deflate( byte[] content )
+    {
+        Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        try
+        {
+            deflater.setInput( content );
+            deflater.finish();
+            byte[] buf = new byte[Math.max( 64, content.length / 2 )];
+            int length = 0;
+            while ( !deflater.finished() )
+            {
+                if ( length == buf.length )
+                {
+                    byte[] bigger = new byte[buf.length * 2];
+                    System.arraycopy( buf, 0, bigger, 0, length );
+                    buf = bigger;
+                }
+                length += deflater.deflate( buf, length, buf.length - length );
+            }
+            byte[] result = new byte[length];
+            System.arraycopy( buf, 0, result, 0, length );
+            return result;
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate( byte[] deflated, int length )
+        throws IOException
+    {
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput( deflated );
+            byte[] content = new byte[length];
+            int read = 0;
+            while ( read < length && !inflater.finished() )
+            {
+                int count = inflater.inflate( content, read, length - read );
+                if ( count == 0 && ( inflater.needsInput() || inflater.needsDictionary() ) )
+                {
+                    break;
+                }
+                read += count;
+            }
+            if ( read != length )
+            {
+                throw new IOException( "Corrupt backup journal" );
+            }
+            return content;
+        }
+        catch ( DataFormatException e )
+        {
+            IOException ioe = new IOException( "Corrupt backup journal" );
+            ioe.initCause( e );
+            throw ioe;
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    /**
+     * What the journal records about a file.
+     */
+    private static final class Entry
+    {
+        private final String path;
+
+        private final String originalHash;
+
+        private final byte[] content;
+
+        /**
+         * The hash of the last recorded change, or <code>null</code> if no change was recorded.
+         */
+        private String changedHash;
+
+        /**
+         * The hash of the file as it is now, or <code>null</code> if the file is missing.
+         */
+        private volatile String currentHash;
+
+        Entry( String path, String originalHash, byte[] content )
+        {
+            this.path = path;
+            this.originalHash = originalHash;
+            this.content = content;
+        }
+
+        /**
+         * Returns <code>true</code> if the file has its original content.
+         */
+        boolean isRestored()
+        {
+            return originalHash.equals( currentHash );
+        }
+
+        /**
+         * Returns <code>true</code> if the file has the content of its last recorded change, or if no change was
+         * recorded, is no longer the original.
+         */
+        boolean isChanged()
+        {
+            return changedHash == null ? !isRestored() : changedHash.equals( currentHash );
+        }
+
+        /**
+         * Returns <code>true</code> if the file has been changed by something else since its last recorded change.
+         */
+        boolean isConflict()
+        {
+            return changedHash != null && !isChanged() && !isRestored();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.utils.NioFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Backs up each pom by making a hard link to it as its <code>.versionsBackup</code> file, which costs no copying. This
+ * is safe because poms are only ever changed by renaming a new file over them, which leaves the linked original as it
+ * was. Where hard links are not available (they need Java 7 and a file system that supports them) the pom is copied
+ * instead. Restoring renames the backup back over the pom.
+ *
+ * @since 2.2
+ */
+public class LinkBackupStrategy
+    extends CopyBackupStrategy
+{
+    /**
+     * {@inheritDoc}
+     */
+    public boolean backup( File file )
+        throws IOException
+    {
+        File backupFile = getBackupFile( file );
+        if ( backupFile.exists() )
+        {
+            return false;
+        }
+        if ( NioFileUtils.createLink( backupFile, file ) )
+        {
+            return true;
+        }
+        // e.g. the file system does not support links, fall back to a copy
+        return super.backup( file );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<File> restore( File file, boolean force )
+        throws IOException
+    {
+        File backupFile = getBackupFile( file );
+        if ( backupFile.exists() && backupFile.renameTo( file ) )
+        {
+            return Collections.singletonList( file );
+        }
+        return super.restore( file, force );
+    }
+}
@@ -0,0 +1,97 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.utils.AtomicFileWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backs up the poms of the whole reactor in memory only, which is an undo journal for goals that are reverted or
+ * committed later in the same build. Restoring or discarding acts on every pom at once.
+ *
+ * @since 2.2
+ */
+public class MemoryBackupStrategy
+    implements BackupStrategy
+{
+    /**
+     * The original content of the files, keyed by path. Guarded by this.
+     */
+    private final Map<String, byte[]> originals = new LinkedHashMap<String, byte[]>();
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized boolean backup( File file )
+        throws IOException
+    {
+        final String path = BackupUtils.getPath( file );
+        if ( originals.containsKey( path ) )
+        {
+            return false;
+        }
+        originals.put( path, BackupUtils.readBytes( file ) );
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void changed( File file, String hash, List<String> edits )
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized List<File> restore( File file, boolean force )
+        throws IOException
+    {
+        final List<File> files = new ArrayList<File>( originals.size() );
+        for ( Map.Entry<String, byte[]> entry : originals.entrySet() )
+        {
+            File original = new File( entry.getKey() );
+            AtomicFileWriter.writeBytes( original, entry.getValue() );
+            files.add( original );
+        }
+        originals.clear();
+        return files;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized List<File> discard( File file )
+    {
+        final List<File> files = new ArrayList<File>( originals.size() );
+        for ( String path : originals.keySet() )
+        {
+            files.add( new File( path ) );
+        }
+        originals.clear();
+        return files;
+    }
+}
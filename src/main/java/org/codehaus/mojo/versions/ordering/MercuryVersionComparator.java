@@ -36,12 +36,23 @@ public class MercuryVersionComparator
 {
     private static final BigInteger BIG_INTEGER_ONE = new BigInteger( "1" );
 
+    /**
+     * The parsed versions, shared by all instances as this comparator is stateless.
+     */
+    private static final VersionKeyCache<ComparableVersion> KEYS = new VersionKeyCache<ComparableVersion>()
+    {
+        protected ComparableVersion parse( String version )
+        {
+            return new ComparableVersion( version );
+        }
+    };
+
     /**
      * {@inheritDoc}
      */
     public int compare( ArtifactVersion o1, ArtifactVersion o2 )
     {
-        return new ComparableVersion( o1.toString() ).compareTo( new ComparableVersion( o2.toString() ) );
+        return KEYS.get( o1.toString() ).compareTo( KEYS.get( o2.toString() ) );
     }
 
     protected int innerGetSegmentCount( ArtifactVersion v )
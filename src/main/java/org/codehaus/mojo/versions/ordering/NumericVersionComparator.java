@@ -35,55 +35,52 @@ import java.util.StringTokenizer;
 public class NumericVersionComparator
     extends AbstractVersionComparator
 {
-    private static final BigInteger BIG_INTEGER_ZERO = new BigInteger( "0" );
-
     private static final BigInteger BIG_INTEGER_ONE = new BigInteger( "1" );
 
+    /**
+     * Marks a token that is not a number in {@link Key#tokenSigns}.
+     */
+    private static final int NOT_A_NUMBER = 2;
+
+    /**
+     * The parsed versions, shared by all instances as this comparator is stateless.
+     */
+    private static final VersionKeyCache<Key> KEYS = new VersionKeyCache<Key>()
+    {
+        protected Key parse( String version )
+        {
+            return new Key( version );
+        }
+    };
+
     /**
      * {@inheritDoc}
      */
     public int compare( ArtifactVersion o1, ArtifactVersion o2 )
     {
-        String v1 = o1.toString();
-        String v2 = o2.toString();
-        StringTokenizer tok1 = new StringTokenizer( v1, "." );
-        StringTokenizer tok2 = new StringTokenizer( v2, "." );
-        while ( tok1.hasMoreTokens() && tok2.hasMoreTokens() )
+        final Key k1 = KEYS.get( o1.toString() );
+        final Key k2 = KEYS.get( o2.toString() );
+        final int common = Math.min( k1.size, k2.size );
+        for ( int i = 0; i < common; i++ )
         {
-            String p1 = tok1.nextToken();
-            String p2 = tok2.nextToken();
-            String q1 = null;
-            String q2 = null;
-            if ( p1.indexOf( '-' ) >= 0 )
-            {
-                int index = p1.indexOf( '-' );
-                q1 = p1.substring( index );
-                p1 = p1.substring( 0, index );
-            }
-            if ( p2.indexOf( '-' ) >= 0 )
-            {
-                int index = p2.indexOf( '-' );
-                q2 = p2.substring( index );
-                p2 = p2.substring( 0, index );
-            }
-            try
+            if ( k1.numbers[i] != null && k2.numbers[i] != null )
             {
-                BigInteger n1 = new BigInteger( p1 );
-                BigInteger n2 = new BigInteger( p2 );
-                int result = n1.compareTo( n2 );
+                int result = k1.compareNumber( i, k2 );
                 if ( result != 0 )
                 {
                     return result;
                 }
             }
-            catch ( NumberFormatException e )
+            else
             {
-                int result = p1.compareTo( p2 );
+                int result = k1.parts[i].compareTo( k2.parts[i] );
                 if ( result != 0 )
                 {
                     return result;
                 }
             }
+            final String q1 = k1.qualifiers[i];
+            final String q2 = k2.qualifiers[i];
             if ( q1 != null && q2 != null )
             {
                 final int result = q1.compareTo( q2 );
@@ -101,47 +98,35 @@ public class NumericVersionComparator
                 return +1;
             }
         }
-        if ( tok1.hasMoreTokens() )
+        if ( k1.size > common )
         {
-            BigInteger n2 = BIG_INTEGER_ZERO;
-            while ( tok1.hasMoreTokens() )
+            for ( int i = common; i < k1.size; i++ )
             {
-                try
-                {
-                    BigInteger n1 = new BigInteger( tok1.nextToken() );
-                    int result = n1.compareTo( n2 );
-                    if ( result != 0 )
-                    {
-                        return result;
-                    }
-                }
-                catch ( NumberFormatException e )
+                if ( k1.tokenSigns[i] == NOT_A_NUMBER )
                 {
                     // any token is better than zero
                     return +1;
                 }
+                if ( k1.tokenSigns[i] != 0 )
+                {
+                    return k1.tokenSigns[i];
+                }
             }
             return -1;
         }
-        if ( tok2.hasMoreTokens() )
+        if ( k2.size > common )
         {
-            BigInteger n1 = BIG_INTEGER_ZERO;
-            while ( tok2.hasMoreTokens() )
+            for ( int i = common; i < k2.size; i++ )
             {
-                try
-                {
-                    BigInteger n2 = new BigInteger( tok2.nextToken() );
-                    int result = n1.compareTo( n2 );
-                    if ( result != 0 )
-                    {
-                        return result;
-                    }
-                }
-                catch ( NumberFormatException e )
+                if ( k2.tokenSigns[i] == NOT_A_NUMBER )
                 {
                     // any token is better than zero
                     return -1;
                 }
+                if ( k2.tokenSigns[i] != 0 )
+                {
+                    return -k2.tokenSigns[i];
+                }
             }
             return +1;
         }
@@ -332,4 +317,88 @@ public class NumericVersionComparator
         }
         return new DefaultArtifactVersion( buf.toString() );
     }
+
+    /**
+     * A version split into its dot separated segments, each segment split into its number and its qualifier (which
+     * starts at the first <code>-</code>) and with the numbers parsed once.
+     */
+    private static final class Key
+    {
+        private final int size;
+
+        private final String[] parts;
+
+        private final String[] qualifiers;
+
+        /**
+         * The numeric value of each part, or <code>null</code> when the part is not a number.
+         */
+        private final BigInteger[] numbers;
+
+        /**
+         * The numeric value of each part when it fits in a <code>long</code>.
+         */
+        private final long[] longs;
+
+        private final boolean[] isLong;
+
+        /**
+         * The sign of each whole token (qualifier included) or {@link #NOT_A_NUMBER}, used when the other version has
+         * no such segment.
+         */
+        private final int[] tokenSigns;
+
+        Key( String version )
+        {
+            StringTokenizer tok = new StringTokenizer( version, "." );
+            size = tok.countTokens();
+            parts = new String[size];
+            qualifiers = new String[size];
+            numbers = new BigInteger[size];
+            longs = new long[size];
+            isLong = new boolean[size];
+            tokenSigns = new int[size];
+            for ( int i = 0; i < size; i++ )
+            {
+                final String token = tok.nextToken();
+                String p = token;
+                final int index = p.indexOf( '-' );
+                if ( index >= 0 )
+                {
+                    qualifiers[i] = p.substring( index );
+                    p = p.substring( 0, index );
+                }
+                parts[i] = p;
+                numbers[i] = toNumber( p );
+                if ( numbers[i] != null && numbers[i].bitLength() < 64 )
+                {
+                    longs[i] = numbers[i].longValue();
+                    isLong[i] = true;
+                }
+                final BigInteger n = toNumber( token );
+                tokenSigns[i] = n == null ? NOT_A_NUMBER : n.signum();
+            }
+        }
+
+        private static BigInteger toNumber( String s )
+        {
+            try
+            {
+                return new BigInteger( s );
+            }
+            catch ( NumberFormatException e )
+            {
+                return null;
+            }
+        }
+
+        int compareNumber( int i, Key other )
+        {
+            if ( isLong[i] && other.isLong[i] )
+            {
+                return longs[i] < other.longs[i] ? -1 : ( longs[i] == other.longs[i] ? 0 : 1 );
+            }
+            return numbers[i].compareTo( other.numbers[i] );
+        }
+    }
 }
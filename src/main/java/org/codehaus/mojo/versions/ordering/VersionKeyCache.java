@@ -0,0 +1,70 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the pre-parsed sort key of each distinct version string, so that a comparator parses a version once no matter
+ * how many times it is sorted or range checked. The cache is bounded: when it is full it is simply emptied.
+ *
+ * @param <K> the type of the sort keys.
+ * @since 2.2
+ */
+abstract class VersionKeyCache<K>
+{
+    private static final int MAX_SIZE = 16384;
+
+    private final ConcurrentMap<String, K> keys = new ConcurrentHashMap<String, K>();
+
+    /**
+     * Returns the sort key of the version, parsing it if required.
+     *
+     * @param version the version.
+     * @return the sort key.
+     */
+    final K get( String version )
+    {
+        K key = keys.get( version );
+        if ( key == null )
+        {
+            if ( keys.size() >= MAX_SIZE )
+            {
+                keys.clear();
+            }
+            key = parse( version );
+            K existing = keys.putIfAbsent( version, key );
+            if ( existing != null )
+            {
+                key = existing;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Parses a version into its sort key.
+     *
+     * @param version the version.
+     * @return the sort key.
+     */
+    protected abstract K parse( String version );
+}
@@ -29,7 +29,10 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.Characters;
 import javax.xml.stream.events.XMLEvent;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents the modified pom file. Note: implementations of the StAX API (JSR-173) are not good round-trip rewriting
@@ -52,13 +55,23 @@ public class ModifiedPomXMLEventReader
     /**
      * Field pom
      */
-    private final StringBuilder pom;
+    private final PieceTable pom;
+
+    /**
+     * The buffer that the pom was read from and that is kept up to date with every change, if any.
+     */
+    private final StringBuilder mirror;
 
     /**
      * Field modified
      */
     private boolean modified = false;
 
+    /**
+     * The changes made, as descriptions.
+     */
+    private final List<String> changes = new ArrayList<String>();
+
     /**
      * Field factory
      */
@@ -119,10 +132,17 @@ public class ModifiedPomXMLEventReader
      */
     private XMLEventReader backing;
 
+    /**
+     * The structural index of the pom, if it has been built.
+     */
+    private PomIndex index;
+
 // --------------------------- CONSTRUCTORS ---------------------------
 
     /**
-     * Constructor ModifiedPomXMLEventReader creates a new ModifiedPomXMLEventReader instance.
+     * Constructor ModifiedPomXMLEventReader creates a new ModifiedPomXMLEventReader instance. Every change is also
+     * made to <code>pom</code>, which means moving the rest of its text on every change; for large poms prefer
+     * {@link #ModifiedPomXMLEventReader(String, XMLInputFactory)} and {@link #asStringBuilder()}.
      *
      * @param pom     of type StringBuilder
      * @param factory of type XMLInputFactory
@@ -130,21 +150,50 @@ public class ModifiedPomXMLEventReader
      */
     public ModifiedPomXMLEventReader( StringBuilder pom, XMLInputFactory factory )
         throws XMLStreamException
+    {
+        this( pom.toString(), pom, factory );
+    }
+
+    /**
+     * Constructor ModifiedPomXMLEventReader creates a new ModifiedPomXMLEventReader instance which keeps the
+     * modified pom to itself, see {@link #asStringBuilder()}.
+     *
+     * @param pom     of type String
+     * @param factory of type XMLInputFactory
+     * @throws XMLStreamException when
+     * @since 2.2
+     */
+    public ModifiedPomXMLEventReader( String pom, XMLInputFactory factory )
+        throws XMLStreamException
+    {
+        this( pom, null, factory );
+    }
+
+    private ModifiedPomXMLEventReader( String pom, StringBuilder mirror, XMLInputFactory factory )
+        throws XMLStreamException
+    {
+        this( new PieceTable( pom ), mirror, factory );
+    }
+
+    private ModifiedPomXMLEventReader( PieceTable pom, StringBuilder mirror, XMLInputFactory factory )
+        throws XMLStreamException
     {
         this.pom = pom;
+        this.mirror = mirror;
         this.factory = factory;
         rewind();
     }
 
     /**
-     * Rewind to the start so we can run through again.
+     * Rewind to the start so we can run through again. The pom is not copied: the parser reads the pom as it is at
+     * the time of the rewind while changes are made to it.
      *
      * @throws XMLStreamException when things go wrong.
      */
     public void rewind()
         throws XMLStreamException
     {
-        backing = factory.createXMLEventReader( new StringReader( pom.toString() ) );
+        backing = factory.createXMLEventReader( pom.newReader() );
         nextEnd = 0;
         nextDelta = 0;
         for ( int i = 0; i < MAX_MARKS; i++ )
@@ -171,6 +220,17 @@ public class ModifiedPomXMLEventReader
         return modified;
     }
 
+    /**
+     * Returns the changes made to the pom so far, each described as the text that was replaced and its replacement.
+     *
+     * @return the changes in the order they were made.
+     * @since 2.2
+     */
+    public List<String> getChanges()
+    {
+        return Collections.unmodifiableList( changes );
+    }
+
 // ------------------------ INTERFACE METHODS ------------------------
 
 // --------------------- Interface Iterator ---------------------
@@ -287,7 +347,20 @@ public class ModifiedPomXMLEventReader
      */
     public StringBuilder asStringBuilder()
     {
-        return new StringBuilder( pom.toString() );
+        return pom.appendTo( new StringBuilder( pom.length() + 16 ) );
+    }
+
+    /**
+     * Writes the modified pom to a writer, piece by piece, without building a copy of the whole pom first.
+     *
+     * @param writer the writer.
+     * @throws IOException if the writer fails.
+     * @since 2.2
+     */
+    public void writeTo( Writer writer )
+        throws IOException
+    {
+        pom.writeTo( writer );
     }
 
     /**
@@ -393,6 +466,80 @@ public class ModifiedPomXMLEventReader
         return "";
     }
 
+    /**
+     * Returns the structural index of the pom, building it with a single pass over a snapshot of the pom the first
+     * time it is asked for. The index is kept up to date with the changes made through this reader, and is built
+     * again should a change cut across one of its ranges. Building the index does not move the reader.
+     *
+     * @return the index of the pom.
+     * @throws XMLStreamException if the pom could not be parsed.
+     * @since 2.2
+     */
+    public PomIndex getIndex()
+        throws XMLStreamException
+    {
+        if ( index == null )
+        {
+            index = PomIndex.build( new ModifiedPomXMLEventReader( pom.copy(), null, factory ) );
+        }
+        return index;
+    }
+
+    /**
+     * Returns the offset in the pom of the start of the current event.
+     *
+     * @return the offset of the start of the current event.
+     * @since 2.2
+     */
+    public int getStartOffset()
+    {
+        return lastDelta + lastStart;
+    }
+
+    /**
+     * Returns the offset in the pom of the end of the current event.
+     *
+     * @return the offset of the end of the current event.
+     * @since 2.2
+     */
+    public int getEndOffset()
+    {
+        return lastDelta + lastEnd;
+    }
+
+    /**
+     * Returns the text of the pom between two offsets.
+     *
+     * @param start The offset to start at.
+     * @param end   The offset to end before.
+     * @return the text between the offsets.
+     * @since 2.2
+     */
+    public String getText( int start, int end )
+    {
+        return pom.substring( start, end );
+    }
+
+    /**
+     * Replaces the text of the pom between two offsets with the replacement text. Neither the marks nor the position
+     * of the reader are adjusted, so several ranges can be replaced by working from the end of the pom backwards,
+     * after which the reader must be {@link #rewind()}ed before it is used again.
+     *
+     * @param start       The offset to start at.
+     * @param end         The offset to end before.
+     * @param replacement The replacement.
+     * @since 2.2
+     */
+    public void replace( int start, int end, String replacement )
+    {
+        if ( replacement.equals( pom.substring( start, end ) ) )
+        {
+            return;
+        }
+        replaceText( start, end, replacement );
+        modified = true;
+    }
+
     /**
      * Sets a mark to the current event.
      *
@@ -454,7 +601,7 @@ public class ModifiedPomXMLEventReader
         {
             return;
         }
-        pom.replace( start, end, replacement );
+        replaceText( start, end, replacement );
         int delta = replacement.length() - lastEnd - lastStart;
         nextDelta += delta;
         for ( int i = 0; i < MAX_MARKS; i++ )
@@ -510,7 +657,7 @@ public class ModifiedPomXMLEventReader
         {
             return;
         }
-        pom.replace( start, end, replacement );
+        replaceText( start, end, replacement );
         int delta = replacement.length() - ( end - start );
         nextDelta += delta;
 
@@ -555,7 +702,7 @@ public class ModifiedPomXMLEventReader
         {
             return;
         }
-        pom.replace( start, end, replacement );
+        replaceText( start, end, replacement );
         int delta = replacement.length() - markEnd[index] - markStart[index];
         nextDelta += delta;
         if ( lastStart == markStart[index] && lastEnd == markEnd[index] )
@@ -589,7 +736,21 @@ public class ModifiedPomXMLEventReader
         throws IOException, XmlPullParserException
     {
         MavenXpp3Reader reader = new MavenXpp3Reader();
-        return reader.read( new StringReader( pom.toString() ) );
+        return reader.read( pom.newReader() );
+    }
+
+    private void replaceText( int start, int end, String replacement )
+    {
+        changes.add( pom.substring( start, end ) + " -> " + replacement );
+        pom.replace( start, end, replacement );
+        if ( index != null && !index.update( start, end, replacement.length() ) )
+        {
+            index = null;
+        }
+        if ( mirror != null )
+        {
+            mirror.replace( start, end, replacement );
+        }
     }
 
 }
@@ -0,0 +1,377 @@
+package org.codehaus.mojo.versions.rewriting;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A text buffer held as a sequence of pieces of immutable strings. The pieces are kept in a persistent treap ordered by
+ * position, so replacing a range of text takes <code>O(log n)</code> in the number of pieces and never moves the
+ * characters after it. As no node is ever changed once it has been created, a {@link #newReader()} goes on reading
+ * the text as it was when the reader was created, whatever replacements are made in the meantime, without the text
+ * having to be copied.
+ *
+ * @since 2.2
+ */
+final class PieceTable
+{
+    private final Random random = new Random( 0x5EED );
+
+    private Node root;
+
+    /**
+     * Creates a new piece table holding the text.
+     *
+     * @param text the initial text.
+     */
+    PieceTable( String text )
+    {
+        root = text.length() == 0 ? null : new Node( text, 0, text.length(), random.nextInt(), null, null );
+    }
+
+    private PieceTable( Node root )
+    {
+        this.root = root;
+    }
+
+    /**
+     * Returns a copy of this piece table, which shares all of its pieces.
+     *
+     * @return the copy.
+     */
+    PieceTable copy()
+    {
+        return new PieceTable( root );
+    }
+
+    /**
+     * Returns the length of the text.
+     *
+     * @return the length of the text.
+     */
+    int length()
+    {
+        return size( root );
+    }
+
+    /**
+     * Returns the character at the index.
+     *
+     * @param index the index.
+     * @return the character.
+     */
+    char charAt( int index )
+    {
+        if ( index < 0 || index >= length() )
+        {
+            throw new StringIndexOutOfBoundsException( index );
+        }
+        Node node = root;
+        while ( true )
+        {
+            int leftSize = size( node.left );
+            if ( index < leftSize )
+            {
+                node = node.left;
+            }
+            else if ( index < leftSize + node.length )
+            {
+                return node.text.charAt( node.start + index - leftSize );
+            }
+            else
+            {
+                index -= leftSize + node.length;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the text between two indices.
+     *
+     * @param start the index to start at.
+     * @param end   the index to end before.
+     * @return the text.
+     */
+    String substring( int start, int end )
+    {
+        if ( start < 0 || end > length() || start > end )
+        {
+            throw new StringIndexOutOfBoundsException( "start " + start + ", end " + end + ", length " + length() );
+        }
+        StringBuilder buf = new StringBuilder( end - start );
+        append( buf, root, start, end );
+        return buf.toString();
+    }
+
+    /**
+     * Replaces the text between two indices.
+     *
+     * @param start       the index to start at.
+     * @param end         the index to end before.
+     * @param replacement the replacement text.
+     */
+    void replace( int start, int end, String replacement )
+    {
+        if ( start < 0 || end > length() || start > end )
+        {
+            throw new StringIndexOutOfBoundsException( "start " + start + ", end " + end + ", length " + length() );
+        }
+        Node[] head = split( root, start );
+        Node[] tail = split( head[1], end - start );
+        Node middle = replacement.length() == 0
+            ? null
+            : new Node( replacement, 0, replacement.length(), random.nextInt(), null, null );
+        root = merge( merge( head[0], middle ), tail[1] );
+    }
+
+    /**
+     * Appends the whole of the text to a buffer.
+     *
+     * @param buf the buffer.
+     * @return the buffer.
+     */
+    StringBuilder appendTo( StringBuilder buf )
+    {
+        append( buf, root, 0, length() );
+        return buf;
+    }
+
+    /**
+     * Writes the whole of the text to a writer, one piece at a time.
+     *
+     * @param writer the writer.
+     * @throws IOException if the writer fails.
+     */
+    void writeTo( Writer writer )
+        throws IOException
+    {
+        write( writer, root );
+    }
+
+    /**
+     * Returns a reader of the text as it is now.
+     *
+     * @return a reader of the text.
+     */
+    Reader newReader()
+    {
+        return new PieceReader( root );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return appendTo( new StringBuilder( length() ) ).toString();
+    }
+
+    private static int size( Node node )
+    {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void append( StringBuilder buf, Node node, int start, int end )
+    {
+        while ( node != null && start < end )
+        {
+            int leftSize = size( node.left );
+            if ( start < leftSize )
+            {
+                append( buf, node.left, start, Math.min( end, leftSize ) );
+            }
+            int from = Math.max( start - leftSize, 0 );
+            int to = Math.min( end - leftSize, node.length );
+            if ( from < to )
+            {
+                buf.append( node.text, node.start + from, node.start + to );
+            }
+            start -= leftSize + node.length;
+            end -= leftSize + node.length;
+            node = node.right;
+            if ( start < 0 )
+            {
+                start = 0;
+            }
+        }
+    }
+
+    private static void write( Writer writer, Node node )
+        throws IOException
+    {
+        while ( node != null )
+        {
+            write( writer, node.left );
+            writer.write( node.text, node.start, node.length );
+            node = node.right;
+        }
+    }
+
+    /**
+     * Splits a tree into the first <code>offset</code> characters and the rest, sharing every node it can.
+     */
+    private static Node[] split( Node node, int offset )
+    {
+        if ( node == null )
+        {
+            return new Node[]{ null, null };
+        }
+        int leftSize = size( node.left );
+        if ( offset <= leftSize )
+        {
+            Node[] parts = split( node.left, offset );
+            return new Node[]{ parts[0], node.with( parts[1], node.right ) };
+        }
+        if ( offset >= leftSize + node.length )
+        {
+            Node[] parts = split( node.right, offset - leftSize - node.length );
+            return new Node[]{ node.with( node.left, parts[0] ), parts[1] };
+        }
+        // the split falls inside this piece, both halves keep its priority which keeps the heap order valid
+        int k = offset - leftSize;
+        return new Node[]{ new Node( node.text, node.start, k, node.priority, node.left, null ),
+            new Node( node.text, node.start + k, node.length - k, node.priority, null, node.right ) };
+    }
+
+    private static Node merge( Node left, Node right )
+    {
+        if ( left == null )
+        {
+            return right;
+        }
+        if ( right == null )
+        {
+            return left;
+        }
+        if ( left.priority > right.priority )
+        {
+            return left.with( left.left, merge( left.right, right ) );
+        }
+        return right.with( merge( left, right.left ), right.right );
+    }
+
+    /**
+     * A piece of text and the subtree of the pieces either side of it.
+     */
+    private static final class Node
+    {
+        private final String text;
+
+        private final int start;
+
+        private final int length;
+
+        private final int priority;
+
+        private final Node left;
+
+        private final Node right;
+
+        /**
+         * The total length of the pieces in this subtree.
+         */
+        private final int size;
+
+        Node( String text, int start, int length, int priority, Node left, Node right )
+        {
+            this.text = text;
+            this.start = start;
+            this.length = length;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size( left ) + length + size( right );
+        }
+
+        Node with( Node left, Node right )
+        {
+            return left == this.left && right == this.right
+                ? this
+                : new Node( text, start, length, priority, left, right );
+        }
+    }
+
+    /**
+     * Reads the pieces of a tree in order.
+     */
+    private static final class PieceReader
+        extends Reader
+    {
+        private final List<Node> stack = new ArrayList<Node>();
+
+        private Node piece;
+
+        private int position;
+
+        PieceReader( Node root )
+        {
+            pushLeft( root );
+        }
+
+        private void pushLeft( Node node )
+        {
+            while ( node != null )
+            {
+                stack.add( node );
+                node = node.left;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int read( char[] cbuf, int off, int len )
+        {
+            if ( len == 0 )
+            {
+                return 0;
+            }
+            while ( piece == null || position == piece.length )
+            {
+                if ( stack.isEmpty() )
+                {
+                    return -1;
+                }
+                piece = stack.remove( stack.size() - 1 );
+                position = 0;
+                pushLeft( piece.right );
+            }
+            int count = Math.min( len, piece.length - position );
+            piece.text.getChars( piece.start + position, piece.start + position + count, cbuf, off );
+            position += count;
+            return count;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close()
+        {
+            stack.clear();
+            piece = null;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package org.codehaus.mojo.versions.rewriting;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the text content of every element of a pom that has no child elements, by path. Paths are built from
+ * the local names of the elements, e.g. <code>/project/properties/foo</code>, where each <code>dependency</code>,
+ * <code>plugin</code> and <code>extension</code> is qualified with its <code>[groupId:artifactId]</code> and each
+ * <code>profile</code> with its <code>[id]</code>, e.g.
+ * <code>/project/dependencies/dependency[junit:junit]/version</code>. Qualifiers are the trimmed text of the pom as
+ * is, without any properties evaluated, and an absent groupId or id is left empty.
+ * <p/>
+ * The index is built with a single pass over the pom by {@link ModifiedPomXMLEventReader#getIndex()}, which keeps
+ * the ranges up to date with every change made through the reader.
+ *
+ * @since 2.2
+ */
+public final class PomIndex
+{
+    private static final Set<String> ARTIFACT_ELEMENTS =
+        new HashSet<String>( Arrays.asList( "dependency", "plugin", "extension" ) );
+
+    private final Map<String, List<Range>> ranges = new LinkedHashMap<String, List<Range>>();
+
+    private final List<Range> allRanges = new ArrayList<Range>();
+
+    private PomIndex()
+    {
+    }
+
+    /**
+     * Builds the index of a pom.
+     *
+     * @param pom a reader of the pom which has not been read from yet.
+     * @return the index.
+     * @throws XMLStreamException if the pom could not be parsed.
+     */
+    static PomIndex build( ModifiedPomXMLEventReader pom )
+        throws XMLStreamException
+    {
+        final List<Frame> leaves = new ArrayList<Frame>();
+        Frame frame = null;
+        while ( pom.hasNext() )
+        {
+            XMLEvent event = pom.nextEvent();
+            if ( event.isStartElement() )
+            {
+                if ( frame != null )
+                {
+                    frame.leaf = false;
+                }
+                frame = new Frame( frame, event.asStartElement().getName().getLocalPart(), pom.getEndOffset() );
+            }
+            else if ( event.isEndElement() && frame != null )
+            {
+                if ( frame.leaf )
+                {
+                    frame.range = new Range( frame.contentStart, pom.getStartOffset() );
+                    leaves.add( frame );
+                    if ( frame.parent != null )
+                    {
+                        frame.parent.childText.put( frame.name,
+                                                    pom.getText( frame.range.start, frame.range.end ).trim() );
+                    }
+                }
+                frame = frame.parent;
+            }
+        }
+        PomIndex index = new PomIndex();
+        for ( Frame leaf : leaves )
+        {
+            String path = leaf.parent == null ? "/" + leaf.name : leaf.parent.getPath() + "/" + leaf.name;
+            List<Range> list = index.ranges.get( path );
+            if ( list == null )
+            {
+                list = new ArrayList<Range>( 1 );
+                index.ranges.put( path, list );
+            }
+            list.add( leaf.range );
+            index.allRanges.add( leaf.range );
+        }
+        return index;
+    }
+
+    /**
+     * Returns the paths in the index, in the order they first appear in the pom.
+     *
+     * @return the paths.
+     */
+    public Set<String> getPaths()
+    {
+        return Collections.unmodifiableSet( ranges.keySet() );
+    }
+
+    /**
+     * Returns the ranges of the text content of the elements with the path, in the order they appear in the pom.
+     *
+     * @param path the path.
+     * @return the ranges, which is empty if there are no elements with the path.
+     */
+    public List<Range> getRanges( String path )
+    {
+        List<Range> list = ranges.get( path );
+        return list == null ? Collections.<Range>emptyList() : Collections.unmodifiableList( list );
+    }
+
+    /**
+     * Returns the range of the text content of the last element with the path, as that is the one which takes effect
+     * when an element is repeated.
+     *
+     * @param path the path.
+     * @return the range or <code>null</code> if there are no elements with the path.
+     */
+    public Range getRange( String path )
+    {
+        List<Range> list = ranges.get( path );
+        return list == null ? null : list.get( list.size() - 1 );
+    }
+
+    /**
+     * Moves the ranges to allow for a change of the pom.
+     *
+     * @param start  the offset the change started at.
+     * @param end    the offset the change ended before.
+     * @param length the length of the replacement.
+     * @return <code>false</code> if the change overlapped the boundary of a range, which leaves the index invalid.
+     */
+    boolean update( int start, int end, int length )
+    {
+        final int delta = length - ( end - start );
+        for ( Range range : allRanges )
+        {
+            if ( range.start <= start && end <= range.end )
+            {
+                range.end += delta;
+            }
+            else if ( range.start >= end )
+            {
+                range.start += delta;
+                range.end += delta;
+            }
+            else if ( range.end > start )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The offsets in the pom of the start and end of the text content of an element.
+     *
+     * @since 2.2
+     */
+    public static final class Range
+    {
+        private int start;
+
+        private int end;
+
+        Range( int start, int end )
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Returns the offset of the start of the text content.
+         *
+         * @return the offset of the start of the text content.
+         */
+        public int getStart()
+        {
+            return start;
+        }
+
+        /**
+         * Returns the offset of the end of the text content.
+         *
+         * @return the offset of the end of the text content.
+         */
+        public int getEnd()
+        {
+            return end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public String toString()
+        {
+            return "[" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * An element that is being or has been read.
+     */
+    private static final class Frame
+    {
+        private final Frame parent;
+
+        private final String name;
+
+        private final int contentStart;
+
+        private final Map<String, String> childText = new HashMap<String, String>();
+
+        private boolean leaf = true;
+
+        private Range range;
+
+        private String path;
+
+        Frame( Frame parent, String name, int contentStart )
+        {
+            this.parent = parent;
+            this.name = name;
+            this.contentStart = contentStart;
+        }
+
+        String getPath()
+        {
+            if ( path == null )
+            {
+                StringBuilder buf = new StringBuilder();
+                if ( parent != null )
+                {
+                    buf.append( parent.getPath() );
+                }
+                buf.append( '/' ).append( name );
+                if ( ARTIFACT_ELEMENTS.contains( name ) )
+                {
+                    buf.append( '[' ).append( text( "groupId" ) ).append( ':' ).append( text( "artifactId" ) );
+                    buf.append( ']' );
+                }
+                else if ( "profile".equals( name ) )
+                {
+                    buf.append( '[' ).append( text( "id" ) ).append( ']' );
+                }
+                path = buf.toString();
+            }
+            return path;
+        }
+
+        private String text( String child )
+        {
+            String text = childText.get( child );
+            return text == null ? "" : text;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.WriterFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes xml files by writing a temporary file next to each of them and then renaming it over the original, so that a
+ * file is never left half written. The files are either written one at a time, or, in batch mode, all staged first and
+ * then renamed into place together when the batch is {@link #commit()}ted, in which case either all of them are
+ * changed or none are.
+ * <p>
+ * A file that is a symbolic link is written through the link, and the new file is given the POSIX permissions of the
+ * file it replaces. On runtimes older than Java 7 the permissions cannot be read, so the new file gets the default
+ * permissions.
+ *
+ * @since 2.2
+ */
+public class AtomicFileWriter
+{
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final boolean fsync;
+
+    private final boolean batch;
+
+    /**
+     * The files staged by a batch, guarded by itself.
+     */
+    private final List<Staged> staged = new ArrayList<Staged>();
+
+    private volatile boolean failed;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param fsync <code>true</code> to force each file to disk before it replaces the original.
+     * @param batch <code>true</code> to hold back the files until {@link #commit()} is called.
+     */
+    public AtomicFileWriter( boolean fsync, boolean batch )
+    {
+        this.fsync = fsync;
+        this.batch = batch;
+    }
+
+    /**
+     * Writes a file, or in batch mode stages it to be written by {@link #commit()}. The encoding is taken from the xml
+     * declaration of the content.
+     *
+     * @param target  the file to write.
+     * @param content the content of the file.
+     * @return the SHA-1 hash of the bytes written.
+     * @throws IOException if the file could not be written, in batch mode this also fails the batch.
+     */
+    public String write( File target, Content content )
+        throws IOException
+    {
+        final File file;
+        final File temp;
+        final MessageDigest digest = Digests.newSha1();
+        try
+        {
+            file = target.getCanonicalFile();
+            temp = writeTemp( file, content, digest );
+        }
+        catch ( IOException e )
+        {
+            failed = true;
+            throw e;
+        }
+        if ( batch )
+        {
+            synchronized ( staged )
+            {
+                staged.add( new Staged( target, file, temp ) );
+            }
+        }
+        else
+        {
+            replace( temp, file );
+        }
+        return Digests.toHex( digest.digest() );
+    }
+
+    /**
+     * Replaces the content of a file by writing a temporary file next to it and renaming that over it, so that the
+     * file is never left half written and concurrent readers see either the old or the new content. This is the same
+     * as writing the file on its own with {@link #write(File, Content)}, for content that is already bytes.
+     *
+     * @param target  the file to write, whose directory must exist.
+     * @param content the new content of the file.
+     * @throws IOException if the file could not be written.
+     * @since 2.2
+     */
+    public static void writeBytes( File target, byte[] content )
+        throws IOException
+    {
+        final File file = target.getCanonicalFile();
+        final File temp = reserve( file, TEMP_SUFFIX );
+        boolean written = false;
+        final OutputStream out = new FileOutputStream( temp );
+        try
+        {
+            out.write( content );
+            out.close();
+            written = true;
+        }
+        finally
+        {
+            IOUtil.close( out );
+            if ( !written )
+            {
+                temp.delete();
+            }
+        }
+        replace( temp, file );
+    }
+
+    /**
+     * Returns <code>true</code> if any file could not be staged, in which case the batch can only be rolled back.
+     *
+     * @return <code>true</code> if any file could not be staged.
+     */
+    public boolean isFailed()
+    {
+        return failed;
+    }
+
+    /**
+     * Renames all the staged files into place. If any of them cannot be renamed the files that had already been
+     * renamed are put back as they were, so that either all of the files are changed or none are. Until the batch is
+     * complete each original is kept as a hard link, or failing that a copy, next to its file, and each staged file
+     * is renamed straight over its original, so that a build killed part way through never leaves a file missing.
+     *
+     * @return the files that were changed.
+     * @throws IOException if the batch has failed or the files could not be renamed into place.
+     */
+    public List<File> commit()
+        throws IOException
+    {
+        final List<Staged> pending;
+        synchronized ( staged )
+        {
+            pending = new ArrayList<Staged>( staged );
+            staged.clear();
+        }
+        if ( failed )
+        {
+            discard( pending );
+            throw new IOException( "Not all of the files could be written, none have been changed" );
+        }
+        final List<Staged> done = new ArrayList<Staged>( pending.size() );
+        try
+        {
+            for ( Staged file : pending )
+            {
+                if ( file.file.exists() )
+                {
+                    // keep the original until the whole batch is in place so that we can put it back
+                    file.original = keep( file.file );
+                }
+                done.add( file );
+                replace( file.temp, file.file );
+            }
+        }
+        catch ( IOException e )
+        {
+            for ( int i = done.size() - 1; i >= 0; i-- )
+            {
+                Staged file = done.get( i );
+                if ( file.original != null && !rename( file.original, file.file ) )
+                {
+                    e = new IOException( "Could not put back " + file.file + ", the original is " + file.original );
+                }
+                else if ( file.original == null && !file.temp.exists() )
+                {
+                    file.file.delete();
+                }
+            }
+            discard( pending );
+            throw e;
+        }
+        final List<File> targets = new ArrayList<File>( done.size() );
+        for ( Staged file : done )
+        {
+            if ( file.original != null )
+            {
+                file.original.delete();
+            }
+            targets.add( file.target );
+        }
+        return targets;
+    }
+
+    /**
+     * Discards all the staged files, leaving the originals untouched.
+     *
+     * @return the files that would have been changed.
+     */
+    public List<File> rollback()
+    {
+        final List<Staged> pending;
+        synchronized ( staged )
+        {
+            pending = new ArrayList<Staged>( staged );
+            staged.clear();
+        }
+        discard( pending );
+        final List<File> targets = new ArrayList<File>( pending.size() );
+        for ( Staged file : pending )
+        {
+            targets.add( file.target );
+        }
+        return targets;
+    }
+
+    /**
+     * Keeps the current content of a file next to it, as a hard link where possible so that nothing is copied.
+     */
+    private static File keep( File file )
+        throws IOException
+    {
+        File original = reserve( file, ".orig" );
+        original.delete();
+        if ( NioFileUtils.createLink( original, file ) )
+        {
+            return original;
+        }
+        try
+        {
+            FileUtils.copyFile( file, original );
+            NioFileUtils.copyPermissions( file, original );
+        }
+        catch ( IOException e )
+        {
+            original.delete();
+            throw e;
+        }
+        return original;
+    }
+
+    private static void discard( List<Staged> files )
+    {
+        for ( Staged file : files )
+        {
+            file.temp.delete();
+        }
+    }
+
+    private File writeTemp( File target, Content content, final MessageDigest digest )
+        throws IOException
+    {
+        final File temp = reserve( target, TEMP_SUFFIX );
+        boolean written = false;
+        final FileOutputStream out = new FileOutputStream( temp );
+        try
+        {
+            // the xml writer only picks the encoding when it is closed for short files, so keep the file open for now
+            Writer writer = WriterFactory.newXmlWriter( new FilterOutputStream( out )
+            {
+                public void write( int b )
+                    throws IOException
+                {
+                    digest.update( (byte) b );
+                    out.write( b );
+                }
+
+                public void write( byte[] b, int off, int len )
+                    throws IOException
+                {
+                    digest.update( b, off, len );
+                    out.write( b, off, len );
+                }
+
+                public void close()
+                    throws IOException
+                {
+                    flush();
+                }
+            } );
+            content.writeTo( writer );
+            writer.close();
+            if ( fsync )
+            {
+                out.getFD().sync();
+            }
+            out.close();
+            written = true;
+        }
+        finally
+        {
+            IOUtil.close( out );
+            if ( !written )
+            {
+                temp.delete();
+            }
+        }
+        return temp;
+    }
+
+    private static void replace( File temp, File target )
+        throws IOException
+    {
+        if ( target.exists() )
+        {
+            NioFileUtils.copyPermissions( target, temp );
+        }
+        if ( rename( temp, target ) )
+        {
+            return;
+        }
+        temp.delete();
+        throw new IOException( "Could not rename " + temp + " to " + target );
+    }
+
+    private static boolean rename( File from, File to )
+    {
+        // some platforms will not rename over an existing file, so we lose atomicity there but not the content
+        return from.renameTo( to ) || ( to.delete() && from.renameTo( to ) );
+    }
+
+    /**
+     * Creates an empty file next to the target, so that renaming it over the target stays on the same file system.
+     */
+    private static File reserve( File target, String suffix )
+        throws IOException
+    {
+        File dir = target.getAbsoluteFile().getParentFile();
+        return File.createTempFile( target.getName() + ".", suffix, dir );
+    }
+
+    /**
+     * The content of a file.
+     *
+     * @since 2.2
+     */
+    public interface Content
+    {
+        /**
+         * Writes the content.
+         *
+         * @param writer the writer.
+         * @throws IOException if the writer fails.
+         */
+        void writeTo( Writer writer )
+            throws IOException;
+    }
+
+    /**
+     * A file written to a temporary file but not yet renamed into place.
+     */
+    private static final class Staged
+    {
+        private final File target;
+
+        /**
+         * The target with any symbolic links resolved, which is the file that is actually replaced.
+         */
+        private final File file;
+
+        private final File temp;
+
+        private File original;
+
+        Staged( File target, File file, File temp )
+        {
+            this.target = target;
+            this.file = file;
+            this.temp = temp;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A log which holds on to its messages until they are {@link #flush()}ed to the log it wraps, so that the messages of
+ * work done in parallel can be reported in the same order as if the work had been done one piece after the other.
+ *
+ * @since 2.2
+ */
+public class BufferedLog
+    implements Log
+{
+    private static final int DEBUG = 0;
+
+    private static final int INFO = 1;
+
+    private static final int WARN = 2;
+
+    private static final int ERROR = 3;
+
+    private final Log delegate;
+
+    private final List<Message> messages = new ArrayList<Message>();
+
+    /**
+     * Creates a new buffered log.
+     *
+     * @param delegate the log to flush the messages to.
+     * @since 2.2
+     */
+    public BufferedLog( Log delegate )
+    {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Writes all the messages held so far to the wrapped log, in the order they were logged.
+     *
+     * @since 2.2
+     */
+    public synchronized void flush()
+    {
+        for ( Message message : messages )
+        {
+            message.writeTo( delegate );
+        }
+        messages.clear();
+    }
+
+    private synchronized void add( int level, CharSequence content, Throwable error )
+    {
+        messages.add( new Message( level, content, error ) );
+    }
+
+    public boolean isDebugEnabled()
+    {
+        return delegate.isDebugEnabled();
+    }
+
+    public void debug( CharSequence content )
+    {
+        add( DEBUG, content, null );
+    }
+
+    public void debug( CharSequence content, Throwable error )
+    {
+        add( DEBUG, content, error );
+    }
+
+    public void debug( Throwable error )
+    {
+        add( DEBUG, null, error );
+    }
+
+    public boolean isInfoEnabled()
+    {
+        return delegate.isInfoEnabled();
+    }
+
+    public void info( CharSequence content )
+    {
+        add( INFO, content, null );
+    }
+
+    public void info( CharSequence content, Throwable error )
+    {
+        add( INFO, content, error );
+    }
+
+    public void info( Throwable error )
+    {
+        add( INFO, null, error );
+    }
+
+    public boolean isWarnEnabled()
+    {
+        return delegate.isWarnEnabled();
+    }
+
+    public void warn( CharSequence content )
+    {
+        add( WARN, content, null );
+    }
+
+    public void warn( CharSequence content, Throwable error )
+    {
+        add( WARN, content, error );
+    }
+
+    public void warn( Throwable error )
+    {
+        add( WARN, null, error );
+    }
+
+    public boolean isErrorEnabled()
+    {
+        return delegate.isErrorEnabled();
+    }
+
+    public void error( CharSequence content )
+    {
+        add( ERROR, content, null );
+    }
+
+    public void error( CharSequence content, Throwable error )
+    {
+        add( ERROR, content, error );
+    }
+
+    public void error( Throwable error )
+    {
+        add( ERROR, null, error );
+    }
+
+    /**
+     * A message that has been logged.
+     */
+    private static final class Message
+    {
+        private final int level;
+
+        private final CharSequence content;
+
+        private final Throwable error;
+
+        Message( int level, CharSequence content, Throwable error )
+        {
+            this.level = level;
+            this.content = content;
+            this.error = error;
+        }
+
+        void writeTo( Log log )
+        {
+            switch ( level )
+            {
+                case DEBUG:
+                    if ( error == null )
+                    {
+                        log.debug( content );
+                    }
+                    else if ( content == null )
+                    {
+                        log.debug( error );
+                    }
+                    else
+                    {
+                        log.debug( content, error );
+                    }
+                    break;
+                case INFO:
+                    if ( error == null )
+                    {
+                        log.info( content );
+                    }
+                    else if ( content == null )
+                    {
+                        log.info( error );
+                    }
+                    else
+                    {
+                        log.info( content, error );
+                    }
+                    break;
+                case WARN:
+                    if ( error == null )
+                    {
+                        log.warn( content );
+                    }
+                    else if ( content == null )
+                    {
+                        log.warn( error );
+                    }
+                    else
+                    {
+                        log.warn( content, error );
+                    }
+                    break;
+                default:
+                    if ( error == null )
+                    {
+                        log.error( content );
+                    }
+                    else if ( content == null )
+                    {
+                        log.error( error );
+                    }
+                    else
+                    {
+                        log.error( content, error );
+                    }
+                    break;
+            }
+        }
+    }
+}
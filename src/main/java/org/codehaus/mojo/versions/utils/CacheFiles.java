@@ -0,0 +1,155 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Reads and stores the files of the caches kept on disk. A cache is only an optimization, so a file that is missing or
+ * cannot be read is reported as missing, and a file that cannot be stored is simply not stored. Files are stored with
+ * {@link AtomicFileWriter#writeBytes(File, byte[])}, so that builds reading the same cache at the same time never see
+ * a partially written file.
+ *
+ * @since 2.2
+ */
+public final class CacheFiles
+{
+    private CacheFiles()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Reads a cache file.
+     *
+     * @param file the file.
+     * @return the content of the file or <code>null</code> if it is missing or cannot be read.
+     * @since 2.2
+     */
+    public static byte[] read( File file )
+    {
+        if ( !file.isFile() )
+        {
+            return null;
+        }
+        InputStream in = null;
+        try
+        {
+            in = new FileInputStream( file );
+            return IOUtil.toByteArray( in );
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    /**
+     * Reads a cache file holding properties.
+     *
+     * @param file the file.
+     * @return the properties or <code>null</code> if the file is missing or cannot be read.
+     * @since 2.2
+     */
+    public static Properties readProperties( File file )
+    {
+        final byte[] content = read( file );
+        if ( content == null )
+        {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try
+        {
+            properties.load( new ByteArrayInputStream( content ) );
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // a malformed unicode escape
+            return null;
+        }
+        return properties;
+    }
+
+    /**
+     * Stores a cache file, creating its directory if needed.
+     *
+     * @param file    the file.
+     * @param content the content of the file.
+     * @return <code>true</code> if the file was stored.
+     * @since 2.2
+     */
+    public static boolean store( File file, byte[] content )
+    {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if ( !dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory() )
+        {
+            return false;
+        }
+        try
+        {
+            AtomicFileWriter.writeBytes( file, content );
+            return true;
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Stores a cache file holding properties, creating its directory if needed.
+     *
+     * @param file       the file.
+     * @param properties the properties.
+     * @return <code>true</code> if the file was stored.
+     * @since 2.2
+     */
+    public static boolean storeProperties( File file, Properties properties )
+    {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try
+        {
+            properties.store( buf, null );
+        }
+        catch ( IOException e )
+        {
+            // not when writing to memory
+            return false;
+        }
+        return store( file, buf.toByteArray() );
+    }
+}
@@ -0,0 +1,82 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility methods for the content hashes used to recognise files.
+ *
+ * @since 2.2
+ */
+public final class Digests
+{
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private Digests()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Creates a new SHA-1 digest.
+     *
+     * @return the digest.
+     */
+    public static MessageDigest newSha1()
+    {
+        try
+        {
+            return MessageDigest.getInstance( "SHA-1" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "Every Java platform is required to support SHA-1" );
+        }
+    }
+
+    /**
+     * Returns the SHA-1 hash of some content as a hex string.
+     *
+     * @param content the content.
+     * @return the hash.
+     */
+    public static String sha1( byte[] content )
+    {
+        return toHex( newSha1().digest( content ) );
+    }
+
+    /**
+     * Returns bytes as a lower case hex string.
+     *
+     * @param bytes the bytes.
+     * @return the hex string.
+     */
+    public static String toHex( byte[] bytes )
+    {
+        final StringBuilder buf = new StringBuilder( bytes.length * 2 );
+        for ( byte b : bytes )
+        {
+            buf.append( HEX_DIGITS[( b >> 4 ) & 0xf] ).append( HEX_DIGITS[b & 0xf] );
+        }
+        return buf.toString();
+    }
+}
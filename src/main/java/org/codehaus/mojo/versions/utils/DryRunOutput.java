@@ -0,0 +1,97 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.WriterFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Writes the output of <code>-Dversions.dryRun</code> to the file named by <code>versions.dryRunOutput</code>.
+ * Every goal and module of a build that writes to the same file adds to it, so that after the build the file holds
+ * the changes that the whole build would have made to the poms.
+ *
+ * @since 2.2
+ */
+public final class DryRunOutput
+{
+    /**
+     * The files written to so far by each session, which are appended to rather than started afresh.
+     */
+    private static final Map<Object, Set<File>> STARTED = new WeakHashMap<Object, Set<File>>();
+
+    private DryRunOutput()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Writes the lines of a dry run to a file in UTF-8. The first time a session writes to a file the file is
+     * replaced, after that the lines are appended, so that the file holds the dry run of the whole build.
+     *
+     * @param session the session, or <code>null</code> to always replace the file.
+     * @param file    the file.
+     * @param lines   the lines.
+     * @throws IOException if the file could not be written.
+     */
+    public static void write( Object session, File file, List<String> lines )
+        throws IOException
+    {
+        final File key = file.getAbsoluteFile();
+        synchronized ( STARTED )
+        {
+            Set<File> started = session == null ? new HashSet<File>() : STARTED.get( session );
+            if ( started == null )
+            {
+                started = new HashSet<File>();
+                STARTED.put( session, started );
+            }
+            final File dir = key.getParentFile();
+            if ( dir != null && !dir.isDirectory() && !dir.mkdirs() )
+            {
+                throw new IOException( "Could not create " + dir );
+            }
+            Writer writer = WriterFactory.newWriter( new FileOutputStream( key, started.contains( key ) ), "UTF-8" );
+            try
+            {
+                for ( String line : lines )
+                {
+                    writer.write( line );
+                    writer.write( '\n' );
+                }
+                writer.close();
+            }
+            finally
+            {
+                IOUtil.close( writer );
+            }
+            started.add( key );
+        }
+    }
+}
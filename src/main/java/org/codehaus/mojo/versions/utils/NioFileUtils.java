@@ -0,0 +1,135 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Access to the parts of <code>java.nio.file</code> that the file writers need, when the runtime is Java 7 or later.
+ * On older runtimes every method reports that it could do nothing, and the callers fall back to plain copies.
+ *
+ * @since 2.2
+ */
+public final class NioFileUtils
+{
+    /**
+     * <code>java.io.File.toPath</code>, or <code>null</code> if the runtime does not have <code>java.nio.file</code>.
+     */
+    private static final Method TO_PATH;
+
+    private static final Method CREATE_LINK;
+
+    private static final Method GET_POSIX_FILE_PERMISSIONS;
+
+    private static final Method SET_POSIX_FILE_PERMISSIONS;
+
+    /**
+     * An empty <code>java.nio.file.LinkOption[]</code>.
+     */
+    private static final Object NO_LINK_OPTIONS;
+
+    static
+    {
+        Method toPath = null;
+        Method createLink = null;
+        Method getPermissions = null;
+        Method setPermissions = null;
+        Object noLinkOptions = null;
+        try
+        {
+            Class<?> files = Class.forName( "java.nio.file.Files" );
+            Class<?> path = Class.forName( "java.nio.file.Path" );
+            Class<?> linkOption = Class.forName( "java.nio.file.LinkOption" );
+            noLinkOptions = Array.newInstance( linkOption, 0 );
+            createLink = files.getMethod( "createLink", path, path );
+            getPermissions = files.getMethod( "getPosixFilePermissions", path, noLinkOptions.getClass() );
+            setPermissions = files.getMethod( "setPosixFilePermissions", path, Set.class );
+            toPath = File.class.getMethod( "toPath" );
+        }
+        catch ( Exception e )
+        {
+            // an older runtime
+        }
+        TO_PATH = toPath;
+        CREATE_LINK = createLink;
+        GET_POSIX_FILE_PERMISSIONS = getPermissions;
+        SET_POSIX_FILE_PERMISSIONS = setPermissions;
+        NO_LINK_OPTIONS = noLinkOptions;
+    }
+
+    private NioFileUtils()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Makes a hard link to a file.
+     *
+     * @param link     the link to create, which must not exist yet.
+     * @param existing the file to link to.
+     * @return <code>true</code> if the link was created, <code>false</code> if the runtime or the file system does not
+     *         support hard links or the link could not be created.
+     */
+    public static boolean createLink( File link, File existing )
+    {
+        if ( TO_PATH == null )
+        {
+            return false;
+        }
+        try
+        {
+            CREATE_LINK.invoke( null, TO_PATH.invoke( link ), TO_PATH.invoke( existing ) );
+            return true;
+        }
+        catch ( Exception e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Gives a file the POSIX permissions of another file.
+     *
+     * @param from the file to take the permissions from.
+     * @param to   the file to give them to.
+     * @return <code>true</code> if the permissions were copied, <code>false</code> if the runtime or the file system
+     *         does not support POSIX permissions or they could not be copied.
+     */
+    public static boolean copyPermissions( File from, File to )
+    {
+        if ( TO_PATH == null )
+        {
+            return false;
+        }
+        try
+        {
+            Object permissions = GET_POSIX_FILE_PERMISSIONS.invoke( null, TO_PATH.invoke( from ), NO_LINK_OPTIONS );
+            SET_POSIX_FILE_PERMISSIONS.invoke( null, TO_PATH.invoke( to ), permissions );
+            return true;
+        }
+        catch ( Exception e )
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Coalesces requests for the same key: the first caller computes the value while concurrent callers for the same key
+ * wait for and share that result. Successful results are kept so that later requests are answered immediately;
+ * failures are forgotten so that a later request can try again.
+ *
+ * @param <V> the type of the values.
+ * @since 2.2
+ */
+public class SingleFlight<V>
+{
+    private final ConcurrentMap<String, FutureTask<V>> flights = new ConcurrentHashMap<String, FutureTask<V>>();
+
+    /**
+     * Returns the value for the key, computing it with the loader if no other caller has done so already.
+     *
+     * @param key    The key.
+     * @param loader The loader to compute the value with if required.
+     * @return the value.
+     * @throws ExecutionException   if the loader failed.
+     * @throws InterruptedException if the calling thread was interrupted while waiting for another caller.
+     * @since 2.2
+     */
+    public V get( String key, Callable<V> loader )
+        throws ExecutionException, InterruptedException
+    {
+        FutureTask<V> flight = flights.get( key );
+        if ( flight == null )
+        {
+            final FutureTask<V> candidate = new FutureTask<V>( loader );
+            flight = flights.putIfAbsent( key, candidate );
+            if ( flight == null )
+            {
+                flight = candidate;
+                candidate.run();
+            }
+        }
+        try
+        {
+            return flight.get();
+        }
+        catch ( ExecutionException e )
+        {
+            flights.remove( key, flight );
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets the value for the key, if any.
+     *
+     * @param key The key.
+     * @since 2.2
+     */
+    public void remove( String key )
+    {
+        flights.remove( key );
+    }
+}
@@ -0,0 +1,354 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The line by line difference between two texts, found with Myers' algorithm after the lines the texts have in common
+ * at the start and the end have been set aside, which for poms usually leaves very little to compare.
+ *
+ * @since 2.2
+ */
+public final class TextDiff
+{
+    /**
+     * Beyond this many differences the lines between the common start and end are all treated as changed, which
+     * bounds the memory needed to recover the differences.
+     */
+    private static final int MAX_DIFFERENCES = 2000;
+
+    private final String[] from;
+
+    private final String[] to;
+
+    private final boolean fromMissingNewline;
+
+    private final boolean toMissingNewline;
+
+    private final boolean[] deleted;
+
+    private final boolean[] inserted;
+
+    /**
+     * Compares two texts.
+     *
+     * @param from the original text.
+     * @param to   the changed text.
+     */
+    public TextDiff( String from, String to )
+    {
+        this.from = lines( from );
+        this.to = lines( to );
+        this.fromMissingNewline = from.length() > 0 && !from.endsWith( "\n" );
+        this.toMissingNewline = to.length() > 0 && !to.endsWith( "\n" );
+        this.deleted = new boolean[this.from.length];
+        this.inserted = new boolean[this.to.length];
+        compare();
+    }
+
+    private static String[] lines( String text )
+    {
+        if ( text.length() == 0 )
+        {
+            return new String[0];
+        }
+        List<String> lines = new ArrayList<String>();
+        int start = 0;
+        for ( int i = text.indexOf( '\n' ); i >= 0; i = text.indexOf( '\n', start ) )
+        {
+            lines.add( text.substring( start, i ) );
+            start = i + 1;
+        }
+        if ( start < text.length() )
+        {
+            lines.add( text.substring( start ) );
+        }
+        return lines.toArray( new String[lines.size()] );
+    }
+
+    /**
+     * Returns <code>true</code> if the texts differ.
+     *
+     * @return <code>true</code> if the texts differ.
+     */
+    public boolean isChanged()
+    {
+        for ( boolean d : deleted )
+        {
+            if ( d )
+            {
+                return true;
+            }
+        }
+        for ( boolean i : inserted )
+        {
+            if ( i )
+            {
+                return true;
+            }
+        }
+        return fromMissingNewline != toMissingNewline;
+    }
+
+    /**
+     * Returns the difference as a unified diff.
+     *
+     * @param fromName the name of the original text.
+     * @param toName   the name of the changed text.
+     * @param context  the number of unchanged lines to show around each change.
+     * @return the lines of the unified diff, which is empty if the texts are the same.
+     */
+    public List<String> toUnifiedDiff( String fromName, String toName, int context )
+    {
+        final List<String> result = new ArrayList<String>();
+        final List<Op> ops = ops();
+        int i = 0;
+        while ( i < ops.size() )
+        {
+            // find the next change and then extend the hunk for as long as the changes are close together
+            while ( i < ops.size() && ops.get( i ).type == ' ' )
+            {
+                i++;
+            }
+            if ( i == ops.size() )
+            {
+                break;
+            }
+            final int first = Math.max( 0, i - context );
+            int last = i;
+            for ( int j = i; j < ops.size() && j <= last + 2 * context; j++ )
+            {
+                if ( ops.get( j ).type != ' ' )
+                {
+                    last = j;
+                }
+            }
+            final int end = Math.min( ops.size(), last + context + 1 );
+
+            if ( result.isEmpty() )
+            {
+                result.add( "--- " + fromName );
+                result.add( "+++ " + toName );
+            }
+            int fromStart = -1;
+            int fromCount = 0;
+            int toStart = -1;
+            int toCount = 0;
+            for ( int j = first; j < end; j++ )
+            {
+                Op op = ops.get( j );
+                if ( op.type != '+' )
+                {
+                    fromStart = fromStart < 0 ? op.fromLine : fromStart;
+                    fromCount++;
+                }
+                if ( op.type != '-' )
+                {
+                    toStart = toStart < 0 ? op.toLine : toStart;
+                    toCount++;
+                }
+            }
+            // an empty range is given as the line before it
+            fromStart = fromStart < 0 ? ops.get( first ).fromLine : fromStart + 1;
+            toStart = toStart < 0 ? ops.get( first ).toLine : toStart + 1;
+            result.add( "@@ -" + range( fromStart, fromCount ) + " +" + range( toStart, toCount ) + " @@" );
+            for ( int j = first; j < end; j++ )
+            {
+                Op op = ops.get( j );
+                String line = op.type == '+' ? to[op.toLine] : from[op.fromLine];
+                result.add( op.type + line );
+                if ( ( op.type != '+' && fromMissingNewline && op.fromLine == from.length - 1 )
+                    || ( op.type != '-' && toMissingNewline && op.toLine == to.length - 1 ) )
+                {
+                    result.add( "\\ No newline at end of file" );
+                }
+            }
+            i = end;
+        }
+        return result;
+    }
+
+    private static String range( int start, int count )
+    {
+        return count == 1 ? Integer.toString( start ) : start + "," + count;
+    }
+
+    /**
+     * Returns the changed lines as tab separated records of <code>-</code> or <code>+</code>, the name, the line
+     * number and the line, for the lines removed from the original text and added to the changed text respectively.
+     *
+     * @param name the name of the text.
+     * @return the records.
+     */
+    public List<String> toChangeList( String name )
+    {
+        final List<String> result = new ArrayList<String>();
+        for ( Op op : ops() )
+        {
+            if ( op.type == '-' )
+            {
+                result.add( "-\t" + name + "\t" + ( op.fromLine + 1 ) + "\t" + from[op.fromLine] );
+            }
+            else if ( op.type == '+' )
+            {
+                result.add( "+\t" + name + "\t" + ( op.toLine + 1 ) + "\t" + to[op.toLine] );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the edit script, with each change giving the removed lines before the added lines.
+     */
+    private List<Op> ops()
+    {
+        final List<Op> ops = new ArrayList<Op>( Math.max( from.length, to.length ) );
+        int i = 0;
+        int j = 0;
+        while ( i < from.length || j < to.length )
+        {
+            if ( i < from.length && deleted[i] )
+            {
+                ops.add( new Op( '-', i++, j ) );
+            }
+            else if ( j < to.length && inserted[j] )
+            {
+                ops.add( new Op( '+', i, j++ ) );
+            }
+            else
+            {
+                ops.add( new Op( ' ', i++, j++ ) );
+            }
+        }
+        if ( fromMissingNewline != toMissingNewline && !ops.isEmpty() )
+        {
+            // only the missing newline differs on the last line, which still needs to show as a change
+            Op last = ops.get( ops.size() - 1 );
+            if ( last.type == ' ' )
+            {
+                ops.set( ops.size() - 1, new Op( '-', last.fromLine, last.toLine ) );
+                ops.add( new Op( '+', last.fromLine + 1, last.toLine ) );
+            }
+        }
+        return ops;
+    }
+
+    /**
+     * Marks the deleted and inserted lines.
+     */
+    private void compare()
+    {
+        int start = 0;
+        while ( start < from.length && start < to.length && from[start].equals( to[start] ) )
+        {
+            start++;
+        }
+        int fromEnd = from.length;
+        int toEnd = to.length;
+        while ( fromEnd > start && toEnd > start && from[fromEnd - 1].equals( to[toEnd - 1] ) )
+        {
+            fromEnd--;
+            toEnd--;
+        }
+        final int n = fromEnd - start;
+        final int m = toEnd - start;
+        final int max = Math.min( n + m, MAX_DIFFERENCES );
+        final int offset = max + 1;
+        final int[] v = new int[2 * max + 3];
+        final List<int[]> trace = new ArrayList<int[]>();
+        for ( int d = 0; d <= max; d++ )
+        {
+            // keep the furthest reaching paths of the previous round, which is all that backtracking needs
+            int[] previous = new int[2 * d + 1];
+            System.arraycopy( v, offset - d, previous, 0, previous.length );
+            trace.add( previous );
+            for ( int k = -d; k <= d; k += 2 )
+            {
+                int x = k == -d || ( k != d && v[offset + k - 1] < v[offset + k + 1] )
+                    ? v[offset + k + 1]
+                    : v[offset + k - 1] + 1;
+                int y = x - k;
+                while ( x < n && y < m && from[start + x].equals( to[start + y] ) )
+                {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if ( x >= n && y >= m )
+                {
+                    backtrack( trace, start, x, y, d );
+                    return;
+                }
+            }
+        }
+        // too many differences, treat everything in between as changed
+        Arrays.fill( deleted, start, fromEnd, true );
+        Arrays.fill( inserted, start, toEnd, true );
+    }
+
+    private void backtrack( List<int[]> trace, int start, int x, int y, int depth )
+    {
+        for ( int d = depth; d > 0; d-- )
+        {
+            final int[] v = trace.get( d );
+            final int k = x - y;
+            final int prevK = k == -d || ( k != d && v[k - 1 + d] < v[k + 1 + d] ) ? k + 1 : k - 1;
+            final int prevX = v[prevK + d];
+            final int prevY = prevX - prevK;
+            while ( x > prevX && y > prevY )
+            {
+                x--;
+                y--;
+            }
+            if ( x == prevX )
+            {
+                inserted[start + prevY] = true;
+            }
+            else
+            {
+                deleted[start + prevX] = true;
+            }
+            x = prevX;
+            y = prevY;
+        }
+    }
+
+    /**
+     * A step of the edit script.
+     */
+    private static final class Op
+    {
+        private final char type;
+
+        private final int fromLine;
+
+        private final int toLine;
+
+        Op( char type, int fromLine, int toLine )
+        {
+            this.type = type;
+            this.fromLine = fromLine;
+            this.toLine = toLine;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.codehaus.mojo.versions;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+
+/**
+ * Base class for tests that work on files, which gives each test an empty directory of its own under
+ * <code>target/test-files</code>. The directory is left behind after the test so that it can be looked at.
+ */
+public abstract class AbstractFileTestCase
+    extends TestCase
+{
+    /**
+     * The directory of the current test.
+     */
+    protected File dir;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        dir = new File( "target/test-files/" + getClass().getSimpleName() + "/" + getName() );
+        FileUtils.deleteDirectory( dir );
+        assertTrue( dir.mkdirs() );
+    }
+}
@@ -0,0 +1,198 @@
+package org.codehaus.mojo.versions;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Plugin;
+import org.codehaus.mojo.versions.api.ArtifactVersions;
+import org.codehaus.mojo.versions.api.VersionsHelper;
+import org.codehaus.mojo.versions.ordering.MavenVersionComparator;
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that checking the plugins of {@link DisplayPluginUpdatesMojo} in parallel finds the same as checking them
+ * one after the other.
+ */
+public class DisplayPluginUpdatesMojoTest
+    extends TestCase
+{
+    private static final int PLUGINS = 12;
+
+    private static final int VERSIONS = 8;
+
+    private final List<Plugin> plugins = new ArrayList<Plugin>();
+
+    private final Map<String, String> parentPluginManagement = new HashMap<String, String>();
+
+    private final Set<String> pluginsWithVersionsSpecified = new HashSet<String>();
+
+    private final Map<String, String> superPomPluginManagement = new HashMap<String, String>();
+
+    protected void setUp()
+        throws Exception
+    {
+        for ( int i = 0; i < PLUGINS; i++ )
+        {
+            Plugin plugin = new Plugin();
+            plugin.setGroupId( i % 2 == 0 ? "org.apache.maven.plugins" : "org.example" );
+            plugin.setArtifactId( "plugin-" + i );
+            String key = plugin.getGroupId() + ":" + plugin.getArtifactId();
+            switch ( i % 4 )
+            {
+                case 0:
+                    // specified by the project
+                    plugin.setVersion( "1." + ( i % VERSIONS ) );
+                    pluginsWithVersionsSpecified.add( key );
+                    break;
+                case 1:
+                    // managed by a parent
+                    parentPluginManagement.put( key, "1.1" );
+                    pluginsWithVersionsSpecified.add( key );
+                    break;
+                case 2:
+                    // left to the super-pom
+                    superPomPluginManagement.put( key, "1.0" );
+                    break;
+                default:
+                    // not specified at all
+                    break;
+            }
+            plugins.add( plugin );
+        }
+    }
+
+    public void testParallelFindsTheSameAsSequential()
+        throws Exception
+    {
+        Set<Thread> sequentialThreads = Collections.synchronizedSet( new HashSet<Thread>() );
+        DisplayPluginUpdatesMojo.PluginUpdates sequential = checkPlugins( 1, sequentialThreads );
+        Set<Thread> parallelThreads = Collections.synchronizedSet( new HashSet<Thread>() );
+        DisplayPluginUpdatesMojo.PluginUpdates parallel = checkPlugins( 4, parallelThreads );
+
+        assertEquals( Collections.singleton( Thread.currentThread() ), sequentialThreads );
+        assertTrue( parallelThreads.size() > 1 );
+
+        assertFalse( sequential.updates.isEmpty() );
+        assertFalse( sequential.lockdowns.isEmpty() );
+        assertFalse( sequential.upgrades.isEmpty() );
+        assertNotNull( sequential.minMavenVersion );
+        assertTrue( sequential.superPomDrivingMinVersion );
+
+        assertEquals( sequential.updates, parallel.updates );
+        assertEquals( sequential.lockdowns, parallel.lockdowns );
+        // compare the strings so that the order of the plugins of each upgrade counts too
+        assertEquals( sequential.upgrades.toString(), parallel.upgrades.toString() );
+        assertEquals( sequential.minMavenVersion.toString(), parallel.minMavenVersion.toString() );
+        assertEquals( sequential.superPomDrivingMinVersion, parallel.superPomDrivingMinVersion );
+    }
+
+    private DisplayPluginUpdatesMojo.PluginUpdates checkPlugins( int lookupThreads, final Set<Thread> threads )
+        throws Exception
+    {
+        final VersionsHelper helper = mock( VersionsHelper.class );
+        when( helper.lookupArtifactVersions( any( Artifact.class ), eq( true ) ) ).thenAnswer(
+            new Answer<ArtifactVersions>()
+            {
+                public ArtifactVersions answer( InvocationOnMock invocation )
+                {
+                    final List<ArtifactVersion> versions = new ArrayList<ArtifactVersion>();
+                    for ( int i = 0; i < VERSIONS; i++ )
+                    {
+                        versions.add( new DefaultArtifactVersion( "1." + i ) );
+                    }
+                    return new ArtifactVersions( (Artifact) invocation.getArguments()[0], versions,
+                                                 new MavenVersionComparator() );
+                }
+            } );
+
+        final DisplayPluginUpdatesMojo mojo = new DisplayPluginUpdatesMojo()
+        {
+            public VersionsHelper getHelper()
+            {
+                return helper;
+            }
+
+            ArtifactVersion getRequiredMavenVersion( String groupId, String artifactId, String version )
+                throws ArtifactNotFoundException
+            {
+                threads.add( Thread.currentThread() );
+                final int plugin = Integer.parseInt( artifactId.substring( artifactId.indexOf( '-' ) + 1 ) );
+                final int minor = Integer.parseInt( version.substring( version.indexOf( '.' ) + 1 ) );
+                try
+                {
+                    // finish the plugins in a different order than they were started
+                    Thread.sleep( ( PLUGINS - plugin ) % 5 );
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                }
+                if ( plugin == 5 && minor == 3 )
+                {
+                    throw new ArtifactNotFoundException( "missing", groupId, artifactId, version, "pom", null,
+                                                         null, null, null, null );
+                }
+                // the newer the version of the plugin, the newer the version of maven it needs
+                return new DefaultArtifactVersion( "2." + ( ( minor + plugin ) / 3 ) );
+            }
+        };
+        final ArtifactFactory artifactFactory = mock( ArtifactFactory.class );
+        when( artifactFactory.createPluginArtifact( anyString(), anyString(), any( VersionRange.class ) ) ).thenAnswer(
+            new Answer<Artifact>()
+            {
+                public Artifact answer( InvocationOnMock invocation )
+                {
+                    final Object[] args = invocation.getArguments();
+                    return new DefaultArtifact( (String) args[0], (String) args[1], (VersionRange) args[2], null,
+                                                "maven-plugin", null, new DefaultArtifactHandler( "maven-plugin" ) );
+                }
+            } );
+        ReflectionUtils.setVariableValueInObject( mojo, "artifactFactory", artifactFactory );
+        ReflectionUtils.setVariableValueInObject( mojo, "lookupThreads", Integer.valueOf( lookupThreads ) );
+
+        return mojo.checkPlugins( plugins, parentPluginManagement, pluginsWithVersionsSpecified,
+                                  superPomPluginManagement, new DefaultArtifactVersion( "3.0" ),
+                                  new DefaultArtifactVersion( "2.1" ) );
+    }
+}
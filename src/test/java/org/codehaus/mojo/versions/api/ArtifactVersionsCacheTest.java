@@ -0,0 +1,167 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.metadata.ArtifactMetadata;
+import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.mojo.versions.AbstractFileTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test {@link ArtifactVersionsCache}
+ */
+public class ArtifactVersionsCacheTest
+    extends AbstractFileTestCase
+{
+    private DefaultArtifact artifact;
+
+    private ArtifactRepository localRepository;
+
+    private ArtifactRepository repository;
+
+    private ArtifactMetadataSource metadataSource;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        artifact = new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "1.0" ), "compile",
+                                        "jar", null, new DefaultArtifactHandler() );
+        repository = mock( ArtifactRepository.class );
+        when( repository.getId() ).thenReturn( "central" );
+        localRepository = mock( ArtifactRepository.class );
+        when( localRepository.getBasedir() ).thenReturn( new File( dir, "repository" ).getPath() );
+        when( localRepository.pathOfLocalRepositoryMetadata( any( ArtifactMetadata.class ),
+                                                             same( repository ) ) ).thenReturn(
+            "group/artifact/maven-metadata-central.xml" );
+        File metadata = new File( dir, "repository/group/artifact/maven-metadata-central.xml" );
+        assertTrue( metadata.getParentFile().mkdirs() );
+        FileUtils.fileWrite( metadata.getPath(),
+                             "<metadata><versioning><versions><version>1.0</version><version>1.1</version>"
+                                 + "</versions></versioning></metadata>" );
+        metadataSource = mock( ArtifactMetadataSource.class );
+        // the metadata source merges the versions installed locally into those of the remote repository
+        when( metadataSource.retrieveAvailableVersions( same( artifact ), same( localRepository ),
+                                                        eq( Collections.singletonList( repository ) ) ) ).thenReturn(
+            versions( "1.0", "1.1", "1.2-local" ) );
+        when( metadataSource.retrieveAvailableVersions( same( artifact ), same( localRepository ),
+                                                        eq( Collections.emptyList() ) ) ).thenReturn(
+            versions( "1.2-local" ) );
+    }
+
+    private static List<ArtifactVersion> versions( String... versions )
+    {
+        List<ArtifactVersion> result = new ArrayList<ArtifactVersion>();
+        for ( String version : versions )
+        {
+            result.add( new DefaultArtifactVersion( version ) );
+        }
+        return result;
+    }
+
+    private static List<String> toStrings( List<ArtifactVersion> versions )
+    {
+        List<String> result = new ArrayList<String>();
+        for ( ArtifactVersion version : versions )
+        {
+            result.add( version.toString() );
+        }
+        return result;
+    }
+
+    public void testSecondLookupUsesCache()
+        throws Exception
+    {
+        ArtifactVersionsCache cache = new ArtifactVersionsCache( dir, 60, false, false, mock( Log.class ) );
+        List remotes = Collections.singletonList( repository );
+
+        assertEquals( Arrays.asList( "1.0", "1.1", "1.2-local" ), toStrings(
+            cache.retrieveAvailableVersions( metadataSource, artifact, localRepository, remotes ) ) );
+        assertEquals( Arrays.asList( "1.0", "1.1", "1.2-local" ), toStrings(
+            cache.retrieveAvailableVersions( metadataSource, artifact, localRepository, remotes ) ) );
+
+        verify( metadataSource, times( 1 ) ).retrieveAvailableVersions( same( artifact ), same( localRepository ),
+                                                                        eq( remotes ) );
+    }
+
+    public void testLocalVersionsAreNotCached()
+        throws Exception
+    {
+        ArtifactVersionsCache cache = new ArtifactVersionsCache( dir, 60, false, false, mock( Log.class ) );
+        List remotes = Collections.singletonList( repository );
+        cache.retrieveAvailableVersions( metadataSource, artifact, localRepository, remotes );
+
+        when( metadataSource.retrieveAvailableVersions( same( artifact ), same( localRepository ),
+                                                        eq( Collections.emptyList() ) ) ).thenReturn(
+            versions( "1.3-local" ) );
+
+        assertEquals( Arrays.asList( "1.0", "1.1", "1.3-local" ), toStrings(
+            cache.retrieveAvailableVersions( metadataSource, artifact, localRepository, remotes ) ) );
+    }
+
+    public void testRefreshIgnoresCache()
+        throws Exception
+    {
+        List remotes = Collections.singletonList( repository );
+        new ArtifactVersionsCache( dir, 60, false, false, mock( Log.class ) ).retrieveAvailableVersions(
+            metadataSource, artifact, localRepository, remotes );
+        new ArtifactVersionsCache( dir, 60, false, true, mock( Log.class ) ).retrieveAvailableVersions(
+            metadataSource, artifact, localRepository, remotes );
+
+        verify( metadataSource, times( 2 ) ).retrieveAvailableVersions( same( artifact ), same( localRepository ),
+                                                                        eq( remotes ) );
+    }
+
+    public void testCacheOnlyFallsThroughOnMiss()
+        throws Exception
+    {
+        ArtifactVersionsCache cache = new ArtifactVersionsCache( dir, 60, true, false, mock( Log.class ) );
+        List remotes = Collections.singletonList( repository );
+
+        assertEquals( Arrays.asList( "1.0", "1.1", "1.2-local" ), toStrings(
+            cache.retrieveAvailableVersions( metadataSource, artifact, localRepository, remotes ) ) );
+        cache.retrieveAvailableVersions( metadataSource, artifact, localRepository, remotes );
+
+        // nothing is cached in this mode, so both lookups went to the metadata source
+        verify( metadataSource, times( 2 ) ).retrieveAvailableVersions( same( artifact ), same( localRepository ),
+                                                                        eq( remotes ) );
+    }
+}
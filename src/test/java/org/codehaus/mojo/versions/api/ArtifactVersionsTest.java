@@ -68,6 +68,91 @@ public class ArtifactVersionsTest
             instance.getNewestVersion( new DefaultArtifactVersion( "1.1" ), new DefaultArtifactVersion( "3.0" ) ) );
     }
 
+    public void testRangeQueries()
+        throws Exception
+    {
+        ArtifactVersion[] versions =
+            new ArtifactVersion[]{new DefaultArtifactVersion( "2.0-SNAPSHOT" ), new DefaultArtifactVersion( "1.0" ),
+                new DefaultArtifactVersion( "1.2" ), new DefaultArtifactVersion( "1.1" ),
+                new DefaultArtifactVersion( "2.1" ), new DefaultArtifactVersion( "1.3-SNAPSHOT" ),};
+        final DefaultArtifact artifact =
+            new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "1.0" ), "foo", "bar",
+                                 "jar", new DefaultArtifactHandler() );
+        ArtifactVersions instance =
+            new ArtifactVersions( artifact, Arrays.asList( versions ), new MavenVersionComparator() );
+        assertArrayEquals(
+            new ArtifactVersion[]{new DefaultArtifactVersion( "1.0" ), new DefaultArtifactVersion( "1.1" ),
+                new DefaultArtifactVersion( "1.2" ), new DefaultArtifactVersion( "2.1" ),},
+            instance.getVersions( false ) );
+        assertEquals( 6, instance.getVersions( true ).length );
+        assertEquals( "2.1", instance.getNewestVersion( null, null, false, true, true ).toString() );
+        assertEquals( "2.0-SNAPSHOT", instance.getNewestVersion( new DefaultArtifactVersion( "1.0" ),
+                                                                 new DefaultArtifactVersion( "2.0" ), true,
+                                                                 false, false ).toString() );
+        assertEquals( "1.2", instance.getNewestVersion( new DefaultArtifactVersion( "1.0" ),
+                                                        new DefaultArtifactVersion( "2.0" ), false, false,
+                                                        false ).toString() );
+        assertEquals( "1.1", instance.getOldestVersion( new DefaultArtifactVersion( "1.0" ), null, false, false,
+                                                        false ).toString() );
+        assertEquals( "1.0", instance.getOldestVersion( new DefaultArtifactVersion( "1.0" ), null, false, true,
+                                                        false ).toString() );
+        assertArrayEquals(
+            new ArtifactVersion[]{new DefaultArtifactVersion( "1.1" ), new DefaultArtifactVersion( "1.2" ),},
+            instance.getVersions( new DefaultArtifactVersion( "1.0" ), new DefaultArtifactVersion( "2.1" ), false,
+                                  false, false ) );
+        assertEquals( 0, instance.getVersions( new DefaultArtifactVersion( "2.1" ), new DefaultArtifactVersion( "1.0" ),
+                                               true, true, true ).length );
+
+        VersionRange range = VersionRange.createFromVersionSpec( "[1.0],[1.2,2.0)" );
+        assertEquals( "1.2", instance.getNewestVersion( range, false ).toString() );
+        assertEquals( "1.0", instance.getOldestVersion( range, false ).toString() );
+        assertArrayEquals(
+            new ArtifactVersion[]{new DefaultArtifactVersion( "1.0" ), new DefaultArtifactVersion( "1.2" ),},
+            instance.getVersions( range, false ) );
+        assertTrue( instance.containsVersion( "1.3-SNAPSHOT" ) );
+        assertFalse( instance.containsVersion( "1.3" ) );
+    }
+
+    public void testUpdateSummaryMatchesEachScope()
+        throws Exception
+    {
+        String[] available =
+            { "1.0", "1.0.1", "1.0.2-SNAPSHOT", "1.0.2", "1.0.3", "1.1", "1.1.1", "1.2-SNAPSHOT", "1.2", "2.0-alpha-1",
+                "2.0", "2.1", "3.0-SNAPSHOT" };
+        ArtifactVersion[] versions = new ArtifactVersion[available.length];
+        for ( int i = 0; i < available.length; i++ )
+        {
+            versions[i] = new DefaultArtifactVersion( available[i] );
+        }
+        final DefaultArtifact artifact =
+            new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "1.0.1" ), "foo", "bar",
+                                 "jar", new DefaultArtifactHandler() );
+        ArtifactVersions instance =
+            new ArtifactVersions( artifact, Arrays.asList( versions ), new MavenVersionComparator() );
+        String[] currentVersions = { "1.0.1", "1.0", "1", "1.1", "2.0", "3.0", "0.9.9.9" };
+        for ( String current : currentVersions )
+        {
+            for ( boolean includeSnapshots : new boolean[]{ false, true } )
+            {
+                ArtifactVersion currentVersion = new DefaultArtifactVersion( current );
+                UpdateSummary summary = instance.getUpdateSummary( currentVersion, includeSnapshots );
+                for ( UpdateScope scope : UpdateScope.values() )
+                {
+                    String message = current + " " + scope + " " + includeSnapshots;
+                    assertEquals( message, String.valueOf(
+                        instance.getOldestUpdate( currentVersion, scope, includeSnapshots ) ),
+                                  String.valueOf( summary.getOldestUpdate( scope ) ) );
+                    assertEquals( message, String.valueOf(
+                        instance.getNewestUpdate( currentVersion, scope, includeSnapshots ) ),
+                                  String.valueOf( summary.getNewestUpdate( scope ) ) );
+                }
+            }
+        }
+        instance.setCurrentVersion( "1.0.1" );
+        assertEquals( "1.0.2", instance.getUpdateSummary().getOldestUpdate( UpdateScope.INCREMENTAL ).toString() );
+        assertEquals( "2.1", instance.getUpdateSummary().getNewestUpdate( UpdateScope.MAJOR ).toString() );
+    }
+
     private static void assertArrayEquals( ArtifactVersion[] expected, ArtifactVersion[] actual )
     {
         try
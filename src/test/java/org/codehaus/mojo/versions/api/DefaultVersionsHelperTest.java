@@ -44,6 +44,8 @@ import org.apache.maven.wagon.providers.file.FileWagon;
 import org.apache.maven.wagon.repository.Repository;
 import org.apache.maven.execution.MavenSession;
 import org.codehaus.mojo.versions.Property;
+import org.codehaus.mojo.versions.model.IgnoreVersion;
+import org.codehaus.mojo.versions.model.Rule;
 import org.codehaus.mojo.versions.ordering.VersionComparators;
 
 import java.util.ArrayList;
@@ -60,6 +62,8 @@ import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test {@link DefaultVersionsHelper}
@@ -130,6 +134,101 @@ public class DefaultVersionsHelperTest
         assertThat( actual, hasItems( one, two, three, illegal ) );
     }
     
+    public void testOverriddenBestFitRuleDecidesIgnoredVersions() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        final Artifact artifact = mock( Artifact.class );
+        when( artifact.getGroupId() ).thenReturn( "com.mycompany.maven" );
+        when( artifact.getArtifactId() ).thenReturn( "artifact-one" );
+
+        final ArtifactVersion one = new DefaultArtifactVersion( "one" );
+        final ArtifactVersion two = new DefaultArtifactVersion( "two" );
+        final List<ArtifactVersion> artifactVersions = new ArrayList<ArtifactVersion>();
+        artifactVersions.add( one );
+        artifactVersions.add( two );
+        artifactVersions.add( new DefaultArtifactVersion( "three" ) );
+        artifactVersions.add( new DefaultArtifactVersion( "three-alpha" ) );
+
+        when( metadataSource.retrieveAvailableVersions( same( artifact ), any( ArtifactRepository.class ), anyList() ) ).thenReturn( artifactVersions );
+
+        final IgnoreVersion ignoreThree = new IgnoreVersion();
+        ignoreThree.setVersion( "three" );
+        final Rule rule = new Rule();
+        rule.setComparisonMethod( "maven" );
+        rule.addIgnoreVersion( ignoreThree );
+
+        final String resourcePath = "/" + getClass().getPackage().getName().replace( '.', '/' ) + "/rules.xml";
+        VersionsHelper helper =
+            new DefaultVersionsHelper( new DefaultArtifactFactory(), new DefaultArtifactResolver(), metadataSource, new ArrayList(),
+                                       new ArrayList(),
+                                       new DefaultArtifactRepository( "", "", new DefaultRepositoryLayout() ),
+                                       createWagonManager(), new Settings(), "",
+                                       getClass().getResource( resourcePath ).toExternalForm(), mock( Log.class ),
+                                       mock( MavenSession.class ), new DefaultPathTranslator() )
+            {
+                protected Rule getBestFitRule( String groupId, String artifactId )
+                {
+                    return rule;
+                }
+            };
+
+        final List<ArtifactVersion> actual = asList( helper.lookupArtifactVersions( artifact, true ).getVersions( true ) );
+
+        // the versions of the overriding rule are ignored instead of those of the rule set, the global ones still are
+        assertEquals( 2, actual.size() );
+        assertThat( actual, hasItems( one, two ) );
+    }
+
+    public void testRepeatedLookupsAreCoalesced() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        final Artifact artifact = mock( Artifact.class );
+        when( artifact.getGroupId() ).thenReturn( "other.company" );
+        when( artifact.getArtifactId() ).thenReturn( "artifact-three" );
+
+        final List<ArtifactVersion> artifactVersions = new ArrayList<ArtifactVersion>();
+        artifactVersions.add( new DefaultArtifactVersion( "1.0" ) );
+        artifactVersions.add( new DefaultArtifactVersion( "1.0-alpha" ) );
+
+        when( metadataSource.retrieveAvailableVersions( same( artifact ), any( ArtifactRepository.class ), anyList() ) ).thenReturn( artifactVersions );
+
+        VersionsHelper helper = createHelper( metadataSource );
+
+        assertEquals( 1, helper.lookupArtifactVersions( artifact, false ).getVersions( true ).length );
+        assertEquals( 1, helper.lookupArtifactVersions( artifact, false ).getVersions( true ).length );
+
+        verify( metadataSource, times( 1 ) ).retrieveAvailableVersions( same( artifact ), any( ArtifactRepository.class ), anyList() );
+        assertEquals( 2, artifactVersions.size() );
+    }
+
+    public void testBatchLookupKeepsArtifactOrder() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        final List<Artifact> artifacts = new ArrayList<Artifact>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            final Artifact artifact = mock( Artifact.class );
+            when( artifact.getGroupId() ).thenReturn( "batch.company" );
+            when( artifact.getArtifactId() ).thenReturn( "artifact-" + i );
+            final List<ArtifactVersion> artifactVersions = new ArrayList<ArtifactVersion>();
+            for ( int j = 0; j <= i; j++ )
+            {
+                artifactVersions.add( new DefaultArtifactVersion( "1." + j ) );
+            }
+            when( metadataSource.retrieveAvailableVersions( same( artifact ), any( ArtifactRepository.class ),
+                                                            anyList() ) ).thenReturn( artifactVersions );
+            artifacts.add( artifact );
+        }
+
+        Map<Artifact, ArtifactVersions> result = createHelper( metadataSource ).lookupArtifactVersions( artifacts, false );
+
+        assertEquals( artifacts, new ArrayList<Artifact>( result.keySet() ) );
+        for ( int i = 0; i < 10; i++ )
+        {
+            assertEquals( i + 1, result.get( artifacts.get( i ) ).getVersions( true ).length );
+        }
+    }
+
     public void testWildcardMatching()
         throws Exception
     {
@@ -193,7 +292,18 @@ public class DefaultVersionsHelperTest
     private VersionsHelper createHelper( String rulesUri, ArtifactMetadataSource metadataSource )
         throws MojoExecutionException
     {
-        final DefaultWagonManager wagonManager = new DefaultWagonManager()
+        VersionsHelper helper =
+            new DefaultVersionsHelper( new DefaultArtifactFactory(), new DefaultArtifactResolver(), metadataSource, new ArrayList(),
+                                       new ArrayList(),
+                                       new DefaultArtifactRepository( "", "", new DefaultRepositoryLayout() ),
+                                       createWagonManager(), new Settings(), "", rulesUri, mock( Log.class ), mock( MavenSession.class ),
+                                       new DefaultPathTranslator());
+        return helper;
+    }
+
+    private static DefaultWagonManager createWagonManager()
+    {
+        return new DefaultWagonManager()
         {
             public Wagon getWagon( Repository repository )
                 throws UnsupportedProtocolException, WagonConfigurationException
@@ -201,14 +311,6 @@ public class DefaultVersionsHelperTest
                 return new FileWagon();
             }
         };
-
-        VersionsHelper helper =
-            new DefaultVersionsHelper( new DefaultArtifactFactory(), new DefaultArtifactResolver(), metadataSource, new ArrayList(),
-                                       new ArrayList(),
-                                       new DefaultArtifactRepository( "", "", new DefaultRepositoryLayout() ),
-                                       wagonManager, new Settings(), "", rulesUri, mock( Log.class ), mock( MavenSession.class ),
-                                       new DefaultPathTranslator());
-        return helper;
     }
 
 }
@@ -0,0 +1,133 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.mojo.versions.model.IgnoreVersion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the {@link IgnoreVersionsMatcher} against matching the ignore versions one at a time.
+ */
+public class IgnoreVersionsMatcherTest
+    extends TestCase
+{
+    private static final String[] REGEXES =
+        { ".*-alpha", ".*-beta\\d*", "1\\.0|2\\.0", "(?i)rc.*", "(\\d)\\.\\1", "^3\\.[0-9]+$", "[a-c]{2,}", "x?" };
+
+    private static final String[] VERSIONS =
+        { "1.0-alpha", "1.0-ALPHA", "1.0-beta", "1.0-beta12", "1.0", "2.0", "1.0.1", "2.0-beta", "RC1", "rc2",
+            "1.0-rc", "1.1", "2.2", "1.2", "3.14", "3.", "ab", "abc", "a", "x", "", "one", "3.0", "12-beta", "12-rc" };
+
+    public void testCombinedRegexMatchesLikeEachRegex()
+    {
+        for ( int i = 0; i < REGEXES.length; i++ )
+        {
+            // every prefix of the list, so that each regex is also tried next to those before it
+            List<IgnoreVersion> ignoreVersions = regexes( Arrays.asList( REGEXES ).subList( 0, i + 1 ) );
+            assertMatchesLikeEachIgnoreVersion( ignoreVersions );
+            // and each regex on its own
+            assertMatchesLikeEachIgnoreVersion( regexes( Arrays.asList( REGEXES[i] ) ) );
+        }
+    }
+
+    public void testRegexesThatCannotBeMerged()
+    {
+        // each of these compiles on its own, but not when joined to the others as text
+        String[][] cases = {
+            { "(?<q>\\d+)-beta", "(?<q>\\d+)-rc" },
+            { "\\Q1.0-beta", "1\\.1" },
+            { "(?x) 1 \\. 0 # one dot oh", "2\\.2" } };
+        for ( String[] regexes : cases )
+        {
+            List<IgnoreVersion> ignoreVersions = regexes( Arrays.asList( regexes ) );
+            ignoreVersions.addAll( regexes( Arrays.asList( REGEXES ) ) );
+            assertMatchesLikeEachIgnoreVersion( ignoreVersions );
+            assertTrue( new IgnoreVersionsMatcher( ignoreVersions ).matches( "2.2" ) );
+        }
+        assertTrue( new IgnoreVersionsMatcher( regexes( Arrays.asList( cases[0] ) ) ).matches( "12-rc" ) );
+        assertTrue( new IgnoreVersionsMatcher( regexes( Arrays.asList( cases[1] ) ) ).matches( "1.1" ) );
+        assertTrue( new IgnoreVersionsMatcher( regexes( Arrays.asList( cases[2] ) ) ).matches( "2.2" ) );
+    }
+
+    public void testExactAndRegex()
+    {
+        List<IgnoreVersion> ignoreVersions = regexes( Arrays.asList( REGEXES ) );
+        ignoreVersions.add( 2, ignoreVersion( IgnoreVersionsMatcher.TYPE_EXACT, "1.1" ) );
+        ignoreVersions.add( ignoreVersion( IgnoreVersionsMatcher.TYPE_EXACT, "3.0" ) );
+        // an exact version is not a regex
+        ignoreVersions.add( ignoreVersion( IgnoreVersionsMatcher.TYPE_EXACT, "1.." ) );
+
+        assertMatchesLikeEachIgnoreVersion( ignoreVersions );
+        assertFalse( new IgnoreVersionsMatcher( ignoreVersions ).matches( "1.2" ) );
+    }
+
+    public void testEmpty()
+    {
+        IgnoreVersionsMatcher matcher = new IgnoreVersionsMatcher( new ArrayList<IgnoreVersion>() );
+
+        assertTrue( matcher.isEmpty() );
+        assertFalse( matcher.matches( "" ) );
+        assertNull( matcher.findMatch( "1.0" ) );
+    }
+
+    private static void assertMatchesLikeEachIgnoreVersion( List<IgnoreVersion> ignoreVersions )
+    {
+        IgnoreVersionsMatcher matcher = new IgnoreVersionsMatcher( ignoreVersions );
+        for ( String version : VERSIONS )
+        {
+            IgnoreVersion expected = null;
+            for ( IgnoreVersion ignoreVersion : ignoreVersions )
+            {
+                if ( IgnoreVersionsMatcher.TYPE_EXACT.equals( ignoreVersion.getType() )
+                    ? version.equals( ignoreVersion.getVersion() )
+                    : Pattern.compile( ignoreVersion.getVersion() ).matcher( version ).matches() )
+                {
+                    expected = ignoreVersion;
+                    break;
+                }
+            }
+            assertEquals( version + " with " + ignoreVersions, expected != null, matcher.matches( version ) );
+            assertSame( version + " with " + ignoreVersions, expected, matcher.findMatch( version ) );
+        }
+    }
+
+    private static List<IgnoreVersion> regexes( List<String> regexes )
+    {
+        List<IgnoreVersion> ignoreVersions = new ArrayList<IgnoreVersion>();
+        for ( String regex : regexes )
+        {
+            ignoreVersions.add( ignoreVersion( IgnoreVersionsMatcher.TYPE_REGEX, regex ) );
+        }
+        return ignoreVersions;
+    }
+
+    private static IgnoreVersion ignoreVersion( String type, String version )
+    {
+        IgnoreVersion ignoreVersion = new IgnoreVersion();
+        ignoreVersion.setType( type );
+        ignoreVersion.setVersion( version );
+        return ignoreVersion;
+    }
+}
@@ -0,0 +1,86 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.AbstractFileTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tests the {@link LifecycleCache}.
+ */
+public class LifecycleCacheTest
+    extends AbstractFileTestCase
+{
+    private static Map<String, String> entry()
+    {
+        Map<String, String> entry = new LinkedHashMap<String, String>();
+        entry.put( "org.apache.maven.plugins:maven-compiler-plugin", "2.0.2" );
+        entry.put( "org.apache.maven.plugins:maven-surefire-plugin", null );
+        entry.put( "org.apache.maven.plugins:maven-jar-plugin", "2.1" );
+        return entry;
+    }
+
+    public void testKeepsEntriesOnDisk()
+        throws Exception
+    {
+        String key = "2.2.1/super-pom/" + getName();
+        new LifecycleCache( dir ).put( key, entry(), true );
+        assertTrue( new File( dir, "2.2.1/super-pom/" + getName() + ".txt" ).isFile() );
+
+        // a copy of what was put, in the same order
+        Map<String, String> cached = new LifecycleCache( null ).get( key );
+        assertEquals( entry(), cached );
+        assertEquals( new ArrayList<String>( entry().keySet() ), new ArrayList<String>( cached.keySet() ) );
+        cached.clear();
+        assertEquals( entry(), new LifecycleCache( null ).get( key ) );
+    }
+
+    public void testReadsEntriesFromDisk()
+        throws Exception
+    {
+        File file = new File( dir, "2.2.1/bound-plugins/" + getName() + ".txt" );
+        assertTrue( file.getParentFile().mkdirs() );
+        FileUtils.fileWrite( file.getPath(), "UTF-8", "org.apache.maven.plugins:maven-clean-plugin\n"
+            + "org.apache.maven.plugins:maven-site-plugin\t2.0\n" );
+
+        Map<String, String> cached = new LifecycleCache( dir ).get( "2.2.1/bound-plugins/" + getName() );
+        assertEquals( Arrays.asList( "org.apache.maven.plugins:maven-clean-plugin",
+                                     "org.apache.maven.plugins:maven-site-plugin" ),
+                      new ArrayList<String>( cached.keySet() ) );
+        assertNull( cached.get( "org.apache.maven.plugins:maven-clean-plugin" ) );
+        assertEquals( "2.0", cached.get( "org.apache.maven.plugins:maven-site-plugin" ) );
+        assertNull( new LifecycleCache( dir ).get( "2.2.1/bound-plugins/missing" ) );
+    }
+
+    public void testKeepsTransientEntriesInMemoryOnly()
+        throws Exception
+    {
+        String key = "2.2.1/mappings/" + getName();
+        new LifecycleCache( dir ).put( key, entry(), false );
+        assertEquals( entry(), new LifecycleCache( dir ).get( key ) );
+        assertEquals( 0, dir.list().length );
+    }
+}
@@ -0,0 +1,188 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Test {@link LookupExecutor}
+ */
+public class LookupExecutorTest
+    extends TestCase
+{
+    public void testSessionScoped()
+    {
+        Object session = new Object();
+        assertSame( LookupExecutor.getInstance( session, 2 ), LookupExecutor.getInstance( session, 2 ) );
+        assertNotSame( LookupExecutor.getInstance( session, 2 ), LookupExecutor.getInstance( new Object(), 2 ) );
+    }
+
+    public void testResultsInTaskOrder()
+        throws Exception
+    {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            tasks.add( new Constant( i ) );
+        }
+        List<Integer> results = LookupExecutor.getInstance( null, 3 ).invokeAll( tasks );
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertEquals( i, results.get( i ).intValue() );
+        }
+    }
+
+    public void testTasksRunInParallel()
+        throws Exception
+    {
+        final Set<Thread> threads = Collections.synchronizedSet( new HashSet<Thread>() );
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for ( int i = 0; i < 40; i++ )
+        {
+            tasks.add( new Callable<Integer>()
+            {
+                public Integer call()
+                    throws Exception
+                {
+                    threads.add( Thread.currentThread() );
+                    Thread.sleep( 50 );
+                    return Integer.valueOf( 0 );
+                }
+            } );
+        }
+        long start = System.currentTimeMillis();
+        LookupExecutor.getInstance( null, 4 ).invokeAll( tasks );
+        long elapsed = System.currentTimeMillis() - start;
+
+        // the caller and the four pool threads share the tasks, rather than the caller running most of them
+        assertEquals( 5, threads.size() );
+        assertTrue( "took " + elapsed + "ms", elapsed < 40 * 50 / 2 );
+    }
+
+    public void testNestedBatchesDoNotDeadlock()
+        throws Exception
+    {
+        final LookupExecutor executor = LookupExecutor.getInstance( null, 1 );
+        List<Callable<Integer>> outer = new ArrayList<Callable<Integer>>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            outer.add( new Callable<Integer>()
+            {
+                public Integer call()
+                    throws Exception
+                {
+                    int sum = 0;
+                    for ( Integer value : executor.invokeAll(
+                        Arrays.asList( new Constant( 1 ), new Constant( 2 ), new Constant( 3 ) ) ) )
+                    {
+                        sum += value.intValue();
+                    }
+                    return Integer.valueOf( sum );
+                }
+            } );
+        }
+        for ( Integer result : executor.invokeAll( outer ) )
+        {
+            assertEquals( 6, result.intValue() );
+        }
+    }
+
+    public void testFailureIsReported()
+        throws Exception
+    {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for ( int i = 0; i < 20; i++ )
+        {
+            tasks.add( new Constant( i ) );
+        }
+        tasks.add( 10, new Callable<Integer>()
+        {
+            public Integer call()
+                throws Exception
+            {
+                throw new IllegalStateException( "boom" );
+            }
+        } );
+        try
+        {
+            LookupExecutor.getInstance( null, 4 ).invokeAll( tasks );
+            fail( "expected an ExecutionException" );
+        }
+        catch ( ExecutionException e )
+        {
+            assertTrue( e.getCause() instanceof IllegalStateException );
+        }
+        assertFalse( Thread.currentThread().isInterrupted() );
+    }
+
+    public void testFailureKeepsCallersInterrupt()
+        throws Exception
+    {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        tasks.add( new Constant( 0 ) );
+        tasks.add( new Callable<Integer>()
+        {
+            public Integer call()
+                throws Exception
+            {
+                throw new IllegalStateException( "boom" );
+            }
+        } );
+        Thread.currentThread().interrupt();
+        try
+        {
+            LookupExecutor.getInstance( null, 2 ).invokeAll( tasks );
+            fail( "expected an ExecutionException" );
+        }
+        catch ( ExecutionException e )
+        {
+            assertTrue( e.getCause() instanceof IllegalStateException );
+        }
+        finally
+        {
+            assertTrue( Thread.interrupted() );
+        }
+    }
+
+    private static final class Constant
+        implements Callable<Integer>
+    {
+        private final int value;
+
+        Constant( int value )
+        {
+            this.value = value;
+        }
+
+        public Integer call()
+        {
+            return Integer.valueOf( value );
+        }
+    }
+}
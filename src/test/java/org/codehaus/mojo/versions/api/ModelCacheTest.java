@@ -0,0 +1,86 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.model.Model;
+import org.codehaus.mojo.versions.AbstractFileTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+
+/**
+ * Tests the {@link ModelCache}.
+ */
+public class ModelCacheTest
+    extends AbstractFileTestCase
+{
+    private static String pom( String version )
+    {
+        return "<project><modelVersion>4.0.0</modelVersion><groupId>localhost</groupId>"
+            + "<artifactId>cached</artifactId><version>" + version + "</version></project>";
+    }
+
+    public void testReturnsCopiesAndFollowsChanges()
+        throws Exception
+    {
+        File file = new File( dir, "pom.xml" );
+        FileUtils.fileWrite( file.getPath(), pom( "1.0" ) );
+        ModelCache cache = ModelCache.getInstance( null, null );
+
+        Model first = cache.getModel( file );
+        assertEquals( "1.0", first.getVersion() );
+        first.setVersion( "changed" );
+        Model second = cache.getModel( file );
+        assertNotSame( first, second );
+        assertEquals( "1.0", second.getVersion() );
+
+        // same length and same modification time, the content still tells the change apart
+        long lastModified = file.lastModified();
+        FileUtils.fileWrite( file.getPath(), pom( "2.0" ) );
+        assertTrue( file.setLastModified( lastModified ) );
+        assertEquals( "2.0", cache.getModel( file ).getVersion() );
+
+        FileUtils.fileWrite( file.getPath(), pom( "3.0" ) );
+        assertTrue( file.setLastModified( lastModified + 2000 ) );
+        assertEquals( "3.0", cache.getModel( file ).getVersion() );
+    }
+
+    public void testKeepsModelsInDirectory()
+        throws Exception
+    {
+        File file = new File( dir, "pom.xml" );
+        FileUtils.fileWrite( file.getPath(), pom( "1.0" ) );
+        File store = new File( dir, "store" );
+
+        assertEquals( "1.0", ModelCache.getInstance( null, store ).getModel( file ).getVersion() );
+        assertEquals( 1, store.list().length );
+        File stored = store.listFiles()[0];
+        assertTrue( stored.getName().endsWith( ".xml" ) );
+
+        // the stored pom is read instead of the file
+        FileUtils.fileWrite( stored.getPath(), FileUtils.fileRead( stored ).replace( ">1.0<", ">stored<" ) );
+        assertEquals( "stored", ModelCache.getInstance( null, store ).getModel( file ).getVersion() );
+        assertEquals( 1, store.list().length );
+
+        // and one that cannot be read is as good as none
+        FileUtils.fileWrite( stored.getPath(), "<project>" );
+        assertEquals( "1.0", ModelCache.getInstance( null, store ).getModel( file ).getVersion() );
+    }
+}
@@ -1,12 +1,18 @@
 package org.codehaus.mojo.versions.api;
 
 import junit.framework.TestCase;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 import org.codehaus.stax2.XMLInputFactory2;
 
 import javax.xml.stream.XMLInputFactory;
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 
 /**
  * Tets the methods of {@link PomHelper}.
@@ -118,4 +124,86 @@ public class PomHelperTest
 
     }
 
+
+    /**
+     * Tests that a batch of changes applied in a single pass gives the same pom as the single changes made one after
+     * the other.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testApplyEditsMatchesSingleChanges()
+        throws Exception
+    {
+        URL url = getClass().getResource( "PomHelperTest.testApplyEdits.pom.xml" );
+        StringBuilder input = PomHelper.readXmlFile( new File( url.getPath() ) );
+
+        XMLInputFactory inputFactory = XMLInputFactory2.newInstance();
+        inputFactory.setProperty( XMLInputFactory2.P_PRESERVE_LOCATION, Boolean.TRUE );
+
+        ModifiedPomXMLEventReader expected =
+            new ModifiedPomXMLEventReader( new StringBuilder( input.toString() ), inputFactory );
+        assertTrue( PomHelper.setDependencyVersion( expected, "localhost", "foo", "1.0", "1.1" ) );
+        assertTrue( PomHelper.setDependencyVersion( expected, "localhost", "baz", "1.5", "2.0" ) );
+        assertFalse( PomHelper.setDependencyVersion( expected, "localhost", "missing", "1.0", "2.0" ) );
+        assertTrue( PomHelper.setPluginVersion( expected, null, "maven-compiler-plugin", "2.0", "2.1" ) );
+        assertTrue( PomHelper.setPropertyVersion( expected, null, "bar.version", "1.2" ) );
+        assertTrue( PomHelper.setPropertyVersion( expected, "extra", "bar.version", "1.3" ) );
+
+        ModifiedPomXMLEventReader pom =
+            new ModifiedPomXMLEventReader( new StringBuilder( input.toString() ), inputFactory );
+        PomEdits edits = new PomEdits();
+        PomEdits.Edit foo = edits.setDependencyVersion( "localhost", "foo", "1.0", "1.1" );
+        PomEdits.Edit baz = edits.setDependencyVersion( "localhost", "baz", "1.5", "2.0" );
+        PomEdits.Edit missing = edits.setDependencyVersion( "localhost", "missing", "1.0", "2.0" );
+        PomEdits.Edit plugin = edits.setPluginVersion( null, "maven-compiler-plugin", "2.0", "2.1" );
+        PomEdits.Edit property = edits.setPropertyVersion( null, "bar.version", "1.2" );
+        PomEdits.Edit profileProperty = edits.setPropertyVersion( "extra", "bar.version", "1.3" );
+        assertTrue( PomHelper.applyEdits( pom, edits ) );
+
+        assertTrue( foo.isApplied() );
+        assertTrue( baz.isApplied() );
+        assertFalse( missing.isApplied() );
+        assertTrue( plugin.isApplied() );
+        assertTrue( property.isApplied() );
+        assertTrue( profileProperty.isApplied() );
+        assertTrue( pom.isModified() );
+        assertEquals( expected.asStringBuilder().toString(), pom.asStringBuilder().toString() );
+        assertEquals( 3, countOccurrences( pom.asStringBuilder().toString(), "<version>1.1</version>" ) );
+    }
+
+    /**
+     * Tests that the reactor models read in parallel are the same, and in the same order, as when read one after the
+     * other, with the siblings before the children.
+     *
+     * @throws Exception if the test fails.
+     */
+    public void testGetReactorModelsInParallel()
+        throws Exception
+    {
+        URL url = getClass().getResource( "PomHelperTest.reactor/pom.xml" );
+        MavenProject project = new MavenProject();
+        project.setFile( new File( url.getPath() ) );
+
+        Map<String, Model> serial = PomHelper.getReactorModels( project, new SystemStreamLog() );
+        assertEquals( Arrays.asList( "", "a", "b", "c", "a/a1", "a/a2", "a/a1/a11", "b/b1" ),
+                      new ArrayList<String>( serial.keySet() ) );
+
+        Map<String, Model> parallel =
+            PomHelper.getReactorModels( project, new SystemStreamLog(), LookupExecutor.getInstance( null, 4 ) );
+        assertEquals( new ArrayList<String>( serial.keySet() ), new ArrayList<String>( parallel.keySet() ) );
+        for ( Map.Entry<String, Model> entry : serial.entrySet() )
+        {
+            assertEquals( entry.getValue().getArtifactId(), parallel.get( entry.getKey() ).getArtifactId() );
+        }
+    }
+
+    private static int countOccurrences( String text, String substring )
+    {
+        int count = 0;
+        for ( int i = text.indexOf( substring ); i >= 0; i = text.indexOf( substring, i + 1 ) )
+        {
+            count++;
+        }
+        return count;
+    }
 }
@@ -0,0 +1,54 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.AbstractFileTestCase;
+
+import java.io.File;
+
+/**
+ * Tests the {@link RequiredMavenVersionIndex}.
+ */
+public class RequiredMavenVersionIndexTest
+    extends AbstractFileTestCase
+{
+    public void testKeepsEntriesOnDisk()
+        throws Exception
+    {
+        RequiredMavenVersionIndex index = RequiredMavenVersionIndex.getInstance( dir );
+        assertSame( index, RequiredMavenVersionIndex.getInstance( dir ) );
+        assertNull( index.get( "localhost", "plugin", "1.0" ) );
+
+        index.put( "localhost", "plugin", "1.0", "2.0.6" );
+        index.put( "localhost", "plugin", "1.1", RequiredMavenVersionIndex.UNSPECIFIED );
+        index.put( "localhost", "plugin", "1.2-SNAPSHOT", "3.0" );
+        assertEquals( "2.0.6", index.get( "localhost", "plugin", "1.0" ) );
+        assertEquals( RequiredMavenVersionIndex.UNSPECIFIED, index.get( "localhost", "plugin", "1.1" ) );
+        assertNull( index.get( "localhost", "plugin", "1.2-SNAPSHOT" ) );
+
+        // a different directory naming the same place reads what was written
+        RequiredMavenVersionIndex other =
+            RequiredMavenVersionIndex.getInstance( new File( new File( dir, "localhost" ), ".." ) );
+        assertNotSame( index, other );
+        assertEquals( "2.0.6", other.get( "localhost", "plugin", "1.0" ) );
+        assertEquals( RequiredMavenVersionIndex.UNSPECIFIED, other.get( "localhost", "plugin", "1.1" ) );
+        assertTrue( new File( dir, "localhost/plugin.properties" ).isFile() );
+    }
+}
@@ -0,0 +1,123 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
+import org.codehaus.mojo.versions.AbstractFileTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the {@link RequiredMavenVersionReader}.
+ */
+public class RequiredMavenVersionReaderTest
+    extends AbstractFileTestCase
+{
+    private final List<String> resolved = new ArrayList<String>();
+
+    private RequiredMavenVersionReader reader;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        reader = new RequiredMavenVersionReader( null )
+        {
+            protected File resolve( String groupId, String artifactId, String version )
+                throws ArtifactNotFoundException
+            {
+                resolved.add( artifactId + ":" + version );
+                File file = new File( dir, groupId + "-" + artifactId + "-" + version + ".pom" );
+                if ( !file.isFile() )
+                {
+                    throw new ArtifactNotFoundException( "missing", groupId, artifactId, version, "pom", null, null,
+                                                         null, null, null );
+                }
+                return file;
+            }
+        };
+    }
+
+    private void pom( String artifactId, String version, String content )
+        throws Exception
+    {
+        FileUtils.fileWrite( new File( dir, "reader-" + artifactId + "-" + version + ".pom" ).getPath(),
+                             "<?xml version=\"1.0\"?>\n<project><modelVersion>4.0.0</modelVersion>" + content
+                                 + "</project>" );
+    }
+
+    public void testReadsOwnPrerequisites()
+        throws Exception
+    {
+        pom( "own", "1.0", "<build><plugins><plugin><prerequisites><maven>9</maven></prerequisites></plugin>"
+            + "</plugins></build><prerequisites><maven>2.0.6</maven></prerequisites>" );
+
+        assertEquals( "2.0.6", reader.getRequiredMavenVersion( "reader", "own", "1.0" ) );
+        assertEquals( 1, resolved.size() );
+    }
+
+    public void testHighestInParentChainWins()
+        throws Exception
+    {
+        pom( "low-parent", "1", "<prerequisites><maven>2.0.6</maven></prerequisites>" );
+        pom( "high-parent", "1", "<prerequisites><maven>3.0</maven></prerequisites>" );
+        pom( "above-parent", "1.0", "<parent><groupId>reader</groupId><artifactId>low-parent</artifactId>"
+            + "<version>1</version></parent><prerequisites><maven>2.2.1</maven></prerequisites>" );
+        pom( "below-parent", "1.0", "<prerequisites><maven>2.2.1</maven></prerequisites><parent>"
+            + "<groupId>reader</groupId><artifactId>high-parent</artifactId><version>1</version></parent>" );
+
+        // as when the project is built, the parent is followed even though the pom declares a version itself
+        assertEquals( "2.2.1", reader.getRequiredMavenVersion( "reader", "above-parent", "1.0" ) );
+        assertEquals( "3.0", reader.getRequiredMavenVersion( "reader", "below-parent", "1.0" ) );
+    }
+
+    public void testRemembersParents()
+        throws Exception
+    {
+        pom( "top", "1", "<prerequisites><maven>3.0</maven></prerequisites>" );
+        pom( "middle", "1", "<parent><groupId>reader</groupId><artifactId>top</artifactId><version>1</version>"
+            + "</parent>" );
+        pom( "first", "1.0", "<parent><groupId>reader</groupId><artifactId>middle</artifactId><version>1</version>"
+            + "</parent>" );
+        pom( "second", "1.0", "<parent><groupId>reader</groupId><artifactId>middle</artifactId><version>1</version>"
+            + "</parent>" );
+        pom( "orphan", "1.0", "<artifactId>orphan</artifactId>" );
+
+        assertEquals( "3.0", reader.getRequiredMavenVersion( "reader", "first", "1.0" ) );
+        assertEquals( "3.0", reader.getRequiredMavenVersion( "reader", "second", "1.0" ) );
+        assertEquals( RequiredMavenVersionIndex.UNSPECIFIED,
+                      reader.getRequiredMavenVersion( "reader", "orphan", "1.0" ) );
+        // the parents are only read once
+        assertEquals( 5, resolved.size() );
+    }
+
+    public void testLeavesPropertiesToProjectBuilding()
+        throws Exception
+    {
+        pom( "property", "1.0", "<prerequisites><maven>${maven.version}</maven></prerequisites>" );
+        FileUtils.fileWrite( new File( dir, "reader-broken-1.0.pom" ).getPath(), "<project><prerequisites>" );
+
+        assertNull( reader.getRequiredMavenVersion( "reader", "property", "1.0" ) );
+        assertNull( reader.getRequiredMavenVersion( "reader", "broken", "1.0" ) );
+    }
+}
@@ -0,0 +1,137 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests the {@link RequiredMavenVersionSearch}.
+ */
+public class RequiredMavenVersionSearchTest
+    extends TestCase
+{
+    private static ArtifactVersion[] versions( int count )
+    {
+        ArtifactVersion[] versions = new ArtifactVersion[count];
+        for ( int i = 0; i < count; i++ )
+        {
+            versions[i] = new DefaultArtifactVersion( "1." + i );
+        }
+        return versions;
+    }
+
+    /**
+     * A probe that answers from a list of required maven versions, <code>null</code> for a bad version, and counts
+     * the versions it is asked about.
+     */
+    private static final class ListProbe
+        implements RequiredMavenVersionSearch.Probe
+    {
+        private final Map<String, ArtifactVersion> requires = new HashMap<String, ArtifactVersion>();
+
+        private final List<String> asked = new ArrayList<String>();
+
+        ListProbe( ArtifactVersion[] versions, String... requires )
+        {
+            for ( int i = 0; i < versions.length; i++ )
+            {
+                this.requires.put( versions[i].toString(),
+                                   requires[i] == null ? null : new DefaultArtifactVersion( requires[i] ) );
+            }
+        }
+
+        public ArtifactVersion getRequiredMavenVersion( ArtifactVersion version )
+        {
+            assertFalse( "probed twice", asked.contains( version.toString() ) );
+            asked.add( version.toString() );
+            return requires.get( version.toString() );
+        }
+    }
+
+    public void testBisectsMonotoneHistory()
+        throws Exception
+    {
+        ArtifactVersion[] versions = versions( 64 );
+        String[] requires = new String[versions.length];
+        for ( int i = 0; i < requires.length; i++ )
+        {
+            requires[i] = i < 40 ? "2.0" : i < 50 ? "2.2.1" : "3.0";
+        }
+        ListProbe probe = new ListProbe( versions, requires );
+        RequiredMavenVersionSearch search = new RequiredMavenVersionSearch( versions, probe );
+
+        assertEquals( 39, search.findNewest( new DefaultArtifactVersion( "2.0.9" ) ) );
+        assertEquals( 63, search.findNewest( new DefaultArtifactVersion( "3.0.4" ) ) );
+        assertEquals( -1, search.findNewest( new DefaultArtifactVersion( "1.0" ) ) );
+        Map<ArtifactVersion, ArtifactVersion> upgrades = search.getUpgrades( 39 );
+        List<String> required = new ArrayList<String>();
+        for ( ArtifactVersion version : upgrades.keySet() )
+        {
+            required.add( version.toString() );
+        }
+        assertEquals( Arrays.asList( "3.0", "2.2.1" ), required );
+        assertEquals( "1.63", upgrades.get( new DefaultArtifactVersion( "3.0" ) ).toString() );
+        assertEquals( "1.49", upgrades.get( new DefaultArtifactVersion( "2.2.1" ) ).toString() );
+        assertTrue( search.isMonotone() );
+        assertTrue( "probed " + probe.asked.size(), probe.asked.size() < 25 );
+    }
+
+    public void testFallsBackToLinearScan()
+        throws Exception
+    {
+        ArtifactVersion[] versions = versions( 8 );
+        ListProbe probe = new ListProbe( versions, "2.0", "2.0", "3.0", "2.0", "2.0", "2.2.1", "3.0", "2.0" );
+        RequiredMavenVersionSearch search = new RequiredMavenVersionSearch( versions, probe );
+
+        assertEquals( 7, search.findNewest( new DefaultArtifactVersion( "2.0" ) ) );
+        assertEquals( 7, search.findNewest( new DefaultArtifactVersion( "2.2.1" ) ) );
+        Map<ArtifactVersion, ArtifactVersion> upgrades = search.getUpgrades( -1 );
+        assertEquals( 1, upgrades.size() );
+        assertEquals( "1.7", upgrades.get( new DefaultArtifactVersion( "2.0" ) ).toString() );
+
+        // the versions we stop at do not matter
+        Map<ArtifactVersion, ArtifactVersion> some = new RequiredMavenVersionSearch( versions, new ListProbe(
+            versions, "2.0", "2.0", "3.0", "2.0", "2.0", "2.2.1", "3.0", "3.0" ) ).getUpgrades( 3 );
+        assertEquals( 3, some.size() );
+        assertEquals( "1.7", some.get( new DefaultArtifactVersion( "3.0" ) ).toString() );
+        assertEquals( "1.5", some.get( new DefaultArtifactVersion( "2.2.1" ) ).toString() );
+        assertEquals( "1.4", some.get( new DefaultArtifactVersion( "2.0" ) ).toString() );
+    }
+
+    public void testSkipsBadVersions()
+        throws Exception
+    {
+        ArtifactVersion[] versions = versions( 6 );
+        ListProbe probe = new ListProbe( versions, "2.0", "2.0", "2.0", "2.2.1", null, null );
+        RequiredMavenVersionSearch search = new RequiredMavenVersionSearch( versions, probe );
+
+        assertEquals( 3, search.findNewest( new DefaultArtifactVersion( "3.0" ) ) );
+        assertEquals( 2, search.findNewest( new DefaultArtifactVersion( "2.0" ) ) );
+        assertFalse( search.isMonotone() );
+    }
+}
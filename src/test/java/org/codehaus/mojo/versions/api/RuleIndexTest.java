@@ -0,0 +1,196 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.mojo.versions.model.Rule;
+import org.codehaus.mojo.versions.model.RuleSet;
+import org.codehaus.mojo.versions.utils.RegexUtils;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the {@link RuleIndex} against the linear walk over the rules that it replaced.
+ */
+public class RuleIndexTest
+    extends TestCase
+{
+    private RuleSet ruleSet;
+
+    private Rule exactGroup;
+
+    private Rule exactGroupWildcardArtifact;
+
+    private Rule wildcardGroup;
+
+    private Rule deeperWildcardGroup;
+
+    private Rule firstTie;
+
+    private Rule secondTie;
+
+    protected void setUp()
+        throws Exception
+    {
+        ruleSet = new RuleSet();
+        exactGroup = rule( "org.example", "widget" );
+        exactGroupWildcardArtifact = rule( "org.example", "*-widget" );
+        wildcardGroup = rule( "org.*", "*" );
+        deeperWildcardGroup = rule( "org.apache.?aven", "*" );
+        firstTie = rule( "com.tie", "a?c" );
+        secondTie = rule( "com.tie", "?bc" );
+        rule( "com.other", "*" );
+        rule( "*", "catch-all" );
+    }
+
+    private Rule rule( String groupId, String artifactId )
+    {
+        Rule rule = new Rule();
+        rule.setGroupId( groupId );
+        rule.setArtifactId( artifactId );
+        rule.setComparisonMethod( "maven" );
+        ruleSet.addRule( rule );
+        return rule;
+    }
+
+    private Rule getBestFitRule( String groupId, String artifactId )
+    {
+        Rule expected = referenceGetBestFitRule( ruleSet.getRules(), groupId, artifactId );
+        Rule actual = new RuleIndex( ruleSet, mock( Log.class ) ).getBestFitRule( groupId, artifactId );
+        assertSame( groupId + ":" + artifactId, expected, actual );
+        return actual;
+    }
+
+    public void testExactGroupId()
+    {
+        assertSame( exactGroup, getBestFitRule( "org.example", "widget" ) );
+        // a rule without wildcards also matches the start of an artifactId, and scores better than any wildcard
+        assertSame( exactGroup, getBestFitRule( "org.example", "widget-core" ) );
+        // an exact groupId hides the wildcard groupId rules, even when none of its artifactIds match
+        assertNull( getBestFitRule( "org.example", "gadget" ) );
+    }
+
+    public void testWildcardGroupId()
+    {
+        assertSame( wildcardGroup, getBestFitRule( "org.apache", "widget" ) );
+        // the fewer wildcards the better
+        assertSame( deeperWildcardGroup, getBestFitRule( "org.apache.maven", "widget" ) );
+        // the start of the groupId matches the rule without wildcards
+        assertSame( exactGroup, getBestFitRule( "org.example.sub", "widget" ) );
+        assertNull( getBestFitRule( "net.example", "widget" ) );
+        assertEquals( "*", getBestFitRule( "net.example", "catch-all" ).getGroupId() );
+    }
+
+    public void testWildcardArtifactId()
+    {
+        assertSame( exactGroupWildcardArtifact, getBestFitRule( "org.example", "big-widget" ) );
+        assertSame( wildcardGroup, getBestFitRule( "org.codehaus", "gadget" ) );
+    }
+
+    public void testScoringTies()
+    {
+        // both rules have the same score, and the later one in the rule set wins
+        assertSame( secondTie, getBestFitRule( "com.tie", "abc" ) );
+        assertSame( firstTie, getBestFitRule( "com.tie", "aXc" ) );
+        assertSame( secondTie, getBestFitRule( "com.tie", "Xbc" ) );
+        assertNull( getBestFitRule( "com.tie", "xyz" ) );
+    }
+
+    public void testAllCombinations()
+    {
+        String[] groupIds = { "org", "org.", "org.example", "org.example.sub", "org.apache", "org.apache.maven",
+            "com.tie", "com.other", "com", "", "net.example" };
+        String[] artifactIds = { "widget", "widget-", "widget-core", "big-widget", "gadget", "abc", "aXc", "catch-all",
+            "" };
+        for ( String groupId : groupIds )
+        {
+            for ( String artifactId : artifactIds )
+            {
+                getBestFitRule( groupId, artifactId );
+            }
+        }
+    }
+
+    /**
+     * The linear walk over the rules that was used before the index.
+     */
+    private static Rule referenceGetBestFitRule( List<Rule> rules, String groupId, String artifactId )
+    {
+        Rule bestFit = null;
+        int bestGroupIdScore = Integer.MAX_VALUE;
+        int bestArtifactIdScore = Integer.MAX_VALUE;
+        boolean exactGroupId = false;
+        boolean exactArtifactId = false;
+        for ( Rule rule : rules )
+        {
+            int groupIdScore = RegexUtils.getWildcardScore( rule.getGroupId() );
+            if ( groupIdScore > bestGroupIdScore )
+            {
+                continue;
+            }
+            boolean exactMatch = matches( rule.getGroupId(), groupId, true );
+            boolean match = exactMatch || matches( rule.getGroupId(), groupId, false );
+            if ( !match || ( exactGroupId && !exactMatch ) )
+            {
+                continue;
+            }
+            if ( bestGroupIdScore > groupIdScore )
+            {
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            bestGroupIdScore = groupIdScore;
+            if ( exactMatch && !exactGroupId )
+            {
+                exactGroupId = true;
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            int artifactIdScore = RegexUtils.getWildcardScore( rule.getArtifactId() );
+            if ( artifactIdScore > bestArtifactIdScore )
+            {
+                continue;
+            }
+            exactMatch = matches( rule.getArtifactId(), artifactId, true );
+            match = exactMatch || matches( rule.getArtifactId(), artifactId, false );
+            if ( !match || ( exactArtifactId && !exactMatch ) )
+            {
+                continue;
+            }
+            bestArtifactIdScore = artifactIdScore;
+            if ( exactMatch && !exactArtifactId )
+            {
+                exactArtifactId = true;
+            }
+            bestFit = rule;
+        }
+        return bestFit;
+    }
+
+    private static boolean matches( String wildcardRule, String value, boolean exactMatch )
+    {
+        return Pattern.compile( RegexUtils.convertWildcardsToRegex( wildcardRule, exactMatch ) ).matcher(
+            value ).matches();
+    }
+}
@@ -0,0 +1,198 @@
+package org.codehaus.mojo.versions.backup;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.AbstractFileTestCase;
+import org.codehaus.mojo.versions.utils.AtomicFileWriter;
+import org.codehaus.mojo.versions.utils.Digests;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests the {@link BackupStrategy}s.
+ */
+public class BackupStrategiesTest
+    extends AbstractFileTestCase
+{
+    private File first;
+
+    private File second;
+
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        first = new File( dir, "first.xml" ).getCanonicalFile();
+        second = new File( dir, "second.xml" ).getCanonicalFile();
+        FileUtils.fileWrite( first.getPath(), "<first/>" );
+        FileUtils.fileWrite( second.getPath(), "<second/>" );
+    }
+
+    /**
+     * Changes a file the way the goals do, by renaming a new file over it.
+     */
+    private static void change( File file, String content )
+        throws Exception
+    {
+        AtomicFileWriter.writeBytes( file, content.getBytes( "UTF-8" ) );
+    }
+
+    private void assertRestores( BackupStrategy strategy, boolean reactorWide )
+        throws Exception
+    {
+        assertTrue( strategy.backup( first ) );
+        change( first, "<first>1</first>" );
+        assertFalse( strategy.backup( first ) );
+        change( first, "<first>2</first>" );
+        assertTrue( strategy.backup( second ) );
+        change( second, "<second>1</second>" );
+
+        if ( reactorWide )
+        {
+            assertEquals( Arrays.asList( first, second ), strategy.restore( first, false ) );
+            assertEquals( Collections.emptyList(), strategy.restore( second, false ) );
+        }
+        else
+        {
+            assertEquals( Collections.singletonList( first ), strategy.restore( first, false ) );
+            assertEquals( Collections.singletonList( second ), strategy.restore( second, false ) );
+        }
+        assertEquals( "<first/>", FileUtils.fileRead( first ) );
+        assertEquals( "<second/>", FileUtils.fileRead( second ) );
+        assertEquals( 2, dir.list().length );
+    }
+
+    private void assertDiscards( BackupStrategy strategy )
+        throws Exception
+    {
+        assertTrue( strategy.backup( first ) );
+        change( first, "<first>1</first>" );
+
+        assertEquals( Collections.singletonList( first ), strategy.discard( first ) );
+        assertEquals( "<first>1</first>", FileUtils.fileRead( first ) );
+        assertEquals( 2, dir.list().length );
+        assertTrue( strategy.restore( first, false ).isEmpty() );
+    }
+
+    public void testCopy()
+        throws Exception
+    {
+        assertRestores( BackupStrategies.getBackupStrategy( BackupStrategies.COPY, null, dir ), false );
+        assertDiscards( BackupStrategies.getBackupStrategy( BackupStrategies.COPY, null, dir ) );
+    }
+
+    public void testLink()
+        throws Exception
+    {
+        assertRestores( BackupStrategies.getBackupStrategy( BackupStrategies.LINK, null, dir ), false );
+        assertDiscards( BackupStrategies.getBackupStrategy( BackupStrategies.LINK, null, dir ) );
+    }
+
+    public void testJournal()
+        throws Exception
+    {
+        assertRestores( BackupStrategies.getBackupStrategy( BackupStrategies.JOURNAL, null, dir ), true );
+        assertDiscards( BackupStrategies.getBackupStrategy( BackupStrategies.JOURNAL, null, dir ) );
+    }
+
+    public void testJournalIsReadBackByANewBuild()
+        throws Exception
+    {
+        assertTrue( new JournalBackupStrategy( new File( dir, JournalBackupStrategy.JOURNAL_NAME ) ).backup( first ) );
+        change( first, "<first>1</first>" );
+
+        BackupStrategy strategy = new JournalBackupStrategy( new File( dir, JournalBackupStrategy.JOURNAL_NAME ) );
+        assertFalse( strategy.backup( first ) );
+        assertEquals( Collections.singletonList( first ), strategy.restore( second, false ) );
+        assertEquals( "<first/>", FileUtils.fileRead( first ) );
+    }
+
+    public void testJournalDropsRecordCutShort()
+        throws Exception
+    {
+        File journal = new File( dir, JournalBackupStrategy.JOURNAL_NAME );
+        assertTrue( new JournalBackupStrategy( journal ).backup( first ) );
+        change( first, "<first>1</first>" );
+        long length = journal.length();
+        assertTrue( new JournalBackupStrategy( journal ).backup( second ) );
+        change( second, "<second>1</second>" );
+
+        // as if the build had been killed half way through writing the second record
+        byte[] content = BackupUtils.readBytes( journal );
+        byte[] truncated = new byte[(int) length + ( content.length - (int) length ) / 2];
+        System.arraycopy( content, 0, truncated, 0, truncated.length );
+        FileUtils.fileDelete( journal.getPath() );
+        AtomicFileWriter.writeBytes( journal, truncated );
+
+        BackupStrategy strategy = new JournalBackupStrategy( journal );
+        assertFalse( strategy.backup( first ) );
+        assertEquals( length, journal.length() );
+        strategy.changed( first, Digests.sha1( "<first>1</first>".getBytes( "UTF-8" ) ),
+                          Collections.<String>emptyList() );
+        assertEquals( Collections.singletonList( first ), strategy.restore( first, false ) );
+        assertEquals( "<first/>", FileUtils.fileRead( first ) );
+        assertEquals( "<second>1</second>", FileUtils.fileRead( second ) );
+    }
+
+    public void testJournalChecksHashes()
+        throws Exception
+    {
+        BackupStrategy strategy = new JournalBackupStrategy( new File( dir, JournalBackupStrategy.JOURNAL_NAME ) );
+        assertTrue( strategy.backup( first ) );
+        change( first, "<first>1</first>" );
+        strategy.changed( first, Digests.sha1( "<first>1</first>".getBytes( "UTF-8" ) ),
+                          Collections.singletonList( "<first/> -> <first>1</first>" ) );
+        assertTrue( strategy.backup( second ) );
+        change( second, "<second>1</second>" );
+        strategy.changed( second, Digests.sha1( "<second>1</second>".getBytes( "UTF-8" ) ),
+                          Collections.<String>emptyList() );
+
+        // changed by something else since
+        change( second, "<second>2</second>" );
+        try
+        {
+            strategy.restore( first, false );
+            fail( "the second file has been changed by something else" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+        assertEquals( "<first>1</first>", FileUtils.fileRead( first ) );
+
+        // as if an earlier revert only got as far as the first file
+        change( first, "<first/>" );
+        assertEquals( Collections.singletonList( second ), strategy.restore( first, true ) );
+        assertEquals( "<first/>", FileUtils.fileRead( first ) );
+        assertEquals( "<second/>", FileUtils.fileRead( second ) );
+        assertEquals( 2, dir.list().length );
+    }
+
+    public void testMemory()
+        throws Exception
+    {
+        assertRestores( BackupStrategies.getBackupStrategy( BackupStrategies.MEMORY, null, dir ), true );
+        assertDiscards( BackupStrategies.getBackupStrategy( BackupStrategies.MEMORY, null, dir ) );
+    }
+}
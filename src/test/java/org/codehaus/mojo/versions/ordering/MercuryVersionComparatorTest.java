@@ -22,6 +22,8 @@ package org.codehaus.mojo.versions.ordering;
 import junit.framework.TestCase;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 
+import java.util.Random;
+
 public class MercuryVersionComparatorTest
     extends TestCase
 {
@@ -58,4 +60,20 @@ public class MercuryVersionComparatorTest
         assertEquals( new DefaultArtifactVersion( "5.beta-0.0" ).toString(),
                       instance.incrementSegment( new DefaultArtifactVersion( "5.alpha-wins.1" ), 1 ).toString() );
     }
-}
\ No newline at end of file
+
+    public void testAgreesWithParsingEveryTime()
+        throws Exception
+    {
+        Random random = new Random( 4711 );
+        // more distinct versions than the parsed versions cache holds, so that it is emptied along the way
+        DefaultArtifactVersion[] versions = RandomVersions.create( random, 20000 );
+        for ( int i = 0; i < 40000; i++ )
+        {
+            DefaultArtifactVersion v1 = versions[i % versions.length];
+            DefaultArtifactVersion v2 = versions[random.nextInt( versions.length )];
+            int expected =
+                new ComparableVersion( v1.toString() ).compareTo( new ComparableVersion( v2.toString() ) );
+            assertEquals( v1 + " vs " + v2, Integer.signum( expected ), Integer.signum( instance.compare( v1, v2 ) ) );
+        }
+    }
+}
@@ -22,6 +22,10 @@ package org.codehaus.mojo.versions.ordering;
 import junit.framework.TestCase;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.StringTokenizer;
+
 public class NumericVersionComparatorTest
     extends TestCase
 {
@@ -111,4 +115,117 @@ public class NumericVersionComparatorTest
         assertEquals( new DefaultArtifactVersion( "5.beta.0" ).toString(),
                       instance.incrementSegment( new DefaultArtifactVersion( "5.alpha-wins.1" ), 1 ).toString() );
     }
+
+    public void testAgreesWithBigIntegerComparison()
+        throws Exception
+    {
+        Random random = new Random( 4711 );
+        DefaultArtifactVersion[] versions = RandomVersions.create( random, 2000 );
+        for ( int i = 0; i < 20000; i++ )
+        {
+            DefaultArtifactVersion v1 = versions[random.nextInt( versions.length )];
+            DefaultArtifactVersion v2 = versions[random.nextInt( versions.length )];
+            assertEquals( v1 + " vs " + v2, Integer.signum( referenceCompare( v1.toString(), v2.toString() ) ),
+                          Integer.signum( instance.compare( v1, v2 ) ) );
+        }
+    }
+
+    /**
+     * The comparison as it was before the segments were parsed into longs, which is the reference for the current one.
+     */
+    private static int referenceCompare( String v1, String v2 )
+    {
+        StringTokenizer tok1 = new StringTokenizer( v1, "." );
+        StringTokenizer tok2 = new StringTokenizer( v2, "." );
+        while ( tok1.hasMoreTokens() && tok2.hasMoreTokens() )
+        {
+            String p1 = tok1.nextToken();
+            String p2 = tok2.nextToken();
+            String q1 = null;
+            String q2 = null;
+            if ( p1.indexOf( '-' ) >= 0 )
+            {
+                int index = p1.indexOf( '-' );
+                q1 = p1.substring( index );
+                p1 = p1.substring( 0, index );
+            }
+            if ( p2.indexOf( '-' ) >= 0 )
+            {
+                int index = p2.indexOf( '-' );
+                q2 = p2.substring( index );
+                p2 = p2.substring( 0, index );
+            }
+            try
+            {
+                int result = new BigInteger( p1 ).compareTo( new BigInteger( p2 ) );
+                if ( result != 0 )
+                {
+                    return result;
+                }
+            }
+            catch ( NumberFormatException e )
+            {
+                int result = p1.compareTo( p2 );
+                if ( result != 0 )
+                {
+                    return result;
+                }
+            }
+            if ( q1 != null && q2 != null )
+            {
+                final int result = q1.compareTo( q2 );
+                if ( result != 0 )
+                {
+                    return result;
+                }
+            }
+            if ( q1 != null )
+            {
+                return -1;
+            }
+            if ( q2 != null )
+            {
+                return +1;
+            }
+        }
+        if ( tok1.hasMoreTokens() )
+        {
+            while ( tok1.hasMoreTokens() )
+            {
+                try
+                {
+                    int result = new BigInteger( tok1.nextToken() ).compareTo( BigInteger.ZERO );
+                    if ( result != 0 )
+                    {
+                        return result;
+                    }
+                }
+                catch ( NumberFormatException e )
+                {
+                    return +1;
+                }
+            }
+            return -1;
+        }
+        if ( tok2.hasMoreTokens() )
+        {
+            while ( tok2.hasMoreTokens() )
+            {
+                try
+                {
+                    int result = BigInteger.ZERO.compareTo( new BigInteger( tok2.nextToken() ) );
+                    if ( result != 0 )
+                    {
+                        return result;
+                    }
+                }
+                catch ( NumberFormatException e )
+                {
+                    return -1;
+                }
+            }
+            return +1;
+        }
+        return 0;
+    }
 }
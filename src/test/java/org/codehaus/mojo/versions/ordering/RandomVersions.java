@@ -0,0 +1,96 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+
+import java.util.Random;
+
+/**
+ * Makes up versions for the comparator tests, mixing numbers either side of the <code>int</code> and <code>long</code>
+ * limits with alphanumeric segments, qualifiers and negative tokens.
+ */
+final class RandomVersions
+{
+    private static final String[] SEGMENTS =
+        { "0", "1", "2", "9", "10", "007", "2147483647", "2147483648", "9223372036854775806", "9223372036854775807",
+            "9223372036854775808", "18446744073709551616", "100000000000000000000000", "a", "b10", "alpha", "rc",
+            "SNAPSHOT", "162%", "0a", "" };
+
+    private static final String[] QUALIFIERS =
+        { "-SNAPSHOT", "-alpha", "-alpha-1", "-1", "-2", "-9223372036854775808", "--1", "-" };
+
+    private RandomVersions()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Makes up versions.
+     *
+     * @param random the source of randomness.
+     * @param count  the number of versions.
+     * @return the versions, which may repeat.
+     */
+    static DefaultArtifactVersion[] create( Random random, int count )
+    {
+        DefaultArtifactVersion[] versions = new DefaultArtifactVersion[count];
+        for ( int i = 0; i < count; i++ )
+        {
+            versions[i] = create( random );
+        }
+        return versions;
+    }
+
+    private static DefaultArtifactVersion create( Random random )
+    {
+        while ( true )
+        {
+            try
+            {
+                return new DefaultArtifactVersion( createString( random ) );
+            }
+            catch ( RuntimeException e )
+            {
+                // some of the odder strings trip up the parsing of DefaultArtifactVersion itself
+            }
+        }
+    }
+
+    private static String createString( Random random )
+    {
+        StringBuilder buf = new StringBuilder();
+        int segments = 1 + random.nextInt( 5 );
+        for ( int i = 0; i < segments; i++ )
+        {
+            if ( i > 0 )
+            {
+                buf.append( '.' );
+            }
+            // negative tokens come out as an empty number followed by a qualifier
+            buf.append( SEGMENTS[random.nextInt( SEGMENTS.length )] );
+            if ( random.nextInt( 4 ) == 0 )
+            {
+                buf.append( QUALIFIERS[random.nextInt( QUALIFIERS.length )] );
+            }
+        }
+        return buf.toString();
+    }
+}
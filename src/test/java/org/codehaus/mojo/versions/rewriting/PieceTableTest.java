@@ -0,0 +1,70 @@
+package org.codehaus.mojo.versions.rewriting;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.IOUtil;
+
+import java.io.Reader;
+import java.util.Random;
+
+/**
+ * Tests the methods of {@link PieceTable}.
+ */
+public class PieceTableTest
+    extends TestCase
+{
+    public void testReplaceMatchesStringBuilder()
+        throws Exception
+    {
+        Random random = new Random( 42 );
+        StringBuilder expected = new StringBuilder( "<project><version>1.0</version></project>" );
+        PieceTable table = new PieceTable( expected.toString() );
+        for ( int i = 0; i < 2000; i++ )
+        {
+            int start = random.nextInt( expected.length() + 1 );
+            int end = start + random.nextInt( Math.min( 5, expected.length() - start ) + 1 );
+            String replacement = Integer.toString( random.nextInt( 1000 ) ).substring( random.nextInt( 2 ) );
+            expected.replace( start, end, replacement );
+            table.replace( start, end, replacement );
+
+            assertEquals( expected.length(), table.length() );
+            int index = random.nextInt( expected.length() );
+            assertEquals( expected.charAt( index ), table.charAt( index ) );
+            int from = random.nextInt( expected.length() + 1 );
+            int to = from + random.nextInt( expected.length() - from + 1 );
+            assertEquals( expected.substring( from, to ), table.substring( from, to ) );
+        }
+        assertEquals( expected.toString(), table.toString() );
+        assertEquals( expected.toString(), IOUtil.toString( table.newReader() ) );
+    }
+
+    public void testReaderSeesTextAsItWasWhenCreated()
+        throws Exception
+    {
+        PieceTable table = new PieceTable( "<version>1.0</version>" );
+        Reader reader = table.newReader();
+        table.replace( 9, 12, "2.0.1" );
+        table.replace( 0, 0, "<!-- -->" );
+
+        assertEquals( "<version>1.0</version>", IOUtil.toString( reader ) );
+        assertEquals( "<!-- --><version>2.0.1</version>", IOUtil.toString( table.newReader() ) );
+    }
+}
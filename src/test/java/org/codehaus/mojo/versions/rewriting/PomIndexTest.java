@@ -0,0 +1,99 @@
+package org.codehaus.mojo.versions.rewriting;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.codehaus.stax2.XMLInputFactory2;
+
+import javax.xml.stream.XMLInputFactory;
+
+/**
+ * Tests the methods of {@link PomIndex}.
+ */
+public class PomIndexTest
+    extends TestCase
+{
+    private static final String POM = "<project>\n" + "  <version>1.0-SNAPSHOT</version>\n" + "  <properties>\n"
+        + "    <foo.version>1.0</foo.version>\n" + "  </properties>\n" + "  <dependencies>\n" + "    <dependency>\n"
+        + "      <groupId>localhost</groupId>\n" + "      <artifactId>foo</artifactId>\n"
+        + "      <version>${foo.version}</version>\n" + "    </dependency>\n" + "  </dependencies>\n"
+        + "  <profiles>\n" + "    <profile>\n" + "      <id>extra</id>\n" + "      <properties>\n"
+        + "        <foo.version>2.0</foo.version>\n" + "      </properties>\n" + "    </profile>\n"
+        + "  </profiles>\n" + "</project>\n";
+
+    private ModifiedPomXMLEventReader newReader()
+        throws Exception
+    {
+        XMLInputFactory inputFactory = XMLInputFactory2.newInstance();
+        inputFactory.setProperty( XMLInputFactory2.P_PRESERVE_LOCATION, Boolean.TRUE );
+        return new ModifiedPomXMLEventReader( POM, inputFactory );
+    }
+
+    private static String text( ModifiedPomXMLEventReader pom, String path )
+        throws Exception
+    {
+        PomIndex.Range range = pom.getIndex().getRange( path );
+        return range == null ? null : pom.getText( range.getStart(), range.getEnd() );
+    }
+
+    public void testPaths()
+        throws Exception
+    {
+        ModifiedPomXMLEventReader pom = newReader();
+
+        assertEquals( "1.0-SNAPSHOT", text( pom, "/project/version" ) );
+        assertEquals( "1.0", text( pom, "/project/properties/foo.version" ) );
+        assertEquals( "${foo.version}", text( pom, "/project/dependencies/dependency[localhost:foo]/version" ) );
+        assertEquals( "2.0", text( pom, "/project/profiles/profile[extra]/properties/foo.version" ) );
+        assertNull( text( pom, "/project/parent/version" ) );
+        assertTrue( pom.getIndex().getRanges( "/project/dependencies" ).isEmpty() );
+    }
+
+    public void testRangesFollowChanges()
+        throws Exception
+    {
+        ModifiedPomXMLEventReader pom = newReader();
+        PomIndex index = pom.getIndex();
+        PomIndex.Range range = index.getRange( "/project/properties/foo.version" );
+
+        pom.replace( range.getStart(), range.getEnd(), "1.0.1-beta" );
+        range = index.getRange( "/project/version" );
+        pom.replace( range.getStart(), range.getEnd(), "2" );
+
+        assertSame( index, pom.getIndex() );
+        assertEquals( "2", text( pom, "/project/version" ) );
+        assertEquals( "1.0.1-beta", text( pom, "/project/properties/foo.version" ) );
+        assertEquals( "${foo.version}", text( pom, "/project/dependencies/dependency[localhost:foo]/version" ) );
+        assertEquals( "2.0", text( pom, "/project/profiles/profile[extra]/properties/foo.version" ) );
+    }
+
+    public void testChangeAcrossRangeRebuildsIndex()
+        throws Exception
+    {
+        ModifiedPomXMLEventReader pom = newReader();
+        PomIndex index = pom.getIndex();
+        PomIndex.Range range = index.getRange( "/project/version" );
+
+        pom.replace( range.getStart() - 1, range.getEnd(), ">3" );
+
+        assertNotSame( index, pom.getIndex() );
+        assertEquals( "3", text( pom, "/project/version" ) );
+    }
+}
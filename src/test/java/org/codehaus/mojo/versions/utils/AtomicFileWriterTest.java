@@ -0,0 +1,109 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.mojo.versions.AbstractFileTestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Tests the {@link AtomicFileWriter}.
+ */
+public class AtomicFileWriterTest
+    extends AbstractFileTestCase
+{
+    private static AtomicFileWriter.Content content( final String text )
+    {
+        return new AtomicFileWriter.Content()
+        {
+            public void writeTo( Writer writer )
+                throws IOException
+            {
+                writer.write( text );
+            }
+        };
+    }
+
+    public void testWriteReplacesFile()
+        throws Exception
+    {
+        File file = new File( dir, "pom.xml" );
+        FileUtils.fileWrite( file.getPath(), "<project/>" );
+
+        new AtomicFileWriter( true, false ).write( file, content( "<project>new</project>" ) );
+
+        assertEquals( "<project>new</project>", FileUtils.fileRead( file ) );
+        assertEquals( Arrays.asList( "pom.xml" ), Arrays.asList( dir.list() ) );
+    }
+
+    public void testBatchChangesNothingUntilCommitted()
+        throws Exception
+    {
+        File first = new File( dir, "first.xml" );
+        File second = new File( dir, "second.xml" );
+        FileUtils.fileWrite( first.getPath(), "<first/>" );
+
+        AtomicFileWriter writer = new AtomicFileWriter( false, true );
+        writer.write( first, content( "<first>new</first>" ) );
+        writer.write( second, content( "<second>new</second>" ) );
+        assertEquals( "<first/>", FileUtils.fileRead( first ) );
+        assertFalse( second.exists() );
+
+        assertEquals( Arrays.asList( first, second ), writer.commit() );
+        assertEquals( "<first>new</first>", FileUtils.fileRead( first ) );
+        assertEquals( "<second>new</second>", FileUtils.fileRead( second ) );
+        assertEquals( 2, dir.list().length );
+    }
+
+    public void testFailedBatchChangesNothing()
+        throws Exception
+    {
+        File first = new File( dir, "first.xml" );
+        FileUtils.fileWrite( first.getPath(), "<first/>" );
+
+        AtomicFileWriter writer = new AtomicFileWriter( false, true );
+        writer.write( first, content( "<first>new</first>" ) );
+        try
+        {
+            writer.write( new File( new File( dir, "missing" ), "pom.xml" ), content( "<project/>" ) );
+            fail( "the directory does not exist" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+        assertTrue( writer.isFailed() );
+        try
+        {
+            writer.commit();
+            fail( "a failed batch cannot be committed" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+        assertEquals( "<first/>", FileUtils.fileRead( first ) );
+        assertEquals( Arrays.asList( "first.xml" ), Arrays.asList( dir.list() ) );
+    }
+}
@@ -0,0 +1,92 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests the {@link TextDiff}.
+ */
+public class TextDiffTest
+    extends TestCase
+{
+    private static String lines( int from, int to )
+    {
+        StringBuilder buf = new StringBuilder();
+        for ( int i = from; i <= to; i++ )
+        {
+            buf.append( "line " ).append( i ).append( '\n' );
+        }
+        return buf.toString();
+    }
+
+    public void testSameTextHasNoDiff()
+    {
+        TextDiff diff = new TextDiff( lines( 1, 5 ), lines( 1, 5 ) );
+        assertFalse( diff.isChanged() );
+        assertEquals( Collections.<String>emptyList(), diff.toUnifiedDiff( "a", "b", 3 ) );
+        assertEquals( Collections.<String>emptyList(), diff.toChangeList( "pom.xml" ) );
+    }
+
+    public void testUnifiedDiff()
+    {
+        String from = lines( 1, 20 );
+        String to = from.replace( "line 2\n", "line two\n" ).replace( "line 18\n", "" ) + "line 21\n";
+        TextDiff diff = new TextDiff( from, to );
+        assertTrue( diff.isChanged() );
+        assertEquals( Arrays.asList( "--- a/pom.xml", "+++ b/pom.xml",
+                                     "@@ -1,5 +1,5 @@", " line 1", "-line 2", "+line two", " line 3", " line 4",
+                                     " line 5",
+                                     "@@ -15,6 +15,6 @@", " line 15", " line 16", " line 17", "-line 18",
+                                     " line 19", " line 20", "+line 21" ),
+                      diff.toUnifiedDiff( "a/pom.xml", "b/pom.xml", 3 ) );
+    }
+
+    public void testNearbyChangesShareHunks()
+    {
+        String from = lines( 1, 10 );
+        String to = from.replace( "line 3\n", "line three\n" ).replace( "line 8\n", "line eight\n" );
+        assertEquals( Arrays.asList( "--- a", "+++ b", "@@ -1,10 +1,10 @@", " line 1", " line 2", "-line 3",
+                                     "+line three", " line 4", " line 5", " line 6", " line 7", "-line 8",
+                                     "+line eight", " line 9", " line 10" ),
+                      new TextDiff( from, to ).toUnifiedDiff( "a", "b", 3 ) );
+        assertEquals( Arrays.asList( "--- a", "+++ b", "@@ -2,3 +2,3 @@", " line 2", "-line 3", "+line three",
+                                     " line 4", "@@ -7,3 +7,3 @@", " line 7", "-line 8", "+line eight", " line 9" ),
+                      new TextDiff( from, to ).toUnifiedDiff( "a", "b", 1 ) );
+    }
+
+    public void testMissingNewline()
+    {
+        TextDiff diff = new TextDiff( "a\nb\n", "a\nb" );
+        assertTrue( diff.isChanged() );
+        assertEquals( Arrays.asList( "--- x", "+++ y", "@@ -1,2 +1,2 @@", " a", "-b", "+b",
+                                     "\\ No newline at end of file" ), diff.toUnifiedDiff( "x", "y", 3 ) );
+    }
+
+    public void testChangeList()
+    {
+        TextDiff diff = new TextDiff( "<a>\n<v>1.0</v>\n</a>\n", "<a>\n<v>2.0</v>\n</a>\n" );
+        assertEquals( Arrays.asList( "-\tpom.xml\t2\t<v>1.0</v>", "+\tpom.xml\t2\t<v>2.0</v>" ),
+                      diff.toChangeList( "pom.xml" ) );
+    }
+}